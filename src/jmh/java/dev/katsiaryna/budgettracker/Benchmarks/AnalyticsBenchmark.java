@@ -0,0 +1,48 @@
+package dev.katsiaryna.budgettracker.Benchmarks;
+
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsController;
+import dev.katsiaryna.budgettracker.Budget.BudgetService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard analytics over the whole generated period, with the analytics cache bypassed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AnalyticsBenchmark {
+
+    private static final String FROM = SyntheticData.FIRST_DAY.toString();
+    private static final String TO = SyntheticData.LAST_DAY.toString();
+
+    @Benchmark
+    public Map<String, Object> chartByMonth(BudgetTrackerState state) {
+        state.evictCache();
+        return state.bean(AnalyticsController.class).getChartData(state.userId, FROM, TO, "month").getBody();
+    }
+
+    @Benchmark
+    public Map<String, Object> chartByDay(BudgetTrackerState state) {
+        state.evictCache();
+        return state.bean(AnalyticsController.class).getChartData(state.userId, FROM, TO, "day").getBody();
+    }
+
+    @Benchmark
+    public Map<String, Map<String, BigDecimal>> categorySummary(BudgetTrackerState state) {
+        state.evictCache();
+        return state.bean(AnalyticsController.class).getCategorySummary(state.userId, FROM, TO);
+    }
+
+    @Benchmark
+    public List<?> budgetsWithSpent(BudgetTrackerState state) {
+        state.evictCache();
+        return state.bean(BudgetService.class).getBudgetsWithSpent(state.userId, SyntheticData.LAST_DAY);
+    }
+}
@@ -0,0 +1,92 @@
+package dev.katsiaryna.budgettracker.Benchmarks;
+
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsCache;
+import dev.katsiaryna.budgettracker.BudgetTrackerApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running application on a private copy of the bundled SQLite database,
+ * filled with one synthetic user per transaction count.
+ */
+@State(Scope.Benchmark)
+public class BudgetTrackerState {
+
+    /** Number of transactions of the benchmark user */
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    /** ID of the generated benchmark user */
+    public long userId;
+
+    private ConfigurableApplicationContext context;
+    private Path database;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        database = Files.createTempFile("budgettracker-benchmark", ".db");
+        Files.copy(Path.of("db", "budgettracker.db"), database, StandardCopyOption.REPLACE_EXISTING);
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:sqlite:" + database,
+                "--server.port=0",
+                "--debug=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.boot.web.servlet.filter.ApplicationContextHeaderFilter=WARN",
+                "--logging.level.org.springframework.web.filter.CommonsRequestLoggingFilter=WARN"));
+        args.addAll(arguments());
+        context = SpringApplication.run(BudgetTrackerApplication.class, args.toArray(String[]::new));
+        userId = SyntheticData.generate(context, transactions);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        Files.deleteIfExists(database);
+    }
+
+    /**
+     * Additional command-line arguments the application is started with.
+     *
+     * @return the arguments, none by default
+     */
+    protected List<String> arguments() {
+        return List.of();
+    }
+
+    /**
+     * Gets the HTTP port the application listens on.
+     *
+     * @return the local server port
+     */
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    /**
+     * Looks up an application bean.
+     *
+     * @param type the bean type
+     * @param <T>  the bean type
+     * @return the bean
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Drops the user's cached analytics so the next call measures the computation, not a cache hit.
+     */
+    public void evictCache() {
+        bean(AnalyticsCache.class).evictUser(userId);
+    }
+}
@@ -0,0 +1,37 @@
+package dev.katsiaryna.budgettracker.Benchmarks;
+
+import dev.katsiaryna.budgettracker.Income.IncomeController;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV exports of all transactions of the generated user.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExportBenchmark {
+
+    private static final String FROM = SyntheticData.FIRST_DAY.toString();
+    private static final String TO = SyntheticData.LAST_DAY.toString();
+
+    @Benchmark
+    public int exportIncomes(BudgetTrackerState state) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        state.bean(IncomeController.class).exportIncomesToCsv(state.userId, FROM, TO, response);
+        return response.getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public int exportOutcomes(BudgetTrackerState state) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        state.bean(OutcomeController.class).exportOutcomesToCsv(state.userId, FROM, TO, response);
+        return response.getContentAsByteArray().length;
+    }
+}
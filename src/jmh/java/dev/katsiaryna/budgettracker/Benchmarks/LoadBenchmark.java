@@ -0,0 +1,35 @@
+package dev.katsiaryna.budgettracker.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test over HTTP: many concurrent clients loading the dashboard and exporting CSV, with
+ * request threads on platform threads and on virtual threads.
+ * <p>
+ * There are more client threads than Tomcat's 200 platform request threads, so in platform mode
+ * requests also queue for a request thread, while in virtual mode they only queue for a database
+ * connection. Compare throughput and the latency percentiles of both {@code virtualThreads} values.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LoadBenchmark {
+
+    private static final String RANGE = "from=" + SyntheticData.FIRST_DAY + "&to=" + SyntheticData.LAST_DAY;
+
+    @Benchmark
+    public int dashboard(LoadTestState state) throws IOException, InterruptedException {
+        return state.get("/api/v1/dashboard/" + state.userId + "?" + RANGE + "&groupBy=month");
+    }
+
+    @Benchmark
+    public int exportIncomes(LoadTestState state) throws IOException, InterruptedException {
+        return state.get("/api/v1/incomes/export?userId=" + state.userId + "&" + RANGE);
+    }
+}
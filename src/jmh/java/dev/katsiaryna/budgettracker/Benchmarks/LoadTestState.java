@@ -0,0 +1,55 @@
+package dev.katsiaryna.budgettracker.Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * Running application serving HTTP requests on platform or on virtual threads,
+ * with a client sharing its connections between all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class LoadTestState extends BudgetTrackerState {
+
+    /** Whether Tomcat, async tasks and MVC async processing run on virtual threads */
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private HttpClient client;
+
+    @Override
+    protected List<String> arguments() {
+        return List.of("--spring.threads.virtual.enabled=" + virtualThreads);
+    }
+
+    @Setup(Level.Trial)
+    public void connect() {
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        client.close();
+    }
+
+    /**
+     * Sends a GET request and reads the whole response.
+     *
+     * @param path the path and query of the request
+     * @return the response size in bytes
+     * @throws IllegalStateException if the response status is not 200
+     */
+    public int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port() + path)).build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,97 @@
+package dev.katsiaryna.budgettracker.Benchmarks;
+
+import dev.katsiaryna.budgettracker.Analytics.DailyRollupRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a benchmark user with a given number of transactions in the copied database.
+ * <p>
+ * Rows are written with plain JDBC batches (dates bound as {@link java.sql.Date}, like Hibernate does),
+ * one income for every four transactions, spread over {@link #FIRST_DAY} to {@link #LAST_DAY}.
+ * Budgets are set for the spending categories and the daily rollup is rebuilt afterwards.
+ */
+final class SyntheticData {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    static final LocalDate LAST_DAY = LocalDate.of(2025, 12, 31);
+
+    private static final List<String> INCOME_CATEGORIES = List.of("Salary", "Freelance", "Investment");
+    private static final List<String> OUTCOME_CATEGORIES = List.of(
+            "Groceries", "Utilities", "Entertainment", "Dining", "Transportation", "Healthcare", "Subscriptions");
+    private static final int BATCH_SIZE = 10_000;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Creates the user and its transactions.
+     *
+     * @param context      the running application
+     * @param transactions total number of incomes and outcomes to create
+     * @return the ID of the generated user
+     */
+    static long generate(ApplicationContext context, int transactions) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+        Random random = new Random(42);
+
+        String username = "benchmark-" + transactions;
+        jdbc.update("INSERT INTO users (username, password, email) VALUES (?, ?, ?)",
+                username, "{noop}benchmark", username + "@example.com");
+        long userId = jdbc.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+        List<Long> incomeCategories = categoryIds(jdbc, INCOME_CATEGORIES);
+        List<Long> outcomeCategories = categoryIds(jdbc, OUTCOME_CATEGORIES);
+        int days = (int) (LAST_DAY.toEpochDay() - FIRST_DAY.toEpochDay()) + 1;
+
+        tx.executeWithoutResult(status -> {
+            List<Object[]> incomes = new ArrayList<>();
+            List<Object[]> outcomes = new ArrayList<>();
+            for (int i = 0; i < transactions; i++) {
+                Date date = Date.valueOf(FIRST_DAY.plusDays(random.nextInt(days)));
+                long cents = 100 + random.nextInt(50_000);
+                if (i % 4 == 0) {
+                    incomes.add(new Object[]{userId, pick(random, incomeCategories), cents * 4, "Synthetic income " + i, date});
+                } else {
+                    outcomes.add(new Object[]{userId, pick(random, outcomeCategories), -cents, "Synthetic outcome " + i, date});
+                }
+                if (incomes.size() + outcomes.size() >= BATCH_SIZE) {
+                    flush(jdbc, incomes, outcomes);
+                }
+            }
+            flush(jdbc, incomes, outcomes);
+
+            for (Long categoryId : outcomeCategories) {
+                jdbc.update("INSERT INTO budgets (user_id, category_id, limit_cents) VALUES (?, ?, ?)", userId, categoryId, 500_000L);
+            }
+
+            jdbc.update("DELETE FROM daily_rollup");
+            context.getBean(DailyRollupRepository.class).rebuildAll();
+        });
+        return userId;
+    }
+
+    private static void flush(JdbcTemplate jdbc, List<Object[]> incomes, List<Object[]> outcomes) {
+        jdbc.batchUpdate("INSERT INTO incomes (user_id, category_id, amount_cents, description, date) VALUES (?, ?, ?, ?, ?)", incomes);
+        jdbc.batchUpdate("INSERT INTO outcomes (user_id, category_id, amount_cents, description, date) VALUES (?, ?, ?, ?, ?)", outcomes);
+        incomes.clear();
+        outcomes.clear();
+    }
+
+    private static List<Long> categoryIds(JdbcTemplate jdbc, List<String> names) {
+        return names.stream()
+                .map(name -> jdbc.queryForObject("SELECT category_id FROM category WHERE category_name = ?", Long.class, name))
+                .toList();
+    }
+
+    private static Long pick(Random random, List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,64 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Moves income and outcome dates that are not stored at the start of their day to the start of it.
+ * <p>
+ * Dates are stored as epoch milliseconds of local midnight. Some older rows carry a time of day,
+ * e.g. when they were saved by a JVM in another time zone. Entities read such a row as the right
+ * day, but the SQL range filters and the daily rollup compare the raw value, so the row was missing
+ * from ranges starting or ending on its day. Each date is normalized to the day entities already
+ * show, in the zone of the migrating JVM like every other date the application writes. If any row
+ * changed, the daily rollup and the budget period counters are cleared, and the services refill
+ * them from the normalized rows on startup.
+ */
+public class V6__normalize_transaction_dates extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        ZoneId zone = ZoneId.systemDefault();
+        int changed = normalize(connection, "incomes", "income_id", zone)
+                + normalize(connection, "outcomes", "outcome_id", zone);
+        if (changed > 0) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM daily_rollup");
+                statement.executeUpdate("DELETE FROM budget_period_spend");
+            }
+        }
+    }
+
+    private static int normalize(Connection connection, String table, String idColumn, ZoneId zone) throws SQLException {
+        int changed = 0;
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT " + idColumn + ", date FROM " + table);
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE " + table + " SET date = ? WHERE " + idColumn + " = ?")) {
+            while (rows.next()) {
+                long date = rows.getLong(2);
+                long startOfDay = Instant.ofEpochMilli(date).atZone(zone).toLocalDate()
+                        .atStartOfDay(zone).toInstant().toEpochMilli();
+                if (startOfDay != date) {
+                    update.setLong(1, startOfDay);
+                    update.setLong(2, rows.getLong(1));
+                    update.addBatch();
+                    changed++;
+                }
+            }
+            if (changed > 0) {
+                update.executeBatch();
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,99 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for dashboard analytics results, keyed by user, endpoint and parameters.
+ * <p>
+ * The cache is bounded in size and entries expire after a fixed time. Every key also carries
+ * the user's current generation: invalidating a user bumps the generation, so results computed
+ * from data read before the write can never be served again, even if they are stored late.
+ * Results of older generations are not looked up again and are left to size and time eviction.
+ * A user's generation is forgotten twice the result TTL after their last write, when all results
+ * computed before that write have expired, so only recently written users are tracked.
+ * Hit and miss counts are published to Micrometer as {@code cache.gets{cache="analytics"}}.
+ */
+@Component
+public class AnalyticsCache {
+
+    private final Cache<Key, Object> cache;
+    private final Cache<Long, Long> generations;
+
+    /**
+     * Creates the cache and registers its metrics.
+     *
+     * @param maxSize       maximum number of cached results
+     * @param ttl           time after which a cached result expires
+     * @param meterRegistry registry the hit/miss metrics are published to
+     */
+    public AnalyticsCache(@Value("${analytics.cache.max-size:10000}") long maxSize,
+                          @Value("${analytics.cache.ttl:10m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.multipliedBy(2))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "analytics");
+    }
+
+    /**
+     * Returns the cached result for a user's endpoint and parameters, computing it on a miss.
+     *
+     * @param userId   the user the result belongs to
+     * @param endpoint name of the cached endpoint
+     * @param params   the request parameters the result depends on
+     * @param loader   computes the result on a miss (must not return null)
+     * @param <T>      the type of the result
+     * @return the cached or freshly computed result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String endpoint, String params, Supplier<T> loader) {
+        Long generation = generations.getIfPresent(userId);
+        Key key = new Key(userId, generation != null ? generation : 0L, endpoint, params);
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * Drops all cached results of a user.
+     * Inside a transaction this happens after commit, so a concurrent read cannot
+     * cache the old data again before the write becomes visible.
+     *
+     * @param userId the user whose data changed
+     */
+    public void evictUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        } else {
+            evictNow(userId);
+        }
+    }
+
+    private void evictNow(Long userId) {
+        generations.asMap().merge(userId, 1L, Long::sum);
+    }
+
+    /**
+     * Cache key of one analytics result.
+     */
+    private record Key(Long userId, long generation, String endpoint, String params) {
+    }
+}
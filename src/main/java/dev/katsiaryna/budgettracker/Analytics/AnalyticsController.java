@@ -1,18 +1,14 @@
 package dev.katsiaryna.budgettracker.Analytics;
 
-import dev.katsiaryna.budgettracker.Budget.BudgetService;
-import dev.katsiaryna.budgettracker.Income.Income;
-import dev.katsiaryna.budgettracker.Income.IncomeRepository;
-import dev.katsiaryna.budgettracker.Income.IncomeService;
-import dev.katsiaryna.budgettracker.Outcome.Outcome;
-import dev.katsiaryna.budgettracker.Outcome.OutcomeRepository;
+import dev.katsiaryna.budgettracker.Money;
 import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for providing dashboard analytics:
@@ -21,184 +17,87 @@ import java.util.stream.Collectors;
  * - Incomes/outcomes by date (line & bar)
  * - Incomes/outcomes by category (pie)
  * - Top 5 spending categories
+ * Results are computed by {@link AnalyticsService} and cached per user until the next write.
  */
 @RestController
 @RequestMapping("/api/v1/analytics")
 public class AnalyticsController {
 
-    private final IncomeService incomeService;
+    /** Upper bound for the number of latest transactions a client may request */
+    private static final int MAX_LATEST_LIMIT = 50;
+
+    private final AnalyticsService analyticsService;
     private final OutcomeService outcomeService;
-    private final BudgetService budgetService;
-    private final IncomeRepository incomeRepository;
-    private final OutcomeRepository outcomeRepository;
 
     /**
-     * Constructor with required services and repositories.
+     * Constructor with required services.
      */
-    public AnalyticsController(
-            IncomeService incomeService,
-            OutcomeService outcomeService,
-            BudgetService budgetService,
-            IncomeRepository incomeRepository,
-            OutcomeRepository outcomeRepository
-    ) {
-        this.incomeService = incomeService;
+    public AnalyticsController(AnalyticsService analyticsService, OutcomeService outcomeService) {
+        this.analyticsService = analyticsService;
         this.outcomeService = outcomeService;
-        this.budgetService = budgetService;
-        this.incomeRepository = incomeRepository;
-        this.outcomeRepository = outcomeRepository;
     }
 
     /**
      * Returns a summary of total income, total outcome, current budget, and total category limits.
+     * All totals are aggregated in the database, so no transactions are loaded into memory.
      */
     @GetMapping("/summary/{userId}")
     public Map<String, Object> getSummary(@PathVariable Long userId) {
-        double totalIncome = incomeService.getIncomesByUser(userId)
-                .stream().mapToDouble(Income::getAmount).sum();
-        double totalOutcome = outcomeService.getOutcomesByUser(userId)
-                .stream().mapToDouble(Outcome::getAmount).sum();
-        double totalLimit = budgetService.getTotalLimitForUser(userId);
-
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("income", totalIncome);
-        summary.put("outcome", totalOutcome);
-        summary.put("budget", totalIncome + totalOutcome); // outcomes stored as negative
-        summary.put("limit", totalLimit);
-        return summary;
+        return analyticsService.getSummary(userId);
     }
 
     /**
-     * Returns the 5 most recent income and outcome transactions for a user.
+     * Returns the most recent income and outcome transactions for a user (5 of each by default).
+     * Only the requested rows are read, using the (user_id, date) index.
      */
     @GetMapping("/latest/{userId}")
-    public Map<String, List<?>> getLatestTransactions(@PathVariable Long userId) {
-        List<Income> latestIncomes = incomeService.getIncomesByUser(userId)
-                .stream().sorted(Comparator.comparing(Income::getDate).reversed())
-                .limit(5).toList();
-
-        List<Outcome> latestOutcomes = outcomeService.getOutcomesByUser(userId)
-                .stream().sorted(Comparator.comparing(Outcome::getDate).reversed())
-                .limit(5).toList();
-
-        Map<String, List<?>> data = new HashMap<>();
-        data.put("incomes", latestIncomes);
-        data.put("outcomes", latestOutcomes);
-        return data;
+    public Map<String, List<?>> getLatestTransactions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "5") int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LATEST_LIMIT));
+        return analyticsService.getLatestTransactions(userId, size);
     }
 
     /**
      * Returns category-wise income and outcome totals for a user within a date range (for pie charts).
+     * Totals are read from the daily rollup table rather than from individual transactions.
      */
-    private Map<String, Double> convertToMap(List<Object[]> results) {
-        Map<String, Double> map = new HashMap<>();
-        for (Object[] row : results) {
-            String category = (String) row[0];
-            Double total = ((Number) row[1]).doubleValue();
-            map.put(category, total);
-        }
-        return map;
-    }
-
     @GetMapping("/category-summary/{userId}")
-    public Map<String, Map<String, Double>> getCategorySummary(
+    public Map<String, Map<String, BigDecimal>> getCategorySummary(
             @PathVariable Long userId,
             @RequestParam String from,
             @RequestParam String to) {
-
-        LocalDate start = LocalDate.parse(from);
-        LocalDate end = LocalDate.parse(to);
-
-        Map<String, Double> incomeByCategory = incomeService.getIncomesByUser(userId).stream()
-                .filter(i -> !i.getDate().isBefore(start) && !i.getDate().isAfter(end))
-                .collect(Collectors.groupingBy(
-                        i -> i.getCategory().getCategory(),
-                        Collectors.summingDouble(i -> Math.abs(i.getAmount()))
-                ));
-
-        Map<String, Double> outcomeByCategory = outcomeService.getOutcomesByUser(userId).stream()
-                .filter(o -> !o.getDate().isBefore(start) && !o.getDate().isAfter(end))
-                .collect(Collectors.groupingBy(
-                        o -> o.getCategory().getCategory(),
-                        Collectors.summingDouble(o -> Math.abs(o.getAmount()))
-                ));
-
-        Map<String, Map<String, Double>> result = new HashMap<>();
-        result.put("income", incomeByCategory);
-        result.put("outcome", outcomeByCategory);
-        return result;
+        return analyticsService.getCategorySummary(userId, LocalDate.parse(from), LocalDate.parse(to));
     }
 
 
     /**
-     * Returns income and outcome values grouped by day/month/year (for line and bar charts).
+     * Returns income and outcome values grouped by day/week/month/quarter/year/fiscal-month (for line and bar charts),
+     * with zeros for periods without transactions.
+     * Reads the pre-aggregated daily rollup, so at most one row per category and day is loaded.
+     * Answers 400 if a date is invalid or the range has too many periods for the grouping.
      */
     @GetMapping("/chart")
-    public Map<String, Object> getChartData(
+    public ResponseEntity<Map<String, Object>> getChartData(
             @RequestParam Long userId,
             @RequestParam String from,
             @RequestParam String to,
             @RequestParam String groupBy
     ) {
-        LocalDate fromDate = LocalDate.parse(from);
-        LocalDate toDate = LocalDate.parse(to);
-
-        List<Income> incomes = incomeService.getIncomesByUser(userId)
-                .stream()
-                .filter(i -> !i.getDate().isBefore(fromDate) && !i.getDate().isAfter(toDate))
-                .toList();
-
-        List<Outcome> outcomes = outcomeService.getOutcomesByUser(userId)
-                .stream()
-                .filter(o -> !o.getDate().isBefore(fromDate) && !o.getDate().isAfter(toDate))
-                .toList();
-
-        Map<String, Double> incomeMap = new TreeMap<>();
-        Map<String, Double> outcomeMap = new TreeMap<>();
-
-        for (Income i : incomes) {
-            String key = getGroupingKey(i.getDate(), groupBy);
-            incomeMap.put(key, incomeMap.getOrDefault(key, 0.0) + i.getAmount());
-        }
-
-        for (Outcome o : outcomes) {
-            String key = getGroupingKey(o.getDate(), groupBy);
-            outcomeMap.put(key, outcomeMap.getOrDefault(key, 0.0) + o.getAmount());
+        try {
+            return ResponseEntity.ok(analyticsService.getChartData(userId, LocalDate.parse(from), LocalDate.parse(to), groupBy));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-
-        Set<String> allKeys = new TreeSet<>();
-        allKeys.addAll(incomeMap.keySet());
-        allKeys.addAll(outcomeMap.keySet());
-
-        List<String> labels = new ArrayList<>(allKeys);
-        List<Double> incomeValues = labels.stream().map(l -> incomeMap.getOrDefault(l, 0.0)).toList();
-        List<Double> outcomeValues = labels.stream().map(l -> outcomeMap.getOrDefault(l, 0.0)).toList();
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("labels", labels);
-        result.put("incomes", incomeValues);
-        result.put("outcomes", outcomeValues);
-        return result;
-    }
-
-    /**
-     * Groups dates by day, month, or year to produce chart labels.
-     */
-    private String getGroupingKey(LocalDate date, String groupBy) {
-        return switch (groupBy.toLowerCase()) {
-            case "month" -> date.getYear() + "-" + String.format("%02d", date.getMonthValue());
-            case "year" -> String.valueOf(date.getYear());
-            default -> date.toString();
-        };
     }
 
     /**
      * Returns the total amount spent by a user in a specific category.
      */
     @GetMapping("/spent/{userId}/{categoryId}")
-    public ResponseEntity<Double> getSpentForCategory(@PathVariable Long userId, @PathVariable Long categoryId) {
-        double spent = outcomeService.getTotalSpentByUserAndCategory(userId, categoryId);
-        return ResponseEntity.ok(spent);
+    public ResponseEntity<BigDecimal> getSpentForCategory(@PathVariable Long userId, @PathVariable Long categoryId) {
+        long spentCents = outcomeService.getTotalSpentByUserAndCategory(userId, categoryId);
+        return ResponseEntity.ok(Money.toDecimal(spentCents));
     }
 
     /**
@@ -210,20 +109,7 @@ public class AnalyticsController {
             @RequestParam String from,
             @RequestParam String to
     ) {
-        LocalDate startDate = LocalDate.parse(from);
-        LocalDate endDate = LocalDate.parse(to);
-
-        List<Object[]> rawResults = outcomeRepository.findTopSpendingCategoriesByUserAndDate(userId, startDate, endDate);
-
-        List<Map<String, Object>> results = new ArrayList<>();
-        for (Object[] row : rawResults) {
-            Map<String, Object> map = new HashMap<>();
-            map.put("category", (String) row[0]);  // category name
-            map.put("amount", ((Number) row[1]).doubleValue());  // total amount
-            results.add(map);
-        }
-
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(analyticsService.getTopSpendings(userId, LocalDate.parse(from), LocalDate.parse(to)));
     }
 
 
@@ -0,0 +1,228 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import dev.katsiaryna.budgettracker.Budget.BudgetService;
+import dev.katsiaryna.budgettracker.Income.IncomeListItem;
+import dev.katsiaryna.budgettracker.Income.IncomeService;
+import dev.katsiaryna.budgettracker.Money;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeListItem;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Service computing the dashboard analytics widgets.
+ * <p>
+ * Every result is cached per user in {@link AnalyticsCache}. Date range widgets (charts,
+ * category totals and top spendings) are derived from the daily rollup rather than from
+ * individual transactions, or from the user's in-memory columns if the
+ * {@link TransactionColumnStore} is enabled, and {@link #getRangeAnalytics} builds all of them from a single read.
+ * Totals are summed as {@code long} cents and only converted to decimal amounts in the results.
+ * All reads run in read-only transactions on the reader connection pool.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    /** Number of categories shown in the top spendings widget */
+    private static final int TOP_SPENDINGS = 5;
+
+    private final IncomeService incomeService;
+    private final OutcomeService outcomeService;
+    private final BudgetService budgetService;
+    private final DailyRollupRepository dailyRollupRepository;
+    private final AnalyticsCache analyticsCache;
+    private final TransactionColumnStore transactionColumnStore;
+    private final int fiscalYearStartMonth;
+
+    /**
+     * Constructor with required services and repositories.
+     * The fiscal year starts in {@code analytics.fiscal-year-start-month} (1 = January).
+     */
+    public AnalyticsService(
+            IncomeService incomeService,
+            OutcomeService outcomeService,
+            BudgetService budgetService,
+            DailyRollupRepository dailyRollupRepository,
+            AnalyticsCache analyticsCache,
+            TransactionColumnStore transactionColumnStore,
+            @Value("${analytics.fiscal-year-start-month:1}") int fiscalYearStartMonth
+    ) {
+        this.incomeService = incomeService;
+        this.outcomeService = outcomeService;
+        this.budgetService = budgetService;
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.analyticsCache = analyticsCache;
+        this.transactionColumnStore = transactionColumnStore;
+        this.fiscalYearStartMonth = fiscalYearStartMonth;
+    }
+
+    /**
+     * Returns total income, total outcome, current budget and total category limits of a user.
+     *
+     * @param userId the user's ID
+     * @return summary map with income, outcome, budget and limit
+     */
+    public Map<String, Object> getSummary(Long userId) {
+        return analyticsCache.get(userId, "summary", "", () -> {
+            long totalIncome = incomeService.getTotalIncomeForUser(userId);
+            long totalOutcome = outcomeService.getTotalOutcomeForUser(userId);
+            long totalLimit = budgetService.getTotalLimitForUser(userId);
+
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("income", Money.toDecimal(totalIncome));
+            summary.put("outcome", Money.toDecimal(totalOutcome));
+            summary.put("budget", Money.toDecimal(totalIncome + totalOutcome)); // outcomes stored as negative
+            summary.put("limit", Money.toDecimal(totalLimit));
+            return summary;
+        });
+    }
+
+    /**
+     * Returns the most recent incomes and outcomes of a user.
+     *
+     * @param userId the user's ID
+     * @param limit  number of transactions of each kind
+     * @return map with "incomes" and "outcomes" lists
+     */
+    public Map<String, List<?>> getLatestTransactions(Long userId, int limit) {
+        return analyticsCache.get(userId, "latest", String.valueOf(limit), () -> {
+            List<IncomeListItem> latestIncomes = incomeService.getLatestIncomes(userId, limit);
+            List<OutcomeListItem> latestOutcomes = outcomeService.getLatestOutcomes(userId, limit);
+
+            Map<String, List<?>> data = new HashMap<>();
+            data.put("incomes", latestIncomes);
+            data.put("outcomes", latestOutcomes);
+            return data;
+        });
+    }
+
+    /**
+     * Returns category-wise absolute income and outcome totals within a date range.
+     *
+     * @param userId the user's ID
+     * @param from   start date (inclusive)
+     * @param to     end date (inclusive)
+     * @return map with "income" and "outcome" maps of category name to total
+     */
+    public Map<String, Map<String, BigDecimal>> getCategorySummary(Long userId, LocalDate from, LocalDate to) {
+        return analyticsCache.get(userId, "category-summary", from + "|" + to,
+                () -> categorySummary(loadTotals(userId, from, to)));
+    }
+
+    /**
+     * Returns income and outcome values grouped by day, week, month, quarter, year or fiscal month
+     * within a date range. Every bucket of the range is included, buckets without transactions as zero.
+     *
+     * @param userId  the user's ID
+     * @param from    start date (inclusive)
+     * @param to      end date (inclusive)
+     * @param groupBy "day", "week", "month", "quarter", "year" or "fiscal-month"
+     * @return map with "labels", "incomes" and "outcomes" lists
+     * @throws IllegalArgumentException if the range has more than {@value ChartBuckets#MAX_BUCKETS} buckets
+     */
+    public Map<String, Object> getChartData(Long userId, LocalDate from, LocalDate to, String groupBy) {
+        ChartBuckets.Grouping grouping = ChartBuckets.Grouping.of(groupBy);
+        return analyticsCache.get(userId, "chart", from + "|" + to + "|" + grouping,
+                () -> chart(loadTotals(userId, from, to), from, to, grouping));
+    }
+
+    /**
+     * Returns the top spending categories within a date range.
+     *
+     * @param userId the user's ID
+     * @param from   start date (inclusive)
+     * @param to     end date (inclusive)
+     * @return list of maps with "category" and "amount"
+     */
+    public List<Map<String, Object>> getTopSpendings(Long userId, LocalDate from, LocalDate to) {
+        return analyticsCache.get(userId, "top-spendings", from + "|" + to,
+                () -> topSpendings(loadTotals(userId, from, to)));
+    }
+
+    /**
+     * Returns the chart, category summary and top spendings of a date range,
+     * all computed from one read of the daily rollup.
+     *
+     * @param userId  the user's ID
+     * @param from    start date (inclusive)
+     * @param to      end date (inclusive)
+     * @param groupBy "day", "week", "month", "quarter", "year" or "fiscal-month"
+     * @return map with "chart", "categorySummary" and "topSpendings"
+     * @throws IllegalArgumentException if the range has more than {@value ChartBuckets#MAX_BUCKETS} chart buckets
+     */
+    public Map<String, Object> getRangeAnalytics(Long userId, LocalDate from, LocalDate to, String groupBy) {
+        ChartBuckets.Grouping grouping = ChartBuckets.Grouping.of(groupBy);
+        return analyticsCache.get(userId, "range", from + "|" + to + "|" + grouping, () -> {
+            RangeTotals totals = loadTotals(userId, from, to);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("chart", chart(totals, from, to, grouping));
+            result.put("categorySummary", categorySummary(totals));
+            result.put("topSpendings", topSpendings(totals));
+            return result;
+        });
+    }
+
+    /**
+     * Reads the totals of a date range from the user's columns if the columnar store holds them,
+     * otherwise from the daily rollup.
+     */
+    private RangeTotals loadTotals(Long userId, LocalDate from, LocalDate to) {
+        RangeTotals columns = transactionColumnStore.range(userId, from, to);
+        return columns != null ? columns : RangeTotals.of(dailyRollupRepository.findTotalsByUserIdBetweenDates(userId, from, to));
+    }
+
+    /**
+     * Groups the daily totals into chart buckets, see {@link ChartBuckets}.
+     */
+    private Map<String, Object> chart(RangeTotals totals, LocalDate from, LocalDate to,
+                                      ChartBuckets.Grouping grouping) {
+        return new ChartBuckets(grouping, fiscalYearStartMonth).chart(totals, from, to);
+    }
+
+    /**
+     * Sums the daily totals per category and converts them to absolute values,
+     * leaving out categories without incomes (or outcomes) in the range.
+     */
+    private Map<String, Map<String, BigDecimal>> categorySummary(RangeTotals totals) {
+        Map<String, BigDecimal> incomeByCategory = new HashMap<>();
+        Map<String, BigDecimal> outcomeByCategory = new HashMap<>();
+        totals.sumByCategory().forEach((category, sums) -> {
+            if (sums[0] != 0) {
+                incomeByCategory.put(category, Money.toDecimal(Math.abs(sums[0])));
+            }
+            if (sums[1] != 0) {
+                outcomeByCategory.put(category, Money.toDecimal(Math.abs(sums[1])));
+            }
+        });
+
+        Map<String, Map<String, BigDecimal>> result = new HashMap<>();
+        result.put("income", incomeByCategory);
+        result.put("outcome", outcomeByCategory);
+        return result;
+    }
+
+    /**
+     * Sums outcomes per category and keeps the first {@value #TOP_SPENDINGS} in descending order of the
+     * (negative) total, matching the order the dashboard has always shown.
+     */
+    private List<Map<String, Object>> topSpendings(RangeTotals totals) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        totals.sumByCategory().entrySet().stream()
+                .filter(entry -> entry.getValue()[1] != 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                .limit(TOP_SPENDINGS)
+                .forEach(entry -> {
+                    Map<String, Object> map = new HashMap<>();
+                    map.put("category", entry.getKey());
+                    map.put("amount", Money.toDecimal(entry.getValue()[1]));
+                    results.add(map);
+                });
+        return results;
+    }
+}
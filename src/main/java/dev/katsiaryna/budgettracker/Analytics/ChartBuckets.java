@@ -0,0 +1,164 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import dev.katsiaryna.budgettracker.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Groups daily totals into the income and outcome series of a chart.
+ * <p>
+ * Every grouping maps a day to a primitive bucket index (epoch day, epoch week, or months,
+ * quarters and years counted from year 0), so the totals of a date range are summed into dense
+ * {@code long[]} arrays indexed from the first bucket of the range, without a key object per row.
+ * The bucket is only computed again when the day changes. All buckets of the range are returned,
+ * those without transactions with zero totals, and each label is formatted once per bucket.
+ */
+final class ChartBuckets {
+
+    /** Largest number of buckets a chart may have, e.g. about 27 years grouped by day */
+    static final int MAX_BUCKETS = 10_000;
+
+    /** Epoch day of the Monday starting the week of 1970-01-01, a Thursday */
+    private static final long FIRST_MONDAY = -3;
+
+    /**
+     * Chart granularity.
+     */
+    enum Grouping {
+        DAY, WEEK, MONTH, QUARTER, YEAR, FISCAL_MONTH;
+
+        /**
+         * Parses a grouping name such as "month" or "fiscal-month"; unknown names group by day.
+         *
+         * @param name the grouping name
+         * @return the grouping
+         */
+        static Grouping of(String name) {
+            if (name == null) {
+                return DAY;
+            }
+            try {
+                return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return DAY;
+            }
+        }
+    }
+
+    private final Grouping grouping;
+    private final int fiscalMonthShift;
+
+    /**
+     * Creates the bucketing of one grouping.
+     *
+     * @param grouping             the chart granularity
+     * @param fiscalYearStartMonth first month (1-12) of the fiscal year, used by {@link Grouping#FISCAL_MONTH}
+     */
+    ChartBuckets(Grouping grouping, int fiscalYearStartMonth) {
+        if (fiscalYearStartMonth < 1 || fiscalYearStartMonth > 12) {
+            throw new IllegalArgumentException("Fiscal year start month must be between 1 and 12");
+        }
+        this.grouping = grouping;
+        // A fiscal year is named after the calendar year it ends in, e.g. FY2025 = April 2024 to March 2025
+        this.fiscalMonthShift = (13 - fiscalYearStartMonth) % 12;
+    }
+
+    /**
+     * Builds the chart of a date range.
+     *
+     * @param totals totals within the range
+     * @param from   start date (inclusive)
+     * @param to     end date (inclusive)
+     * @return map with "labels", "incomes" and "outcomes" lists, one entry per bucket
+     * @throws IllegalArgumentException if the range has more than {@value #MAX_BUCKETS} buckets
+     */
+    Map<String, Object> chart(RangeTotals totals, LocalDate from, LocalDate to) {
+        long first = index(from);
+        long count = from.isAfter(to) ? 0 : index(to) - first + 1;
+        if (count > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Date range has too many chart buckets: " + count
+                    + " (at most " + MAX_BUCKETS + ")");
+        }
+
+        int size = (int) count;
+        long[] incomes = new long[size];
+        long[] outcomes = new long[size];
+        totals.forEachDay(new RangeTotals.DayConsumer() {
+            private long day = Long.MIN_VALUE;
+            private long bucket;
+
+            @Override
+            public void accept(long epochDay, long incomeCents, long outcomeCents) {
+                if (epochDay != day) {
+                    day = epochDay;
+                    bucket = index(LocalDate.ofEpochDay(epochDay)) - first;
+                }
+                if (bucket >= 0 && bucket < size) {
+                    incomes[(int) bucket] += incomeCents;
+                    outcomes[(int) bucket] += outcomeCents;
+                }
+            }
+        });
+
+        List<String> labels = new ArrayList<>(size);
+        List<BigDecimal> incomeValues = new ArrayList<>(size);
+        List<BigDecimal> outcomeValues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            labels.add(label(first + i));
+            incomeValues.add(Money.toDecimal(incomes[i]));
+            outcomeValues.add(Money.toDecimal(outcomes[i]));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("labels", labels);
+        result.put("incomes", incomeValues);
+        result.put("outcomes", outcomeValues);
+        return result;
+    }
+
+    /**
+     * Maps a day to the index of its bucket; consecutive buckets have consecutive indexes.
+     */
+    long index(LocalDate day) {
+        return switch (grouping) {
+            case DAY -> day.toEpochDay();
+            case WEEK -> Math.floorDiv(day.toEpochDay() - FIRST_MONDAY, 7);
+            case MONTH -> month(day);
+            case QUARTER -> Math.floorDiv(month(day), 3);
+            case YEAR -> day.getYear();
+            case FISCAL_MONTH -> month(day) + fiscalMonthShift;
+        };
+    }
+
+    /**
+     * Formats the label of a bucket: "2025-03-14", "2025-W11", "2025-03", "2025-Q1", "2025" or "FY2025-01".
+     */
+    String label(long index) {
+        return switch (grouping) {
+            case DAY -> LocalDate.ofEpochDay(index).toString();
+            case WEEK -> {
+                // The ISO week belongs to the year of its Thursday
+                LocalDate thursday = LocalDate.ofEpochDay(index * 7 + FIRST_MONDAY + 3);
+                yield thursday.getYear() + "-W" + twoDigits((thursday.getDayOfYear() - 1) / 7 + 1);
+            }
+            case MONTH -> Math.floorDiv(index, 12) + "-" + twoDigits(Math.floorMod(index, 12) + 1);
+            case QUARTER -> Math.floorDiv(index, 4) + "-Q" + (Math.floorMod(index, 4) + 1);
+            case YEAR -> Long.toString(index);
+            case FISCAL_MONTH -> "FY" + Math.floorDiv(index, 12) + "-" + twoDigits(Math.floorMod(index, 12) + 1);
+        };
+    }
+
+    private static long month(LocalDate day) {
+        return day.getYear() * 12L + day.getMonthValue() - 1;
+    }
+
+    private static String twoDigits(long value) {
+        return value < 10 ? "0" + value : Long.toString(value);
+    }
+}
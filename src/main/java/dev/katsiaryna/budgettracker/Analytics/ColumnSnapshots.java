@@ -0,0 +1,138 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot files of users' {@link TransactionColumns}, so a restart does not load them from the database again.
+ * <p>
+ * Each file holds one user's columns and the user's data version (the {@code data_version} table,
+ * counting every income and outcome change) they were read at. Files are written through a
+ * memory-mapped {@link FileChannel} into a temporary file that then replaces the previous snapshot,
+ * and read by mapping them, so the arrays are copied straight from the page cache. A snapshot is
+ * only valid while the user's data version is unchanged.
+ */
+final class ColumnSnapshots {
+
+    /** "BTCS" */
+    private static final int MAGIC = 0x42544353;
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES;
+    private static final String SUFFIX = ".columns";
+
+    private final Path directory;
+
+    /**
+     * Creates the snapshot files access.
+     *
+     * @param directory the directory holding the snapshot files, created when the first one is written
+     */
+    ColumnSnapshots(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes a user's snapshot, replacing the previous one.
+     *
+     * @param userId      the user ID
+     * @param dataVersion the user's data version the columns were read at
+     * @param columns     the columns
+     * @throws IOException if the file cannot be written
+     */
+    void write(long userId, long dataVersion, TransactionColumns columns) throws IOException {
+        Files.createDirectories(directory);
+        Path file = file(userId);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        long size = HEADER_BYTES + columns.serializedSize();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(FORMAT).putLong(userId).putLong(dataVersion);
+            columns.writeTo(buffer);
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    Snapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                throw new IOException("Not a column snapshot: " + file);
+            }
+            long userId = buffer.getLong();
+            long dataVersion = buffer.getLong();
+            return new Snapshot(userId, dataVersion, TransactionColumns.readFrom(buffer));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt column snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Lists the snapshot files, most recently written first.
+     *
+     * @return the snapshot files, empty if the directory does not exist
+     * @throws IOException if the directory cannot be listed
+     */
+    List<Path> files() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(ColumnSnapshots::modified).reversed())
+                    .toList();
+        }
+    }
+
+    /**
+     * Deletes a user's snapshot, e.g. because it cannot be read.
+     *
+     * @param file the snapshot file
+     * @throws IOException if the file cannot be deleted
+     */
+    void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private Path file(long userId) {
+        return directory.resolve("user-" + userId + SUFFIX);
+    }
+
+    private static FileTime modified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * The contents of a snapshot file.
+     *
+     * @param userId      the user ID
+     * @param dataVersion the user's data version the columns were read at
+     * @param columns     the columns
+     */
+    record Snapshot(long userId, long dataVersion, TransactionColumns columns) {
+    }
+}
@@ -0,0 +1,14 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Income and outcome totals of one category on one day, read from the daily rollup.
+ *
+ * @param day          the day of the totals
+ * @param category     the category name
+ * @param incomeCents  sum of all incomes in the category on that day, in cents
+ * @param outcomeCents sum of all outcomes in the category on that day, in cents (negative)
+ */
+public record DailyCategoryTotals(LocalDate day, String category, long incomeCents, long outcomeCents) {
+}
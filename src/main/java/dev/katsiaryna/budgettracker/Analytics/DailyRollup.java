@@ -0,0 +1,91 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Entity representing the pre-aggregated income and outcome totals
+ * of one user, in one category, on one day.
+ * <p>
+ * Rows are maintained by {@link DailyRollupService} whenever an income or
+ * outcome is added, updated or deleted, so chart queries read at most one
+ * row per category and day instead of every transaction.
+ */
+@Entity
+@Table(name = "daily_rollup",
+        indexes = @Index(name = "ux_daily_rollup_user_category_day",
+                columnList = "user_id, category_id, day", unique = true))
+public class DailyRollup {
+
+    /** Unique identifier for the rollup row */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    /** The user the totals belong to */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** The category the totals belong to */
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    /** The day the totals were recorded on */
+    @Column(nullable = false)
+    private LocalDate day;
+
+    /** Sum of all income amounts on that day, in cents */
+    @Column(name = "income_cents", nullable = false)
+    private Long incomeCents;
+
+    /** Sum of all outcome amounts on that day, in cents (negative, like outcomes themselves) */
+    @Column(name = "outcome_cents", nullable = false)
+    private Long outcomeCents;
+
+    /** Number of transactions aggregated into this row */
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public DailyRollup() {
+    }
+
+    //Getters
+    /** @return the ID of the rollup row */
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    /** @return the user ID */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /** @return the category ID */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /** @return the day of the totals */
+    public LocalDate getDay() {
+        return day;
+    }
+
+    /** @return the income total of the day, in cents */
+    public Long getIncomeCents() {
+        return incomeCents;
+    }
+
+    /** @return the outcome total of the day, in cents */
+    public Long getOutcomeCents() {
+        return outcomeCents;
+    }
+
+    /** @return the number of aggregated transactions */
+    public Long getTxCount() {
+        return txCount;
+    }
+}
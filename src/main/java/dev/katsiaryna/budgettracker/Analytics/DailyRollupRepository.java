@@ -0,0 +1,92 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for reading and maintaining {@link DailyRollup} rows.
+ */
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long> {
+
+    /**
+     * Adds the given deltas to the rollup row of a user, category and day,
+     * creating the row if it does not exist yet.
+     * Relies on the unique index created by the {@code V2__add_query_indexes.sql} migration.
+     *
+     * @param userId       the ID of the user
+     * @param categoryId   the ID of the category
+     * @param day          the day of the transaction
+     * @param incomeCents  the income delta in cents
+     * @param outcomeCents the outcome delta in cents
+     * @param txCount      the transaction count delta
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO daily_rollup (user_id, category_id, day, income_cents, outcome_cents, tx_count)
+    VALUES (:userId, :categoryId, :day, :incomeCents, :outcomeCents, :txCount)
+    ON CONFLICT (user_id, category_id, day) DO UPDATE SET
+        income_cents = income_cents + excluded.income_cents,
+        outcome_cents = outcome_cents + excluded.outcome_cents,
+        tx_count = tx_count + excluded.tx_count
+""", nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("categoryId") Long categoryId,
+                @Param("day") LocalDate day,
+                @Param("incomeCents") long incomeCents,
+                @Param("outcomeCents") long outcomeCents,
+                @Param("txCount") long txCount);
+
+    /**
+     * Removes the rollup row of a user, category and day once no transactions are left in it.
+     *
+     * @param userId     the ID of the user
+     * @param categoryId the ID of the category
+     * @param day        the day of the row
+     */
+    @Modifying
+    @Query("DELETE FROM DailyRollup r WHERE r.userId = :userId AND r.categoryId = :categoryId AND r.day = :day AND r.txCount <= 0")
+    void deleteIfEmpty(@Param("userId") Long userId,
+                       @Param("categoryId") Long categoryId,
+                       @Param("day") LocalDate day);
+
+    /**
+     * Rebuilds every rollup row from the incomes and outcomes tables.
+     * Used once to backfill history recorded before the rollup table existed (or was recreated).
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO daily_rollup (user_id, category_id, day, income_cents, outcome_cents, tx_count)
+    SELECT t.user_id, t.category_id, t.date, SUM(t.income), SUM(t.outcome), COUNT(*)
+    FROM (
+        SELECT user_id, category_id, date, amount_cents AS income, 0 AS outcome FROM incomes
+        UNION ALL
+        SELECT user_id, category_id, date, 0 AS income, amount_cents AS outcome FROM outcomes
+    ) t
+    GROUP BY t.user_id, t.category_id, t.date
+""", nativeQuery = true)
+    void rebuildAll();
+
+    /**
+     * Finds the per-category daily totals of a user within a date range, ordered by day.
+     * Chart, category and top spending analytics are all derived from this single read.
+     *
+     * @param userId the ID of the user
+     * @param start  the first day (inclusive)
+     * @param end    the last day (inclusive)
+     * @return list of daily totals with category names
+     */
+    @Query("""
+    SELECT new dev.katsiaryna.budgettracker.Analytics.DailyCategoryTotals(r.day, c.category, r.incomeCents, r.outcomeCents)
+    FROM DailyRollup r JOIN Category c ON c.category_id = r.categoryId
+    WHERE r.userId = :userId AND r.day BETWEEN :start AND :end
+    ORDER BY r.day
+""")
+    List<DailyCategoryTotals> findTotalsByUserIdBetweenDates(@Param("userId") Long userId,
+                                                            @Param("start") LocalDate start,
+                                                            @Param("end") LocalDate end);
+}
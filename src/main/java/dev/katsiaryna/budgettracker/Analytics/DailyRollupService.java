@@ -0,0 +1,118 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Service that keeps the {@code daily_rollup} table in sync with incomes and outcomes.
+ * <p>
+ * Income and outcome services call it from inside their own transactions, so a
+ * transaction and its rollup delta are always committed (or rolled back) together.
+ */
+@Service
+public class DailyRollupService {
+
+    private final DailyRollupRepository dailyRollupRepository;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param dailyRollupRepository the rollup repository
+     */
+    public DailyRollupService(DailyRollupRepository dailyRollupRepository) {
+        this.dailyRollupRepository = dailyRollupRepository;
+    }
+
+    /**
+     * Fills the rollup table from existing transactions if it is still empty,
+     * e.g. on the first start after the table was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (dailyRollupRepository.count() == 0) {
+            dailyRollupRepository.rebuildAll();
+        }
+    }
+
+    /**
+     * Adds an income to the rollup of its day.
+     *
+     * @param userId      the user ID
+     * @param categoryId  the category ID
+     * @param day         the date of the income
+     * @param amountCents the income amount in cents
+     */
+    @Transactional
+    public void addIncome(Long userId, Long categoryId, LocalDate day, long amountCents) {
+        apply(userId, categoryId, day, amountCents, 0, 1);
+    }
+
+    /**
+     * Removes an income from the rollup of its day.
+     *
+     * @param userId      the user ID
+     * @param categoryId  the category ID
+     * @param day         the date of the income
+     * @param amountCents the income amount in cents
+     */
+    @Transactional
+    public void removeIncome(Long userId, Long categoryId, LocalDate day, long amountCents) {
+        apply(userId, categoryId, day, -amountCents, 0, -1);
+    }
+
+    /**
+     * Adds an outcome to the rollup of its day.
+     *
+     * @param userId      the user ID
+     * @param categoryId  the category ID
+     * @param day         the date of the outcome
+     * @param amountCents the outcome amount in cents (negative, as stored)
+     */
+    @Transactional
+    public void addOutcome(Long userId, Long categoryId, LocalDate day, long amountCents) {
+        apply(userId, categoryId, day, 0, amountCents, 1);
+    }
+
+    /**
+     * Removes an outcome from the rollup of its day.
+     *
+     * @param userId      the user ID
+     * @param categoryId  the category ID
+     * @param day         the date of the outcome
+     * @param amountCents the outcome amount in cents (negative, as stored)
+     */
+    @Transactional
+    public void removeOutcome(Long userId, Long categoryId, LocalDate day, long amountCents) {
+        apply(userId, categoryId, day, 0, -amountCents, -1);
+    }
+
+    /**
+     * Adds several transactions of the same category and day at once, e.g. from a bulk import.
+     *
+     * @param userId       the user ID
+     * @param categoryId   the category ID
+     * @param day          the date of the transactions
+     * @param incomeCents  the sum of the added incomes in cents
+     * @param outcomeCents the sum of the added outcomes in cents (negative, as stored)
+     * @param count        the number of added transactions
+     */
+    @Transactional
+    public void addTotals(Long userId, Long categoryId, LocalDate day, long incomeCents, long outcomeCents, long count) {
+        apply(userId, categoryId, day, incomeCents, outcomeCents, count);
+    }
+
+    /**
+     * Applies a delta to a single rollup row and drops the row once it no longer covers any transaction.
+     */
+    private void apply(Long userId, Long categoryId, LocalDate day, long incomeCents, long outcomeCents, long count) {
+        dailyRollupRepository.upsert(userId, categoryId, day, incomeCents, outcomeCents, count);
+        if (count < 0) {
+            dailyRollupRepository.deleteIfEmpty(userId, categoryId, day);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Income and outcome totals of one user within a date range, the input of the date range widgets.
+ * <p>
+ * They are read either from the daily rollup ({@link #of(List)}) or, when enabled, from the
+ * user's columns in the {@link TransactionColumnStore}.
+ */
+interface RangeTotals {
+
+    /**
+     * Passes income and outcome cents with their day to a consumer, not necessarily in date order.
+     * A day may be passed several times, e.g. once per category or transaction.
+     *
+     * @param consumer receives the epoch day, income cents and outcome cents
+     */
+    void forEachDay(DayConsumer consumer);
+
+    /**
+     * Sums the totals per category name.
+     *
+     * @return map of category name to {income cents, outcome cents}
+     */
+    Map<String, long[]> sumByCategory();
+
+    /**
+     * Receives the totals of one day.
+     */
+    @FunctionalInterface
+    interface DayConsumer {
+        void accept(long epochDay, long incomeCents, long outcomeCents);
+    }
+
+    /**
+     * Wraps per-category daily totals read from the daily rollup.
+     *
+     * @param totals the daily totals
+     * @return the range totals
+     */
+    static RangeTotals of(List<DailyCategoryTotals> totals) {
+        return new RangeTotals() {
+            @Override
+            public void forEachDay(DayConsumer consumer) {
+                for (DailyCategoryTotals t : totals) {
+                    consumer.accept(t.day().toEpochDay(), t.incomeCents(), t.outcomeCents());
+                }
+            }
+
+            @Override
+            public Map<String, long[]> sumByCategory() {
+                Map<String, long[]> sums = new HashMap<>();
+                for (DailyCategoryTotals t : totals) {
+                    long[] sum = sums.computeIfAbsent(t.category(), k -> new long[2]);
+                    sum[0] += t.incomeCents();
+                    sum[1] += t.outcomeCents();
+                }
+                return sums;
+            }
+        };
+    }
+}
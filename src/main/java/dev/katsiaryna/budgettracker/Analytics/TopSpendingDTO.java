@@ -1,5 +1,9 @@
 package dev.katsiaryna.budgettracker.Analytics;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.katsiaryna.budgettracker.Money;
+
 /**
  * A simple Data Transfer Object (DTO) representing
  * a spending summary per category.
@@ -8,17 +12,19 @@ package dev.katsiaryna.budgettracker.Analytics;
  */
 public class TopSpendingDTO {
     private String category;
-    private double amount;
+    @JsonProperty("amount")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    private long amountCents;
 
     /**
      * Constructs a TopSpendingDTO with the given category and amount.
      *
-     * @param category the category name
-     * @param amount   the total amount spent in this category
+     * @param category    the category name
+     * @param amountCents the total amount spent in this category, in cents
      */
-    public TopSpendingDTO(String category, double amount) {
+    public TopSpendingDTO(String category, long amountCents) {
         this.category = category;
-        this.amount = amount;
+        this.amountCents = amountCents;
     }
 
     /**
@@ -29,9 +35,9 @@ public class TopSpendingDTO {
     }
 
     /**
-     * @return the amount spent
+     * @return the amount spent, in cents
      */
-    public double getAmount() {
-        return amount;
+    public long getAmountCents() {
+        return amountCents;
     }
 }
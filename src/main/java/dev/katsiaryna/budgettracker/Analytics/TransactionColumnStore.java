@@ -0,0 +1,321 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.katsiaryna.budgettracker.Category.Category;
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
+import dev.katsiaryna.budgettracker.Income.IncomeRepository;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory store of every user's incomes and outcomes as primitive columns, see {@link TransactionColumns}.
+ * <p>
+ * When {@code analytics.columnar.enabled} is set, the date range widgets of {@link AnalyticsService}
+ * are computed by scanning the user's columns instead of reading the daily rollup. A user's columns
+ * are loaded on first use; all users together are bounded by {@code analytics.columnar.max-memory},
+ * evicting the least recently and frequently used users first, and users whose transactions alone
+ * exceed it keep using the rollup. Such users are remembered for {@link #OVERSIZE_RECHECK}, so their
+ * transactions are not counted again on every request. Income and outcome writes are applied to loaded columns after
+ * commit. Changes are keyed by transaction ID, so applying one to columns loaded after the commit
+ * does not count it twice. Hit and miss counts are published to Micrometer as
+ * {@code cache.gets{cache="transaction-columns"}}.
+ * <p>
+ * With {@code analytics.snapshot.enabled}, every user's columns are saved to a snapshot file in
+ * {@code analytics.snapshot.directory} when they are loaded from the database (see {@link ColumnSnapshots}).
+ * After a restart the snapshots are read in the background; those still matching the user's data
+ * version are used as they are, stale ones are loaded from the database again and rewritten.
+ */
+@Component
+public class TransactionColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionColumnStore.class);
+
+    /** Time after which a user found too large for the memory budget is counted again */
+    static final Duration OVERSIZE_RECHECK = Duration.ofMinutes(10);
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Cache<Long, TransactionColumns> cache;
+    private final Cache<Long, Boolean> oversizeUsers;
+    private final IncomeRepository incomeRepository;
+    private final OutcomeRepository outcomeRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JdbcTemplate jdbcTemplate;
+    private final ColumnSnapshots snapshots;
+
+    /**
+     * Creates the store and registers its metrics.
+     *
+     * @param enabled            whether analytics are computed from in-memory columns
+     * @param maxMemory          memory all loaded columns may use together
+     * @param incomeRepository   repository incomes are loaded from
+     * @param outcomeRepository  repository outcomes are loaded from
+     * @param categoryCatalog    catalog resolving category names
+     * @param transactionManager transaction manager the columns are loaded with
+     * @param jdbcTemplate       JDBC template reading the users' data versions
+     * @param snapshotsEnabled   whether loaded columns are saved to and restored from snapshot files
+     * @param snapshotDirectory  directory of the snapshot files
+     * @param meterRegistry      registry the hit/miss metrics are published to
+     */
+    public TransactionColumnStore(@Value("${analytics.columnar.enabled:false}") boolean enabled,
+                                  @Value("${analytics.columnar.max-memory:64MB}") DataSize maxMemory,
+                                  IncomeRepository incomeRepository,
+                                  OutcomeRepository outcomeRepository,
+                                  CategoryCatalog categoryCatalog,
+                                  PlatformTransactionManager transactionManager,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${analytics.snapshot.enabled:false}") boolean snapshotsEnabled,
+                                  @Value("${analytics.snapshot.directory:db/snapshots}") Path snapshotDirectory,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxBytes = maxMemory.toBytes();
+        this.incomeRepository = incomeRepository;
+        this.outcomeRepository = outcomeRepository;
+        this.categoryCatalog = categoryCatalog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshots = enabled && snapshotsEnabled ? new ColumnSnapshots(snapshotDirectory) : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, TransactionColumns columns) -> (int) Math.min(Integer.MAX_VALUE, columns.bytes()))
+                .recordStats()
+                .build();
+        this.oversizeUsers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(OVERSIZE_RECHECK)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "transaction-columns");
+    }
+
+    /**
+     * Returns the totals of a user's date range from the user's columns, loading them on first use.
+     *
+     * @param userId the user ID
+     * @param from   start date (inclusive)
+     * @param to     end date (inclusive)
+     * @return the range totals, or null if the store is disabled or the user's columns do not fit into memory
+     */
+    RangeTotals range(Long userId, LocalDate from, LocalDate to) {
+        if (!enabled || oversizeUsers.getIfPresent(userId) != null) {
+            return null;
+        }
+        TransactionColumns columns = cache.get(userId, this::load);
+        if (columns == null) {
+            return null;
+        }
+        return columns.range(from, to, categoryId -> categoryCatalog.findById(categoryId)
+                .map(Category::getCategory)
+                .orElse(null));
+    }
+
+    /**
+     * Records an added or updated income in the user's loaded columns.
+     *
+     * @param userId      the user ID
+     * @param incomeId    the income ID
+     * @param date        the date of the income
+     * @param categoryId  the category ID
+     * @param amountCents the income amount in cents
+     */
+    public void incomeSaved(Long userId, long incomeId, LocalDate date, Long categoryId, long amountCents) {
+        change(userId, columns -> columns.withIncome(incomeId, date, amountCents, categoryId));
+    }
+
+    /**
+     * Removes a deleted income from the user's loaded columns.
+     *
+     * @param userId   the user ID
+     * @param incomeId the income ID
+     */
+    public void incomeDeleted(Long userId, long incomeId) {
+        change(userId, columns -> columns.withoutIncome(incomeId));
+    }
+
+    /**
+     * Records an added or updated outcome in the user's loaded columns.
+     *
+     * @param userId      the user ID
+     * @param outcomeId   the outcome ID
+     * @param date        the date of the outcome
+     * @param categoryId  the category ID
+     * @param amountCents the outcome amount in cents (negative, as stored)
+     */
+    public void outcomeSaved(Long userId, long outcomeId, LocalDate date, Long categoryId, long amountCents) {
+        change(userId, columns -> columns.withOutcome(outcomeId, date, amountCents, categoryId));
+    }
+
+    /**
+     * Removes a deleted outcome from the user's loaded columns.
+     *
+     * @param userId    the user ID
+     * @param outcomeId the outcome ID
+     */
+    public void outcomeDeleted(Long userId, long outcomeId) {
+        change(userId, columns -> columns.withoutOutcome(outcomeId));
+    }
+
+    /**
+     * Drops a user's columns, e.g. after a bulk import, so they are loaded again on next use.
+     *
+     * @param userId the user whose data changed
+     */
+    public void evictUser(Long userId) {
+        if (enabled) {
+            afterCommit(() -> cache.invalidate(userId));
+        }
+    }
+
+    /**
+     * Applies a change to the user's columns if they are loaded.
+     * Inside a transaction this happens after commit, while the transaction still holds the
+     * single writer connection, so changes are applied in commit order.
+     */
+    private void change(Long userId, UnaryOperator<TransactionColumns> change) {
+        if (enabled) {
+            afterCommit(() -> cache.asMap().computeIfPresent(userId, (id, columns) -> change.apply(columns)));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Restores the users' columns from their snapshot files on a background thread,
+     * most recently written first, until the memory budget is used up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSnapshots() {
+        if (snapshots != null) {
+            Thread.ofVirtual().name("column-snapshots").start(this::restoreAll);
+        }
+    }
+
+    /**
+     * Restores the snapshots on the calling thread. Unreadable snapshot files are deleted, and
+     * users whose snapshot is stale are loaded from the database again.
+     */
+    void restoreAll() {
+        try {
+            long used = 0;
+            int restored = 0;
+            int reloaded = 0;
+            for (Path file : snapshots.files()) {
+                ColumnSnapshots.Snapshot snapshot;
+                try {
+                    snapshot = snapshots.read(file);
+                } catch (IOException e) {
+                    log.warn("Deleting unreadable column snapshot {}: {}", file, e.getMessage());
+                    snapshots.delete(file);
+                    continue;
+                }
+                used += snapshot.columns().bytes();
+                if (used > maxBytes) {
+                    break;
+                }
+                if (restore(snapshot)) {
+                    restored++;
+                } else {
+                    cache.get(snapshot.userId(), this::load); // stale: reload and rewrite the snapshot
+                    reloaded++;
+                }
+            }
+            log.info("Restored {} column snapshots, reloaded {} stale ones", restored, reloaded);
+        } catch (RuntimeException | IOException e) {
+            log.warn("Restoring column snapshots failed", e);
+        }
+    }
+
+    /**
+     * Puts a snapshot into the cache if it matches the user's current data version. The version is
+     * checked while holding the user's cache entry, so a write committing meanwhile either makes the
+     * snapshot stale or is applied to it afterwards.
+     *
+     * @return false if the snapshot is stale
+     */
+    private boolean restore(ColumnSnapshots.Snapshot snapshot) {
+        boolean[] current = new boolean[1];
+        cache.asMap().compute(snapshot.userId(), (userId, columns) -> {
+            current[0] = columns != null || dataVersion(userId) == snapshot.dataVersion();
+            return columns != null || !current[0] ? columns : snapshot.columns();
+        });
+        return current[0];
+    }
+
+    /**
+     * Reads all of a user's transactions into columns, unless they would exceed the memory budget
+     * (the user is then remembered as oversize), and saves them as a snapshot stamped with the data
+     * version read in the same transaction.
+     */
+    private TransactionColumns load(Long userId) {
+        return readOnlyTransaction.execute(status -> {
+            long incomes = incomeRepository.countByUserId(userId);
+            long outcomes = outcomeRepository.countByUserId(userId);
+            if ((incomes + outcomes) * TransactionColumns.BYTES_PER_ROW > maxBytes) {
+                oversizeUsers.put(userId, Boolean.TRUE);
+                return null;
+            }
+            long dataVersion = dataVersion(userId);
+            TransactionColumns columns;
+            try (Stream<Object[]> incomeRows = incomeRepository.streamColumnsByUserId(userId);
+                 Stream<Object[]> outcomeRows = outcomeRepository.streamColumnsByUserId(userId)) {
+                columns = new TransactionColumns(read(incomeRows, incomes), read(outcomeRows, outcomes));
+            }
+            if (snapshots != null) {
+                try {
+                    snapshots.write(userId, dataVersion, columns);
+                } catch (IOException e) {
+                    log.warn("Could not write the column snapshot of user {}", userId, e);
+                }
+            }
+            return columns;
+        });
+    }
+
+    /**
+     * Reads the number of income and outcome changes of a user, maintained by database triggers.
+     */
+    private long dataVersion(Long userId) {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(version), 0) FROM data_version WHERE user_id = ?", Long.class, userId);
+        return version != null ? version : 0;
+    }
+
+    private static TransactionColumns.Columns read(Stream<Object[]> rows, long expected) {
+        TransactionColumns.Builder builder = new TransactionColumns.Builder((int) expected);
+        rows.forEach(row -> builder.add((Long) row[0], (LocalDate) row[1], (Long) row[2], (Long) row[3]));
+        return builder.build();
+    }
+}
@@ -0,0 +1,352 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * All incomes and outcomes of one user as parallel primitive arrays (ID, epoch day, cents,
+ * category ID), each kind sorted by date and ID.
+ * <p>
+ * Instances are immutable and can be read by any number of threads. A change returns a new
+ * instance with copied arrays of the changed kind, so every change costs a copy of that kind.
+ * Date ranges are found by binary search and summed in a single scan. The columns can be
+ * written to and read from a buffer, e.g. a memory-mapped snapshot file.
+ */
+final class TransactionColumns {
+
+    /** Memory used per stored transaction: ID, amount, day and category ID */
+    static final long BYTES_PER_ROW = Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final Columns incomes;
+    private final Columns outcomes;
+
+    TransactionColumns(Columns incomes, Columns outcomes) {
+        this.incomes = incomes;
+        this.outcomes = outcomes;
+    }
+
+    /**
+     * Returns the memory used by the arrays, as weighed against the store's memory budget.
+     */
+    long bytes() {
+        return 128 + (incomes.ids.length + outcomes.ids.length) * BYTES_PER_ROW;
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo} writes.
+     */
+    long serializedSize() {
+        return 2L * Integer.BYTES + (incomes.ids.length + outcomes.ids.length) * BYTES_PER_ROW;
+    }
+
+    /**
+     * Writes the columns to a buffer with at least {@link #serializedSize()} bytes remaining.
+     */
+    void writeTo(ByteBuffer buffer) {
+        incomes.writeTo(buffer);
+        outcomes.writeTo(buffer);
+    }
+
+    /**
+     * Reads columns written by {@link #writeTo}.
+     *
+     * @throws java.nio.BufferUnderflowException if the buffer ends early
+     * @throws IllegalArgumentException if the row count, a category ID or the row order is invalid
+     */
+    static TransactionColumns readFrom(ByteBuffer buffer) {
+        return new TransactionColumns(Columns.readFrom(buffer), Columns.readFrom(buffer));
+    }
+
+    TransactionColumns withIncome(long id, LocalDate date, long amountCents, long categoryId) {
+        return new TransactionColumns(incomes.with(id, date, amountCents, categoryId), outcomes);
+    }
+
+    TransactionColumns withoutIncome(long id) {
+        return new TransactionColumns(incomes.without(id), outcomes);
+    }
+
+    TransactionColumns withOutcome(long id, LocalDate date, long amountCents, long categoryId) {
+        return new TransactionColumns(incomes, outcomes.with(id, date, amountCents, categoryId));
+    }
+
+    TransactionColumns withoutOutcome(long id) {
+        return new TransactionColumns(incomes, outcomes.without(id));
+    }
+
+    /**
+     * Returns the totals of a date range.
+     *
+     * @param from          start date (inclusive)
+     * @param to            end date (inclusive)
+     * @param categoryNames resolves a category ID to its name, or null for unknown categories
+     * @return the range totals, scanning the arrays on every call
+     */
+    RangeTotals range(LocalDate from, LocalDate to, LongFunction<String> categoryNames) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        int incomeFrom = incomes.lowerBound(first);
+        int incomeTo = incomes.lowerBound(last + 1);
+        int outcomeFrom = outcomes.lowerBound(first);
+        int outcomeTo = outcomes.lowerBound(last + 1);
+
+        return new RangeTotals() {
+            @Override
+            public void forEachDay(DayConsumer consumer) {
+                for (int i = incomeFrom; i < incomeTo; i++) {
+                    consumer.accept(incomes.days[i], incomes.cents[i], 0);
+                }
+                for (int i = outcomeFrom; i < outcomeTo; i++) {
+                    consumer.accept(outcomes.days[i], 0, outcomes.cents[i]);
+                }
+            }
+
+            @Override
+            public Map<String, long[]> sumByCategory() {
+                int size = Math.max(incomes.maxCategoryId, outcomes.maxCategoryId) + 1;
+                long[] incomeSums = new long[size];
+                long[] outcomeSums = new long[size];
+                for (int i = incomeFrom; i < incomeTo; i++) {
+                    incomeSums[incomes.categoryIds[i]] += incomes.cents[i];
+                }
+                for (int i = outcomeFrom; i < outcomeTo; i++) {
+                    outcomeSums[outcomes.categoryIds[i]] += outcomes.cents[i];
+                }
+
+                Map<String, long[]> sums = new HashMap<>();
+                for (int categoryId = 0; categoryId < size; categoryId++) {
+                    String name;
+                    if ((incomeSums[categoryId] != 0 || outcomeSums[categoryId] != 0)
+                            && (name = categoryNames.apply(categoryId)) != null) {
+                        long[] sum = sums.computeIfAbsent(name, k -> new long[2]);
+                        sum[0] += incomeSums[categoryId];
+                        sum[1] += outcomeSums[categoryId];
+                    }
+                }
+                return sums;
+            }
+        };
+    }
+
+    /**
+     * Transactions of one kind, sorted by day and ID.
+     */
+    static final class Columns {
+
+        static final Columns EMPTY = new Columns(new long[0], new int[0], new long[0], new int[0]);
+
+        private final long[] ids;
+        private final int[] days;
+        private final long[] cents;
+        private final int[] categoryIds;
+        private final int maxCategoryId;
+
+        private Columns(long[] ids, int[] days, long[] cents, int[] categoryIds) {
+            this.ids = ids;
+            this.days = days;
+            this.cents = cents;
+            this.categoryIds = categoryIds;
+            int max = 0;
+            for (int categoryId : categoryIds) {
+                max = Math.max(max, categoryId);
+            }
+            this.maxCategoryId = max;
+        }
+
+        /**
+         * Writes the row count followed by each array.
+         */
+        private void writeTo(ByteBuffer buffer) {
+            int size = ids.length;
+            buffer.putInt(size);
+            buffer.asLongBuffer().put(ids);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asIntBuffer().put(days);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.asLongBuffer().put(cents);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asIntBuffer().put(categoryIds);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+        }
+
+        private static Columns readFrom(ByteBuffer buffer) {
+            int size = buffer.getInt();
+            if (size < 0 || size * BYTES_PER_ROW > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid column count: " + size);
+            }
+            long[] ids = new long[size];
+            int[] days = new int[size];
+            long[] cents = new long[size];
+            int[] categoryIds = new int[size];
+            buffer.asLongBuffer().get(ids);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asIntBuffer().get(days);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.asLongBuffer().get(cents);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asIntBuffer().get(categoryIds);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            // Category IDs index the per-category sums and the days are binary searched, so check
+            // both here rather than failing on a later range query
+            for (int i = 0; i < size; i++) {
+                if (categoryIds[i] < 0) {
+                    throw new IllegalArgumentException("Invalid category ID: " + categoryIds[i]);
+                }
+                if (i > 0 && (days[i] < days[i - 1] || days[i] == days[i - 1] && ids[i] <= ids[i - 1])) {
+                    throw new IllegalArgumentException("Rows not sorted by day and ID at " + i);
+                }
+            }
+            return size == 0 ? EMPTY : new Columns(ids, days, cents, categoryIds);
+        }
+
+        /**
+         * Returns a copy containing the transaction with the given values, replacing the one with the same ID.
+         */
+        Columns with(long id, LocalDate date, long amountCents, long categoryId) {
+            Columns base = without(id);
+            int day = Math.toIntExact(date.toEpochDay());
+            int at = base.insertionPoint(day, id);
+            int size = base.ids.length;
+
+            long[] newIds = new long[size + 1];
+            int[] newDays = new int[size + 1];
+            long[] newCents = new long[size + 1];
+            int[] newCategoryIds = new int[size + 1];
+            copyAround(base, at, newIds, newDays, newCents, newCategoryIds);
+            newIds[at] = id;
+            newDays[at] = day;
+            newCents[at] = amountCents;
+            newCategoryIds[at] = Math.toIntExact(categoryId);
+            return new Columns(newIds, newDays, newCents, newCategoryIds);
+        }
+
+        /**
+         * Returns a copy without the transaction with the given ID, or this instance if there is none.
+         */
+        Columns without(long id) {
+            int at = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at < 0) {
+                return this;
+            }
+
+            int size = ids.length - 1;
+            long[] newIds = new long[size];
+            int[] newDays = new int[size];
+            long[] newCents = new long[size];
+            int[] newCategoryIds = new int[size];
+            System.arraycopy(ids, 0, newIds, 0, at);
+            System.arraycopy(days, 0, newDays, 0, at);
+            System.arraycopy(cents, 0, newCents, 0, at);
+            System.arraycopy(categoryIds, 0, newCategoryIds, 0, at);
+            System.arraycopy(ids, at + 1, newIds, at, size - at);
+            System.arraycopy(days, at + 1, newDays, at, size - at);
+            System.arraycopy(cents, at + 1, newCents, at, size - at);
+            System.arraycopy(categoryIds, at + 1, newCategoryIds, at, size - at);
+            return new Columns(newIds, newDays, newCents, newCategoryIds);
+        }
+
+        /**
+         * Copies all transactions into arrays one longer, leaving the slot at {@code at} free.
+         */
+        private static void copyAround(Columns base, int at, long[] ids, int[] days, long[] cents, int[] categoryIds) {
+            int tail = base.ids.length - at;
+            System.arraycopy(base.ids, 0, ids, 0, at);
+            System.arraycopy(base.days, 0, days, 0, at);
+            System.arraycopy(base.cents, 0, cents, 0, at);
+            System.arraycopy(base.categoryIds, 0, categoryIds, 0, at);
+            System.arraycopy(base.ids, at, ids, at + 1, tail);
+            System.arraycopy(base.days, at, days, at + 1, tail);
+            System.arraycopy(base.cents, at, cents, at + 1, tail);
+            System.arraycopy(base.categoryIds, at, categoryIds, at + 1, tail);
+        }
+
+        /**
+         * Finds the first transaction on or after a day.
+         */
+        private int lowerBound(long day) {
+            int low = 0;
+            int high = days.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Finds the position of a new transaction, after all earlier days and lower IDs.
+         */
+        private int insertionPoint(int day, long id) {
+            int at = lowerBound(day);
+            while (at < days.length && days[at] == day && ids[at] < id) {
+                at++;
+            }
+            return at;
+        }
+    }
+
+    /**
+     * Collects transactions read in date and ID order.
+     */
+    static final class Builder {
+
+        private long[] ids;
+        private int[] days;
+        private long[] cents;
+        private int[] categoryIds;
+        private int size;
+
+        /**
+         * Creates a builder.
+         *
+         * @param capacity expected number of transactions
+         */
+        Builder(int capacity) {
+            ids = new long[capacity];
+            days = new int[capacity];
+            cents = new long[capacity];
+            categoryIds = new int[capacity];
+        }
+
+        void add(long id, LocalDate date, long amountCents, long categoryId) {
+            if (size == ids.length) {
+                int capacity = Math.max(16, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                days = Arrays.copyOf(days, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+            }
+            ids[size] = id;
+            days[size] = Math.toIntExact(date.toEpochDay());
+            cents[size] = amountCents;
+            categoryIds[size] = Math.toIntExact(categoryId);
+            size++;
+        }
+
+        Columns build() {
+            if (size == 0) {
+                return Columns.EMPTY;
+            }
+            if (size < ids.length) {
+                ids = Arrays.copyOf(ids, size);
+                days = Arrays.copyOf(days, size);
+                cents = Arrays.copyOf(cents, size);
+                categoryIds = Arrays.copyOf(categoryIds, size);
+            }
+            return new Columns(ids, days, cents, categoryIds);
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package dev.katsiaryna.budgettracker.Budget;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import dev.katsiaryna.budgettracker.Category.Category;
+import dev.katsiaryna.budgettracker.Money;
 import dev.katsiaryna.budgettracker.User.User;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 
 /**
  * Represents a budget limit for a specific category assigned to a user.
- * Each budget entry associates a user with a category and defines a spending limit.
+ * Each budget entry associates a user with a category and defines a spending limit
+ * that applies to every period of the budget (a month, a week, or one custom date range).
  */
 @Entity
 @Table(name = "budgets")
@@ -36,9 +44,32 @@ public class Budget {
     private User user;
 
     /**
-     * The spending limit amount for the category.
+     * The spending limit for the category in cents (exposed as a decimal "limitAmount" in JSON).
      */
-    private Double limitAmount;
+    @Column(name = "limit_cents")
+    @JsonProperty("limitAmount")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private Long limitCents;
+
+    /**
+     * The period the limit applies to; budgets without one are monthly.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period")
+    private BudgetPeriod period;
+
+    /**
+     * The first day of a custom period.
+     */
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    /**
+     * The last day of a custom period.
+     */
+    @Column(name = "period_end")
+    private LocalDate periodEnd;
 
     /**
      * Default no-args constructor required by JPA.
@@ -49,14 +80,14 @@ public class Budget {
     /**
      * Constructor for creating a budget entry with user, category, and limit.
      *
-     * @param user        the user this budget belongs to
-     * @param category    the category for this budget
-     * @param limitAmount the spending limit amount
+     * @param user       the user this budget belongs to
+     * @param category   the category for this budget
+     * @param limitCents the spending limit in cents
      */
-    public Budget(User user, Category category, Double limitAmount) {
+    public Budget(User user, Category category, Long limitCents) {
         this.user = user;
         this.category = category;
-        this.limitAmount = limitAmount;
+        this.limitCents = limitCents;
     }
 
     // Getters
@@ -82,10 +113,69 @@ public class Budget {
     }
 
     /**
-     * @return the limit amount set for this budget
+     * @return the limit set for this budget in cents
+     */
+    public Long getLimitCents() {
+        return limitCents;
+    }
+
+    /**
+     * @return the period the limit applies to, monthly by default
+     */
+    public BudgetPeriod getPeriod() {
+        return period != null ? period : BudgetPeriod.MONTHLY;
+    }
+
+    /**
+     * @return the first day of a custom period, or null for monthly and weekly budgets
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * @return the last day of a custom period, or null for monthly and weekly budgets
      */
-    public Double getLimitAmount() {
-        return limitAmount;
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    /**
+     * Finds the period an outcome on the given day is counted in.
+     *
+     * @param day the day of the outcome
+     * @return the first day of the period, or null if the day lies outside a custom period
+     */
+    public LocalDate periodStartOf(LocalDate day) {
+        return switch (getPeriod()) {
+            case MONTHLY -> day.withDayOfMonth(1);
+            case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case CUSTOM -> day.isBefore(periodStart) || day.isAfter(periodEnd) ? null : periodStart;
+        };
+    }
+
+    /**
+     * Finds the period shown for the given day: the period containing it, or the custom period itself.
+     *
+     * @param day the reference day, usually today
+     * @return the first day of the period
+     */
+    public LocalDate currentPeriodStart(LocalDate day) {
+        return getPeriod() == BudgetPeriod.CUSTOM ? periodStart : periodStartOf(day);
+    }
+
+    /**
+     * Finds the last day of a period.
+     *
+     * @param start the first day of the period
+     * @return the last day of the period
+     */
+    public LocalDate periodEndOf(LocalDate start) {
+        return switch (getPeriod()) {
+            case MONTHLY -> start.plusMonths(1).minusDays(1);
+            case WEEKLY -> start.plusDays(6);
+            case CUSTOM -> periodEnd;
+        };
     }
 
     // Setters
@@ -111,9 +201,32 @@ public class Budget {
     }
 
     /**
-     * @param limitAmount the limit amount to set for this budget
+     * @param limitCents the limit in cents to set for this budget
+     */
+    public void setLimitCents(Long limitCents) {
+        this.limitCents = limitCents;
+    }
+
+    /**
+     * Sets the period the limit applies to.
+     *
+     * @param period      the period, monthly if null
+     * @param periodStart the first day of a custom period, ignored otherwise
+     * @param periodEnd   the last day of a custom period, ignored otherwise
+     * @throws IllegalArgumentException if a custom period has no valid date range
      */
-    public void setLimitAmount(Double limitAmount) {
-        this.limitAmount = limitAmount;
+    public void setPeriod(BudgetPeriod period, LocalDate periodStart, LocalDate periodEnd) {
+        BudgetPeriod value = period != null ? period : BudgetPeriod.MONTHLY;
+        if (value == BudgetPeriod.CUSTOM) {
+            if (periodStart == null || periodEnd == null || periodEnd.isBefore(periodStart)) {
+                throw new IllegalArgumentException("A custom budget period needs a start date on or before its end date");
+            }
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+        } else {
+            this.periodStart = null;
+            this.periodEnd = null;
+        }
+        this.period = value;
     }
 }
\ No newline at end of file
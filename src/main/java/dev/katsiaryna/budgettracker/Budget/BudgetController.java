@@ -1,10 +1,14 @@
 package dev.katsiaryna.budgettracker.Budget;
 
+import dev.katsiaryna.budgettracker.Money;
 import dev.katsiaryna.budgettracker.User.UserRepository;
 import dev.katsiaryna.budgettracker.User.User;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
@@ -21,7 +25,7 @@ public class BudgetController {
     /**
      * Constructor for dependency injection.
      *
-     * @param budgetService the service to manage budget operations
+     * @param budgetService  the service to manage budget operations
      * @param userRepository repository to fetch user data
      */
     public BudgetController(BudgetService budgetService, UserRepository userRepository) {
@@ -44,22 +48,28 @@ public class BudgetController {
      * Retrieves the total budget limit assigned to a user.
      *
      * @param userId the ID of the user
-     * @return the total budget limit as a Double
+     * @return the total budget limit as a decimal amount
      */
     @GetMapping("/total-limit/{userId}")
-    public ResponseEntity<Double> getTotalLimit(@PathVariable Long userId) {
-        return ResponseEntity.ok(budgetService.getTotalLimitForUser(userId));
+    public ResponseEntity<BigDecimal> getTotalLimit(@PathVariable Long userId) {
+        return ResponseEntity.ok(Money.toDecimal(budgetService.getTotalLimitForUser(userId)));
     }
 
     /**
      * Sets or updates a category-specific budget limit for a user.
      *
-     * @param request the budget request containing userId, categoryId, and limitAmount
-     * @return success message
+     * @param request the budget request containing userId, categoryId, limitAmount and optionally
+     *                the period (MONTHLY, WEEKLY or CUSTOM with periodStart and periodEnd)
+     * @return success message, or 400 Bad Request if a custom period has no valid date range
      */
     @PostMapping("/set-category-limit")
    public ResponseEntity<String> setCategoryLimit(@RequestBody BudgetRequest request) {
-        budgetService.setCategoryLimit(request.getUserId(), request.getCategoryId(), request.getLimitAmount());
+        try {
+            budgetService.setCategoryLimit(request.getUserId(), request.getCategoryId(), request.getLimitCents(),
+                    request.getPeriod(), request.getPeriodStart(), request.getPeriodEnd());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
         return ResponseEntity.ok("Category limit set successfully.");
    }
 
@@ -76,20 +86,25 @@ public class BudgetController {
     }
 
     /**
-     * Updates the limit amount for an existing budget.
+     * Updates the limit amount for an existing budget, and its period if one is given.
      *
-     * @param id the ID of the budget to update
-     * @param request the request containing the new limit amount
-     * @return success message
+     * @param id      the ID of the budget to update
+     * @param request the request containing the new limit amount and optionally the new period
+     * @return success message, or 400 Bad Request if a custom period has no valid date range
      */
     @PutMapping("/update/{id}")
     public ResponseEntity<String> updateCategoryLimit(@PathVariable Long id, @RequestBody BudgetRequest request) {
-        budgetService.updateLimitAmount(id, request.getLimitAmount());
+        try {
+            budgetService.updateLimitAmount(id, request.getLimitCents(),
+                    request.getPeriod(), request.getPeriodStart(), request.getPeriodEnd());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
         return ResponseEntity.ok("Budget updated successfully");
     }
 
     /**
-     * Retrieves a list of warning messages for categories where spending is nearing the limit.
+     * Retrieves a list of warning messages for categories where spending in the current period is nearing the limit.
      *
      * @param userId the ID of the user
      * @return a list of category warnings
@@ -102,17 +117,22 @@ public class BudgetController {
 
     /**
      * Retrieves budgets with their associated spending amounts.
-     * Used to show how much of the budget has been spent per category.
+     * Used to show how much of the budget has been spent per category in its period.
      *
      * @param userId the ID of the user
-     * @return a list of budgets with spent values
+     * @param date   optional day whose budget periods are shown (yyyy-MM-dd), today if not given
+     * @return a list of budgets with spent values, or 400 Bad Request if the date is malformed
      */
     @GetMapping("/user-with-spent/{userId}")
     public ResponseEntity<List<BudgetWithSpentDto>> getBudgetsWithSpent(
             @PathVariable Long userId,
-            @RequestParam String from,
-            @RequestParam String to) {
-        return ResponseEntity.ok(budgetService.getBudgetsWithSpent(userId, from, to));
+            @RequestParam(required = false) String date) {
+        try {
+            LocalDate day = date != null ? LocalDate.parse(date) : LocalDate.now();
+            return ResponseEntity.ok(budgetService.getBudgetsWithSpent(userId, day));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package dev.katsiaryna.budgettracker.Budget;
+
+/**
+ * The period a budget limit applies to; spending is counted separately for every period.
+ */
+public enum BudgetPeriod {
+
+    /** Calendar months, starting on the first day of the month */
+    MONTHLY,
+
+    /** ISO weeks, starting on Monday */
+    WEEKLY,
+
+    /** A single fixed date range given by the budget's period start and end */
+    CUSTOM
+}
@@ -0,0 +1,72 @@
+package dev.katsiaryna.budgettracker.Budget;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Entity holding the amount spent in the category of one budget during one of its periods.
+ * <p>
+ * Rows are maintained by {@link BudgetPeriodSpendService} whenever an outcome is added,
+ * updated or deleted, so budget warnings and spent amounts read a single row per budget
+ * instead of summing outcomes.
+ */
+@Entity
+@Table(name = "budget_period_spend",
+        indexes = @Index(name = "ux_budget_period_spend_budget_period",
+                columnList = "budget_id, period_start", unique = true))
+public class BudgetPeriodSpend {
+
+    /** Unique identifier for the counter row */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long spendId;
+
+    /** The budget the period belongs to */
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+
+    /** The first day of the period */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    /** Sum of the outcomes in the period, in cents (positive) */
+    @Column(name = "spent_cents", nullable = false)
+    private Long spentCents;
+
+    /** Number of outcomes counted in this row */
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public BudgetPeriodSpend() {
+    }
+
+    //Getters
+    /** @return the ID of the counter row */
+    public Long getSpendId() {
+        return spendId;
+    }
+
+    /** @return the ID of the budget */
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    /** @return the first day of the period */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /** @return the amount spent in the period, in cents */
+    public Long getSpentCents() {
+        return spentCents;
+    }
+
+    /** @return the number of outcomes in the period */
+    public Long getTxCount() {
+        return txCount;
+    }
+}
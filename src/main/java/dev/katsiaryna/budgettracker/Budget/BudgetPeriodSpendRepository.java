@@ -0,0 +1,80 @@
+package dev.katsiaryna.budgettracker.Budget;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for reading and maintaining {@link BudgetPeriodSpend} rows.
+ */
+public interface BudgetPeriodSpendRepository extends JpaRepository<BudgetPeriodSpend, Long> {
+
+    /**
+     * Adds the given deltas to the counter of a budget period, creating the row if it does not exist yet.
+     * Relies on the unique index created by the {@code V5__add_budget_periods.sql} migration.
+     *
+     * @param budgetId    the ID of the budget
+     * @param periodStart the first day of the period
+     * @param spentCents  the spent delta in cents
+     * @param txCount     the outcome count delta
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO budget_period_spend (budget_id, period_start, spent_cents, tx_count)
+    VALUES (:budgetId, :periodStart, :spentCents, :txCount)
+    ON CONFLICT (budget_id, period_start) DO UPDATE SET
+        spent_cents = spent_cents + excluded.spent_cents,
+        tx_count = tx_count + excluded.tx_count
+""", nativeQuery = true)
+    void upsert(@Param("budgetId") Long budgetId,
+                @Param("periodStart") LocalDate periodStart,
+                @Param("spentCents") long spentCents,
+                @Param("txCount") long txCount);
+
+    /**
+     * Removes the counter of a budget period once no outcomes are left in it.
+     *
+     * @param budgetId    the ID of the budget
+     * @param periodStart the first day of the period
+     */
+    @Modifying
+    @Query("DELETE FROM BudgetPeriodSpend s WHERE s.budgetId = :budgetId AND s.periodStart = :periodStart AND s.txCount <= 0")
+    void deleteIfEmpty(@Param("budgetId") Long budgetId, @Param("periodStart") LocalDate periodStart);
+
+    /**
+     * Removes every counter of a budget.
+     *
+     * @param budgetId the ID of the budget
+     */
+    @Modifying
+    @Query("DELETE FROM BudgetPeriodSpend s WHERE s.budgetId = :budgetId")
+    void deleteByBudgetId(@Param("budgetId") Long budgetId);
+
+    /**
+     * Finds the counter of one budget period.
+     *
+     * @param budgetId    the ID of the budget
+     * @param periodStart the first day of the period
+     * @return the counter row, empty if no outcome was counted in the period
+     */
+    Optional<BudgetPeriodSpend> findByBudgetIdAndPeriodStart(Long budgetId, LocalDate periodStart);
+
+    /**
+     * Finds the counters of several budgets for the given period starts in a single read.
+     * The result may contain combinations that were not asked for, e.g. a weekly period start
+     * matching a monthly budget; callers pick the row of each budget's own period.
+     *
+     * @param budgetIds    the IDs of the budgets
+     * @param periodStarts the first days of the periods
+     * @return the matching counter rows
+     */
+    @Query("SELECT s FROM BudgetPeriodSpend s WHERE s.budgetId IN :budgetIds AND s.periodStart IN :periodStarts")
+    List<BudgetPeriodSpend> findByBudgetIdsAndPeriodStarts(@Param("budgetIds") Collection<Long> budgetIds,
+                                                           @Param("periodStarts") Collection<LocalDate> periodStarts);
+}
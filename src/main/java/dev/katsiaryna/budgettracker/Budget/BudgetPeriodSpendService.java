@@ -0,0 +1,178 @@
+package dev.katsiaryna.budgettracker.Budget;
+
+import dev.katsiaryna.budgettracker.Dashboard.DashboardEvents;
+import dev.katsiaryna.budgettracker.Money;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service that keeps the {@code budget_period_spend} table in sync with outcomes and budgets.
+ * <p>
+ * Outcome services call it from inside their own transactions, so an outcome and its counter
+ * delta are always committed (or rolled back) together. A delta finds the budgets of the
+ * outcome's user and category through their index and adjusts the counter of the period the
+ * outcome's day falls in. When a budget is created or its period changes, its counters are
+ * rebuilt from the outcomes of its category. While the user has a dashboard stream open, an
+ * outcome taking the spending of a budget's current period to 90% of its limit is published
+ * as a {@code budget-warning} event.
+ */
+@Service
+public class BudgetPeriodSpendService {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+    private final OutcomeRepository outcomeRepository;
+    private final DashboardEvents dashboardEvents;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param budgetRepository            the budget repository
+     * @param budgetPeriodSpendRepository the counter repository
+     * @param outcomeRepository           the outcome repository counters are rebuilt from
+     * @param dashboardEvents             the publisher of budget warnings to open dashboard streams
+     */
+    public BudgetPeriodSpendService(BudgetRepository budgetRepository,
+                                    BudgetPeriodSpendRepository budgetPeriodSpendRepository,
+                                    OutcomeRepository outcomeRepository,
+                                    DashboardEvents dashboardEvents) {
+        this.budgetRepository = budgetRepository;
+        this.budgetPeriodSpendRepository = budgetPeriodSpendRepository;
+        this.outcomeRepository = outcomeRepository;
+        this.dashboardEvents = dashboardEvents;
+    }
+
+    /**
+     * Fills the counters from existing outcomes if the table is still empty,
+     * e.g. on the first start after the table was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (budgetPeriodSpendRepository.count() == 0) {
+            budgetRepository.findAll().forEach(this::rebuild);
+        }
+    }
+
+    /**
+     * Adds an outcome to the period counters of the budgets of its category.
+     *
+     * @param userId      the user ID
+     * @param categoryId  the category ID
+     * @param day         the date of the outcome
+     * @param amountCents the outcome amount in cents (negative, as stored)
+     */
+    @Transactional
+    public void addOutcome(Long userId, Long categoryId, LocalDate day, long amountCents) {
+        apply(userId, categoryId, day, Math.abs(amountCents), 1);
+    }
+
+    /**
+     * Removes an outcome from the period counters of the budgets of its category.
+     *
+     * @param userId      the user ID
+     * @param categoryId  the category ID
+     * @param day         the date of the outcome
+     * @param amountCents the outcome amount in cents (negative, as stored)
+     */
+    @Transactional
+    public void removeOutcome(Long userId, Long categoryId, LocalDate day, long amountCents) {
+        apply(userId, categoryId, day, -Math.abs(amountCents), -1);
+    }
+
+    /**
+     * Adds several outcomes of the same category and day at once, e.g. from a bulk import.
+     *
+     * @param userId      the user ID
+     * @param categoryId  the category ID
+     * @param day         the date of the outcomes
+     * @param amountCents the sum of the added outcomes in cents (negative, as stored)
+     * @param count       the number of added outcomes
+     */
+    @Transactional
+    public void addOutcomes(Long userId, Long categoryId, LocalDate day, long amountCents, long count) {
+        apply(userId, categoryId, day, Math.abs(amountCents), count);
+    }
+
+    /**
+     * Recomputes every period counter of a budget from the outcomes of its category,
+     * e.g. after the budget was created or its period changed.
+     *
+     * @param budget the budget
+     */
+    @Transactional
+    public void rebuild(Budget budget) {
+        budgetPeriodSpendRepository.deleteByBudgetId(budget.getBudgetId());
+        if (budget.getUser() == null || budget.getCategory() == null) {
+            return;
+        }
+
+        // One counter update per period instead of one per day
+        Map<LocalDate, long[]> periods = new HashMap<>();
+        for (Object[] row : outcomeRepository.sumByDayForUserIdAndCategoryId(budget.getUser().getId(),
+                budget.getCategory().getCategory_id())) {
+            LocalDate start = budget.periodStartOf((LocalDate) row[0]);
+            if (start != null) {
+                long[] total = periods.computeIfAbsent(start, k -> new long[2]);
+                total[0] += ((Number) row[1]).longValue();
+                total[1] += ((Number) row[2]).longValue();
+            }
+        }
+        periods.forEach((start, total) -> budgetPeriodSpendRepository.upsert(budget.getBudgetId(), start,
+                total[0], total[1]));
+    }
+
+    /**
+     * Removes the counters of a deleted budget.
+     *
+     * @param budgetId the budget ID
+     */
+    @Transactional
+    public void deleteBudget(Long budgetId) {
+        budgetPeriodSpendRepository.deleteByBudgetId(budgetId);
+    }
+
+    /**
+     * Applies a delta to the counter of every budget period the day falls in
+     * and drops a counter once it no longer covers any outcome.
+     */
+    private void apply(Long userId, Long categoryId, LocalDate day, long spentCents, long count) {
+        for (Budget budget : budgetRepository.findByUserIdAndCategoryId(userId, categoryId)) {
+            LocalDate start = budget.periodStartOf(day);
+            if (start != null) {
+                budgetPeriodSpendRepository.upsert(budget.getBudgetId(), start, spentCents, count);
+                if (count < 0) {
+                    budgetPeriodSpendRepository.deleteIfEmpty(budget.getBudgetId(), start);
+                } else if (spentCents > 0 && dashboardEvents.hasSubscribers(userId)) {
+                    publishIfCrossed(budget, start, spentCents);
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes a budget warning if the delta took the spending of the budget's current period to 90% of its limit.
+     */
+    private void publishIfCrossed(Budget budget, LocalDate start, long spentCents) {
+        if (!start.equals(budget.currentPeriodStart(LocalDate.now()))) {
+            return;
+        }
+        long limit = budget.getLimitCents() != null ? budget.getLimitCents() : 0;
+        budgetPeriodSpendRepository.findByBudgetIdAndPeriodStart(budget.getBudgetId(), start).ifPresent(row -> {
+            long after = row.getSpentCents();
+            long before = after - spentCents;
+            if (before * 10 < limit * 9 && after * 10 >= limit * 9) {
+                dashboardEvents.budgetWarning(budget.getUser().getId(), new DashboardEvents.BudgetWarningEvent(
+                        budget.getBudgetId(), budget.getCategory().getCategory(), start, budget.periodEndOf(start),
+                        Money.toDecimal(after), Money.toDecimal(limit)));
+            }
+        });
+    }
+}
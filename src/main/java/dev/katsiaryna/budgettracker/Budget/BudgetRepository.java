@@ -21,12 +21,31 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUserId(Long userId);
 
     /**
-     * Retrieves budget entries for a specific user and category combination.
+     * Sums all category limits for a user directly in the database.
+     *
+     * @param userId the ID of the user
+     * @return the total limit in cents, or 0 if the user has no budgets
+     */
+    @Query("SELECT COALESCE(SUM(b.limitCents), 0) FROM Budget b WHERE b.user.id = :userId")
+    long sumLimitCentsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retrieves budget entries for a specific user and category combination,
+     * with their user and category in the same read.
      *
      * @param userId     the ID of the user
      * @param categoryId the ID of the category
      * @return a list of budgets matching the user and category
      */
-    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.category.category_id = :categoryId")
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user u JOIN FETCH b.category c WHERE u.id = :userId AND c.category_id = :categoryId")
     List<Budget> findByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    /**
+     * Retrieves every budget of a user that has a category, with the category in the same read.
+     *
+     * @param userId the ID of the user
+     * @return a list of budgets, ordered by ID
+     */
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user u JOIN FETCH b.category c WHERE u.id = :userId ORDER BY b.budgetId")
+    List<Budget> findWithCategoryByUserId(@Param("userId") Long userId);
 }
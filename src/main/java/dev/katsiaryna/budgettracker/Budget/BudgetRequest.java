@@ -1,5 +1,11 @@
 package dev.katsiaryna.budgettracker.Budget;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.katsiaryna.budgettracker.Money;
+
+import java.time.LocalDate;
+
 /**
  * Data Transfer Object (DTO) for handling budget-related requests.
  * This class carries data for setting or updating budget limits
@@ -18,9 +24,26 @@ public class BudgetRequest {
     private Long categoryId;
 
     /**
-     * The limit amount for the budget.
+     * The limit amount for the budget in cents, sent as a decimal "limitAmount".
+     */
+    @JsonProperty("limitAmount")
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private Long limitCents;
+
+    /**
+     * The period the limit applies to, monthly if not given.
+     */
+    private BudgetPeriod period;
+
+    /**
+     * The first day of a custom period.
+     */
+    private LocalDate periodStart;
+
+    /**
+     * The last day of a custom period.
      */
-    private Double limitAmount;
+    private LocalDate periodEnd;
 
     /**
      * Default constructor for deserialization.
@@ -28,14 +51,14 @@ public class BudgetRequest {
     public BudgetRequest() {}
 
     /**
-     * Constructor with userId and limitAmount.
+     * Constructor with userId and limit.
      *
-     * @param userId the ID of the user
-     * @param limitAmount the amount to set as the budget limit
+     * @param userId     the ID of the user
+     * @param limitCents the amount in cents to set as the budget limit
      */
-    public BudgetRequest(Long userId, Double limitAmount) {
+    public BudgetRequest(Long userId, Long limitCents) {
         this.userId = userId;
-        this.limitAmount = limitAmount;
+        this.limitCents = limitCents;
     }
 
     // Getters
@@ -61,12 +84,39 @@ public class BudgetRequest {
     /**
      * Gets the limit amount.
      *
-     * @return limitAmount
+     * @return limitCents
      */
-    public Double getLimitAmount() {
-        return limitAmount;
+    public Long getLimitCents() {
+        return limitCents;
         }
 
+    /**
+     * Gets the budget period.
+     *
+     * @return period, or null if not given
+     */
+    public BudgetPeriod getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the first day of a custom period.
+     *
+     * @return periodStart
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Gets the last day of a custom period.
+     *
+     * @return periodEnd
+     */
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
     // Setters
     /**
      * Sets the user ID.
@@ -89,9 +139,36 @@ public class BudgetRequest {
     /**
      * Sets the limit amount.
      *
-     * @param limitAmount the budget limit to set
+     * @param limitCents the budget limit to set, in cents
      */
-    public void setLimitAmount(Double limitAmount) {
-        this.limitAmount = limitAmount;
+    public void setLimitCents(Long limitCents) {
+        this.limitCents = limitCents;
         }
+
+    /**
+     * Sets the budget period.
+     *
+     * @param period the period the limit applies to
+     */
+    public void setPeriod(BudgetPeriod period) {
+        this.period = period;
+    }
+
+    /**
+     * Sets the first day of a custom period.
+     *
+     * @param periodStart the first day
+     */
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    /**
+     * Sets the last day of a custom period.
+     *
+     * @param periodEnd the last day
+     */
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
     }
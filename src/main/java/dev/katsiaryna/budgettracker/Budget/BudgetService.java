@@ -1,34 +1,56 @@
 package dev.katsiaryna.budgettracker.Budget;
 
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsCache;
 import dev.katsiaryna.budgettracker.Category.Category;
-import dev.katsiaryna.budgettracker.Outcome.OutcomeRepository;
+import dev.katsiaryna.budgettracker.Dashboard.DashboardEvents;
 import dev.katsiaryna.budgettracker.User.User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service class responsible for managing budget-related logic,
  * such as setting category limits, calculating total limits,
  * generating warnings, and fetching budget summaries.
+ * <p>
+ * Spending is compared per budget period: warnings and spent amounts read the
+ * {@code budget_period_spend} counter of each budget's current period, maintained by
+ * {@link BudgetPeriodSpendService}, instead of summing outcomes.
  */
 @Service
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final OutcomeRepository outcomeRepository;
+    private final BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+    private final BudgetPeriodSpendService budgetPeriodSpendService;
+    private final AnalyticsCache analyticsCache;
+    private final DashboardEvents dashboardEvents;
 
     /**
      * Constructor injection for dependencies.
      *
-     * @param budgetRepository the budget repository
-     * @param outcomeRepository the outcome repository
+     * @param budgetRepository            the budget repository
+     * @param budgetPeriodSpendRepository the repository of the spent counters
+     * @param budgetPeriodSpendService    the service maintaining the spent counters
+     * @param analyticsCache              the dashboard cache invalidated on budget changes
+     * @param dashboardEvents             the publisher of budget changes to open dashboard streams
      */
-    public BudgetService(BudgetRepository budgetRepository, OutcomeRepository outcomeRepository) {
+    public BudgetService(BudgetRepository budgetRepository,
+                         BudgetPeriodSpendRepository budgetPeriodSpendRepository,
+                         BudgetPeriodSpendService budgetPeriodSpendService,
+                         AnalyticsCache analyticsCache,
+                         DashboardEvents dashboardEvents) {
         this.budgetRepository = budgetRepository;
-        this.outcomeRepository = outcomeRepository;
+        this.budgetPeriodSpendRepository = budgetPeriodSpendRepository;
+        this.budgetPeriodSpendService = budgetPeriodSpendService;
+        this.analyticsCache = analyticsCache;
+        this.dashboardEvents = dashboardEvents;
     }
 
     /**
@@ -45,12 +67,10 @@ public class BudgetService {
      * Calculates the total budget limit for a user by summing all their category limits.
      *
      * @param userId the user's ID
-     * @return total budget limit
+     * @return total budget limit in cents
      */
-    public double getTotalLimitForUser(Long userId) {
-        return budgetRepository.findByUserId(userId).stream()
-                .mapToDouble(Budget::getLimitAmount)
-                .sum();
+    public long getTotalLimitForUser(Long userId) {
+        return budgetRepository.sumLimitCentsByUserId(userId);
     }
 
     /**
@@ -59,30 +79,50 @@ public class BudgetService {
      * @param budget the budget to save
      * @return the saved budget
      */
+    @Transactional
     public Budget addBudget(Budget budget) {
-        return budgetRepository.save(budget);
+        Budget saved = budgetRepository.save(budget);
+        budgetPeriodSpendService.rebuild(saved);
+        if (saved.getUser() != null) {
+            analyticsCache.evictUser(saved.getUser().getId());
+            dashboardEvents.budgetChanged(saved.getUser().getId(), "saved", saved.getBudgetId());
+        }
+        return saved;
     }
 
     /**
      * Creates or updates a budget limit for a specific user and category.
+     * The spent counters are rebuilt when the budget is new or its period changes.
      *
-     * @param userId       the user's ID
-     * @param categoryId   the category's ID
-     * @param limitAmount  the limit to set
+     * @param userId      the user's ID
+     * @param categoryId  the category's ID
+     * @param limitCents  the limit to set, in cents
+     * @param period      the period the limit applies to, monthly if null
+     * @param periodStart the first day of a custom period
+     * @param periodEnd   the last day of a custom period
+     * @throws IllegalArgumentException if a custom period has no valid date range
      */
-    public void setCategoryLimit(Long userId, Long categoryId, Double limitAmount) {
+    @Transactional
+    public void setCategoryLimit(Long userId, Long categoryId, Long limitCents,
+                                 BudgetPeriod period, LocalDate periodStart, LocalDate periodEnd) {
         List<Budget> existing = budgetRepository.findByUserIdAndCategoryId(userId, categoryId);
+        Budget saved;
         if (!existing.isEmpty()) {
             Budget budget = existing.get(0);
-            budget.setLimitAmount(limitAmount);
-            budgetRepository.save(budget);
+            budget.setLimitCents(limitCents);
+            updatePeriod(budget, period, periodStart, periodEnd);
+            saved = budgetRepository.save(budget);
         } else {
             Budget newBudget = new Budget();
             newBudget.setUser(new User(userId));
             newBudget.setCategory(new Category(categoryId));
-            newBudget.setLimitAmount(limitAmount);
-            budgetRepository.save(newBudget);
+            newBudget.setLimitCents(limitCents);
+            newBudget.setPeriod(period, periodStart, periodEnd);
+            saved = budgetRepository.save(newBudget);
+            budgetPeriodSpendService.rebuild(saved);
         }
+        analyticsCache.evictUser(userId);
+        dashboardEvents.budgetChanged(userId, "saved", saved.getBudgetId());
     }
 
     /**
@@ -90,69 +130,116 @@ public class BudgetService {
      *
      * @param id the budget ID
      */
+    @Transactional
     public void deleteBudget(Long id) {
-        budgetRepository.deleteById(id);
+        budgetRepository.findById(id).ifPresent(budget -> {
+            budgetRepository.delete(budget);
+            budgetPeriodSpendService.deleteBudget(id);
+            if (budget.getUser() != null) {
+                analyticsCache.evictUser(budget.getUser().getId());
+                dashboardEvents.budgetChanged(budget.getUser().getId(), "deleted", id);
+            }
+        });
     }
 
     /**
-     * Updates the limit amount of a budget entry by ID.
+     * Updates the limit amount of a budget entry by ID, and its period if one is given.
      *
-     * @param id        the budget ID
-     * @param newLimit  the new limit to set
+     * @param id          the budget ID
+     * @param newLimit    the new limit to set, in cents
+     * @param period      the new period, or null to keep the current one
+     * @param periodStart the first day of a custom period
+     * @param periodEnd   the last day of a custom period
+     * @throws IllegalArgumentException if a custom period has no valid date range
      */
-    public void updateLimitAmount(Long id, Double newLimit) {
+    @Transactional
+    public void updateLimitAmount(Long id, Long newLimit, BudgetPeriod period, LocalDate periodStart, LocalDate periodEnd) {
         Budget budget = budgetRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
-        budget.setLimitAmount(newLimit);
+        budget.setLimitCents(newLimit);
+        updatePeriod(budget, period, periodStart, periodEnd);
         budgetRepository.save(budget);
+        if (budget.getUser() != null) {
+            analyticsCache.evictUser(budget.getUser().getId());
+            dashboardEvents.budgetChanged(budget.getUser().getId(), "saved", id);
+        }
     }
 
     /**
-     * Returns a list of category warnings where spending exceeds 90% of the limit.
+     * Returns a list of category warnings where spending in the current period reaches 90% of the limit.
+     * The threshold is compared in whole cents, without rounding. The result is cached per user and day.
      *
      * @param userId the user's ID
      * @return list of warnings with category name, spent amount, and limit
      */
     public List<CategoryWarningDto> getCategoryWarnings(Long userId) {
-        List<Budget> budgets = budgetRepository.findByUserId(userId);
-        List<CategoryWarningDto> warnings = new ArrayList<>();
-
-        for (Budget budget : budgets) {
-            Category category = budget.getCategory();
-            double limit = budget.getLimitAmount();
-            double spent = outcomeRepository.sumByUserIdAndCategoryId(userId, category.getCategory_id());
-
-            if (spent >= 0.9 * limit) {
-                warnings.add(new CategoryWarningDto(category.getCategory(), spent, limit));
-            }
-        }
-
-        return warnings;
+        LocalDate today = LocalDate.now();
+        return analyticsCache.get(userId, "budget-warnings", today.toString(),
+                () -> spentInPeriods(userId, today).stream()
+                        .filter(budget -> budget.getSpentCents() * 10 >= budget.getLimitCents() * 9)
+                        .map(budget -> new CategoryWarningDto(budget.getCategory(), budget.getSpentCents(),
+                                budget.getLimitCents()))
+                        .toList());
     }
 
     /**
-     * Retrieves all budget entries for a user with the corresponding spent amounts.
+     * Retrieves all budget entries for a user with the amount spent in the budget period containing a day
+     * (for custom periods, the custom period itself). The result is cached per user and day.
      *
      * @param userId the user's ID
+     * @param date   the day whose periods are shown, e.g. today
      * @return list of budgets with actual spent values
      */
-    public List<BudgetWithSpentDto> getBudgetsWithSpent(Long userId, String from, String to) {
-        LocalDate start = LocalDate.parse(from);
-        LocalDate end = LocalDate.parse(to);
-        List<Budget> budgets = budgetRepository.findByUserId(userId);
-        List<BudgetWithSpentDto> result = new ArrayList<>();
+    public List<BudgetWithSpentDto> getBudgetsWithSpent(Long userId, LocalDate date) {
+        return analyticsCache.get(userId, "budgets-with-spent", date.toString(),
+                () -> spentInPeriods(userId, date));
+    }
+
+    /**
+     * Reads the budgets of a user and the spent counter of each budget's period in two queries.
+     */
+    private List<BudgetWithSpentDto> spentInPeriods(Long userId, LocalDate date) {
+        List<Budget> budgets = budgetRepository.findWithCategoryByUserId(userId);
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
 
+        Map<Long, LocalDate> periodStarts = new HashMap<>();
         for (Budget budget : budgets) {
-            if (budget.getCategory() == null) continue;
-            String categoryName = budget.getCategory().getCategory();
-            double limit = budget.getLimitAmount();
-            double spent = outcomeRepository.sumByUserAndCategoryBetweenDates(userId, budget.getCategory().getCategory_id(), start, end);
+            periodStarts.put(budget.getBudgetId(), budget.currentPeriodStart(date));
+        }
+        Map<Long, Long> spent = new HashMap<>();
+        for (BudgetPeriodSpend row : budgetPeriodSpendRepository.findByBudgetIdsAndPeriodStarts(
+                periodStarts.keySet(), new HashSet<>(periodStarts.values()))) {
+            if (row.getPeriodStart().equals(periodStarts.get(row.getBudgetId()))) {
+                spent.put(row.getBudgetId(), row.getSpentCents());
+            }
+        }
 
+        return budgets.stream().map(budget -> {
+            LocalDate start = periodStarts.get(budget.getBudgetId());
+            return new BudgetWithSpentDto(budget.getCategory().getCategory(),
+                    budget.getLimitCents() != null ? budget.getLimitCents() : 0,
+                    spent.getOrDefault(budget.getBudgetId(), 0L),
+                    budget.getPeriod(), start, budget.periodEndOf(start));
+        }).toList();
+    }
 
-            result.add(new BudgetWithSpentDto(categoryName, limit, spent));
+    /**
+     * Changes the period of a budget if a different one is given and rebuilds its spent counters.
+     */
+    private void updatePeriod(Budget budget, BudgetPeriod period, LocalDate periodStart, LocalDate periodEnd) {
+        if (period == null) {
+            return;
+        }
+        BudgetPeriod oldPeriod = budget.getPeriod();
+        LocalDate oldStart = budget.getPeriodStart();
+        LocalDate oldEnd = budget.getPeriodEnd();
+        budget.setPeriod(period, periodStart, periodEnd);
+        if (budget.getPeriod() != oldPeriod || !Objects.equals(budget.getPeriodStart(), oldStart)
+                || !Objects.equals(budget.getPeriodEnd(), oldEnd)) {
+            budgetPeriodSpendService.rebuild(budget);
         }
-
-        return result;
     }
 
 }
@@ -1,31 +1,58 @@
 package dev.katsiaryna.budgettracker.Budget;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.katsiaryna.budgettracker.Money;
+
+import java.time.LocalDate;
+
 /**
  * Data Transfer Object (DTO) representing a budget category
- * with its limit and the amount already spent.
+ * with its limit and the amount already spent in one budget period, both in cents
+ * (written as decimal "limit" and "spent" in JSON).
  */
 public class BudgetWithSpentDto {
 
     /** Name of the category (e.g., Food, Travel, etc.) */
     private String category;
 
-    /** Budget limit set for this category */
-    private double limit;
+    /** Budget limit set for this category, in cents */
+    @JsonProperty("limit")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    private long limitCents;
+
+    /** Amount already spent in this category, in cents */
+    @JsonProperty("spent")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    private long spentCents;
+
+    /** The period the limit applies to */
+    private BudgetPeriod period;
+
+    /** First day of the period the amount was spent in */
+    private LocalDate periodStart;
 
-    /** Amount already spent in this category */
-    private double spent;
+    /** Last day of the period the amount was spent in */
+    private LocalDate periodEnd;
 
     /**
      * Constructor to initialize all fields.
      *
-     * @param category the name of the category
-     * @param limit the budget limit for this category
-     * @param spent the amount spent so far
+     * @param category    the name of the category
+     * @param limitCents  the budget limit for this category, in cents
+     * @param spentCents  the amount spent in the period, in cents
+     * @param period      the period the limit applies to
+     * @param periodStart the first day of the period
+     * @param periodEnd   the last day of the period
      */
-    public BudgetWithSpentDto(String category, double limit, double spent) {
+    public BudgetWithSpentDto(String category, long limitCents, long spentCents,
+                              BudgetPeriod period, LocalDate periodStart, LocalDate periodEnd) {
         this.category = category;
-        this.limit = limit;
-        this.spent = spent;
+        this.limitCents = limitCents;
+        this.spentCents = spentCents;
+        this.period = period;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
     }
 
     // Getters
@@ -41,18 +68,45 @@ public class BudgetWithSpentDto {
     /**
      * Gets the budget limit for the category.
      *
-     * @return budget limit
+     * @return budget limit in cents
      */
-    public double getLimit() {
-        return limit;
+    public long getLimitCents() {
+        return limitCents;
     }
 
     /**
      * Gets the amount spent in the category.
      *
-     * @return amount spent
+     * @return amount spent in cents
+     */
+    public long getSpentCents() {
+        return spentCents;
+    }
+
+    /**
+     * Gets the period the limit applies to.
+     *
+     * @return budget period
+     */
+    public BudgetPeriod getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the first day of the period.
+     *
+     * @return period start
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Gets the last day of the period.
+     *
+     * @return period end
      */
-    public double getSpent() {
-        return spent;
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
     }
 }
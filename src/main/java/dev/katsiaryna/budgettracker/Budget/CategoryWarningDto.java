@@ -1,14 +1,23 @@
 package dev.katsiaryna.budgettracker.Budget;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.katsiaryna.budgettracker.Money;
+
 /**
  * Data Transfer Object (DTO) representing a warning when spending
  * reaches or exceeds a certain percentage of the budget limit.
+ * Amounts are kept in cents and written as decimal "spent" and "limitAmount" in JSON.
  */
 public class CategoryWarningDto {
 
     private String categoryName;
-    private double spent;
-    private double limitAmount;
+    @JsonProperty("spent")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    private long spentCents;
+    @JsonProperty("limitAmount")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    private long limitCents;
     private double percentUsed;
 
     /**
@@ -17,14 +26,14 @@ public class CategoryWarningDto {
      * Calculates the percentage used automatically.
      *
      * @param categoryName the name of the category
-     * @param spent the amount spent
-     * @param limitAmount the budget limit for this category
+     * @param spentCents   the amount spent, in cents
+     * @param limitCents   the budget limit for this category, in cents
      */
-    public CategoryWarningDto(String categoryName, double spent, double limitAmount) {
+    public CategoryWarningDto(String categoryName, long spentCents, long limitCents) {
         this.categoryName = categoryName;
-        this.spent = spent;
-        this.limitAmount = limitAmount;
-        this.percentUsed = (limitAmount > 0) ? (spent / limitAmount) * 100 : 0;
+        this.spentCents = spentCents;
+        this.limitCents = limitCents;
+        this.percentUsed = (limitCents > 0) ? spentCents * 100.0 / limitCents : 0;
     }
 
     // Getters
@@ -33,14 +42,14 @@ public class CategoryWarningDto {
         return categoryName;
     }
 
-    /** @return the amount spent */
-    public double getSpent() {
-        return spent;
+    /** @return the amount spent, in cents */
+    public long getSpentCents() {
+        return spentCents;
     }
 
-    /** @return the budget limit */
-    public double getLimitAmount() {
-        return limitAmount;
+    /** @return the budget limit, in cents */
+    public long getLimitCents() {
+        return limitCents;
     }
 
     /** @return the percentage of the limit used */
@@ -55,14 +64,14 @@ public class CategoryWarningDto {
         this.categoryName = categoryName;
     }
 
-    /** @param spent set the amount spent */
-    public void setSpent(double spent) {
-        this.spent = spent;
+    /** @param spentCents set the amount spent, in cents */
+    public void setSpentCents(long spentCents) {
+        this.spentCents = spentCents;
     }
 
-    /** @param limitAmount set the budget limit */
-    public void setLimitAmount(double limitAmount) {
-        this.limitAmount = limitAmount;
+    /** @param limitCents set the budget limit, in cents */
+    public void setLimitCents(long limitCents) {
+        this.limitCents = limitCents;
     }
 
     /** @param percentUsed manually set the percentage used */
@@ -1,8 +1,7 @@
 package dev.katsiaryna.budgettracker.Budget;
 
-import dev.katsiaryna.budgettracker.Income.Income;
+import dev.katsiaryna.budgettracker.CsvWriter;
 import dev.katsiaryna.budgettracker.Income.IncomeService;
-import dev.katsiaryna.budgettracker.Outcome.Outcome;
 import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +10,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.List;
+import java.time.LocalDate;
 
 /**
  * Controller for exporting income and outcome records as downloadable CSV files.
+ * Rows are streamed from the database to the response, so memory use does not grow with the export size.
  */
 @RestController
 @RequestMapping("/api/v1/export")
@@ -44,21 +43,18 @@ public class IncomeOutcomeExportController {
      */
     @GetMapping(value = "/incomes/{userId}", produces = "text/csv")
     public void exportIncomesToCSV(@PathVariable Long userId, HttpServletResponse response) throws IOException {
-        List<Income> incomes = incomeService.getIncomesByUser(userId);
-
+        response.setCharacterEncoding("UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=incomes.csv");
-        PrintWriter writer = response.getWriter();
-        writer.println("Date,Category,Amount,Description");
-
-        for (Income i : incomes) {
-            writer.printf("%s,%s,%.2f,%s%n",
-                    i.getDate(),
-                    i.getCategory().getCategory(),
-                    i.getAmount(),
-                    i.getDescription());
-        }
+        CsvWriter csv = new CsvWriter(response.getOutputStream());
+        csv.row("Date", "Category", "Amount", "Description");
 
-        writer.flush();
+        incomeService.forEachExportRow(userId, row -> csv
+                .field((LocalDate) row[0])
+                .field((String) row[3])
+                .amount((Long) row[1])
+                .field((String) row[2])
+                .endRow());
+        csv.flush();
     }
 
     /**
@@ -70,21 +66,18 @@ public class IncomeOutcomeExportController {
      */
     @GetMapping(value = "/outcomes/{userId}", produces = "text/csv")
     public void exportOutcomesToCSV(@PathVariable Long userId, HttpServletResponse response) throws IOException {
-        List<Outcome> outcomes = outcomeService.getOutcomesByUser(userId);
-
+        response.setCharacterEncoding("UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=outcomes.csv");
-        PrintWriter writer = response.getWriter();
-        writer.println("Date,Category,Amount,Description");
-
-        for (Outcome o : outcomes) {
-            writer.printf("%s,%s,%.2f,%s%n",
-                    o.getDate(),
-                    o.getCategory().getCategory(),
-                    Math.abs(o.getAmount()),
-                    o.getDescription());
-        }
+        CsvWriter csv = new CsvWriter(response.getOutputStream());
+        csv.row("Date", "Category", "Amount", "Description");
 
-        writer.flush();
+        outcomeService.forEachExportRow(userId, row -> csv
+                .field((LocalDate) row[0])
+                .field((String) row[3])
+                .amount(Math.abs((Long) row[1]))
+                .field((String) row[2])
+                .endRow());
+        csv.flush();
     }
 }
 
@@ -0,0 +1,108 @@
+package dev.katsiaryna.budgettracker.Category;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory catalog of all categories, looked up by ID or name without a database query.
+ * <p>
+ * Categories are few and rarely change, but are resolved on every income and outcome write and
+ * listed on every page load. The whole table is therefore loaded at startup into one immutable
+ * snapshot, held in a single-entry Caffeine cache. {@link CategoryService} invalidates it when a
+ * category is added or deleted; changes made directly in the database are picked up after
+ * {@code category.catalog.refresh}. The returned categories are shared and must not be modified.
+ * Hit and miss counts are published to Micrometer as {@code cache.gets{cache="categories"}}.
+ */
+@Component
+public class CategoryCatalog {
+
+    private static final String KEY = "all";
+
+    private final LoadingCache<String, Snapshot> cache;
+
+    /**
+     * Creates the catalog and loads all categories.
+     *
+     * @param categoryRepository repository the categories are loaded from
+     * @param refresh            time after which the snapshot is reloaded in the background
+     * @param meterRegistry      registry the hit/miss metrics are published to
+     */
+    public CategoryCatalog(CategoryRepository categoryRepository,
+                           @Value("${category.catalog.refresh:1h}") Duration refresh,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(key -> Snapshot.of(categoryRepository.findAll()));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "categories");
+        cache.get(KEY);
+    }
+
+    /**
+     * Returns all categories.
+     *
+     * @return unmodifiable list of all categories
+     */
+    public List<Category> getAll() {
+        return snapshot().all();
+    }
+
+    /**
+     * Finds a category by its ID.
+     *
+     * @param id the category ID
+     * @return the category, or empty if there is none with this ID
+     */
+    public Optional<Category> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    /**
+     * Finds a category by its exact name.
+     *
+     * @param name the category name
+     * @return the category, or empty if there is none with this name
+     */
+    public Optional<Category> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot().byName().get(name));
+    }
+
+    /**
+     * Drops the snapshot, so the next lookup reloads all categories.
+     */
+    public void invalidate() {
+        cache.invalidate(KEY);
+    }
+
+    private Snapshot snapshot() {
+        return cache.get(KEY);
+    }
+
+    /**
+     * All categories at one point in time with their lookup maps.
+     */
+    private record Snapshot(List<Category> all, Map<Long, Category> byId, Map<String, Category> byName) {
+
+        static Snapshot of(List<Category> categories) {
+            Map<Long, Category> byId = new HashMap<>();
+            Map<String, Category> byName = new HashMap<>();
+            for (Category category : categories) {
+                byId.put(category.getCategory_id(), category);
+                if (category.getCategory() != null) {
+                    byName.put(category.getCategory(), category);
+                }
+            }
+            return new Snapshot(List.copyOf(categories), Map.copyOf(byId), Map.copyOf(byName));
+        }
+    }
+}
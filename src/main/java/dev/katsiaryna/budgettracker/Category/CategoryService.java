@@ -8,19 +8,23 @@ import java.util.Optional;
 /**
  * Service class that provides business logic for managing categories.
  * It handles operations such as adding, retrieving, and deleting categories.
+ * Reads are served from the {@link CategoryCatalog}, which is invalidated on every change.
  */
 @Service
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
 
     /**
-     * Constructor to inject the CategoryRepository.
+     * Constructor to inject the CategoryRepository and the CategoryCatalog.
      *
      * @param categoryRepository the repository for category data
+     * @param categoryCatalog    the in-memory catalog of all categories
      */
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryCatalog categoryCatalog) {
         this.categoryRepository = categoryRepository;
+        this.categoryCatalog = categoryCatalog;
     }
 
     /**
@@ -32,7 +36,7 @@ public class CategoryService {
      * @throws RuntimeException if a category with the same name already exists
      */
     public Category addCategory(String categoryName, String description) {
-        if (categoryRepository.findByCategory(categoryName).isPresent()) {
+        if (categoryCatalog.findByName(categoryName).isPresent()) {
             throw new RuntimeException("Category with name " + categoryName + " already exists");
         }
 
@@ -40,7 +44,9 @@ public class CategoryService {
         String categoryDescription = (description == null || description.trim().isEmpty()) ? null : description;
 
         Category category = new Category(categoryName, categoryDescription);
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryCatalog.invalidate();
+        return saved;
     }
 
     /**
@@ -49,7 +55,7 @@ public class CategoryService {
      * @return a list of Category objects
      */
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return categoryCatalog.getAll();
     }
 
     /**
@@ -59,7 +65,7 @@ public class CategoryService {
      * @return an Optional containing the category if found
      */
     public Optional<Category> getCategoryById(Long id) {
-        return categoryRepository.findById(id);
+        return categoryCatalog.findById(id);
     }
 
     /**
@@ -69,5 +75,6 @@ public class CategoryService {
      */
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
+        categoryCatalog.invalidate();
     }
 }
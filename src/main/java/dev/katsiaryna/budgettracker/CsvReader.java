@@ -0,0 +1,88 @@
+package dev.katsiaryna.budgettracker;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader used by the import endpoints, the counterpart of {@link CsvWriter}.
+ * <p>
+ * Reads one row at a time and understands RFC 4180 quoting, including separators and
+ * line breaks inside quoted fields. Both {@code \r\n} and {@code \n} line endings are accepted.
+ */
+public class CsvReader {
+
+    private final Reader in;
+    private int next;
+
+    /**
+     * Creates a reader that decodes UTF-8 from the given stream.
+     *
+     * @param inputStream the stream to read from (typically the request body)
+     */
+    public CsvReader(InputStream inputStream) {
+        this.in = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.next = read();
+        if (next == '\uFEFF') {
+            next = read(); // skip the byte order mark written by spreadsheet tools
+        }
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return the fields of the row, or null at the end of the input
+     */
+    public List<String> readRow() {
+        if (next == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = next;
+            next = read();
+            if (quoted) {
+                if (c == -1) {
+                    break;
+                } else if (c == '"' && next == '"') {
+                    field.append('"');
+                    next = read();
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' && next == '\n') {
+                next = read();
+                break;
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() {
+        try {
+            return in.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package dev.katsiaryna.budgettracker;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Minimal buffered CSV writer used by the export endpoints.
+ * <p>
+ * Rows are written straight to the response stream through a fixed-size buffer, so an export
+ * never holds more than one row in memory. Fields are escaped according to RFC 4180 and amounts
+ * in cents are formatted with two decimals without going through {@code String.format}.
+ * I/O errors are rethrown as {@link UncheckedIOException} so the writer can be used from stream callbacks.
+ */
+public class CsvWriter {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Writer out;
+    private boolean firstField = true;
+
+    /**
+     * Creates a writer that encodes UTF-8 onto the given stream.
+     *
+     * @param outputStream the stream to write to (typically the servlet response)
+     */
+    public CsvWriter(OutputStream outputStream) {
+        this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a complete row of plain text fields, e.g. the header.
+     *
+     * @param values the field values
+     * @return this writer
+     */
+    public CsvWriter row(String... values) {
+        for (String value : values) {
+            field(value);
+        }
+        return endRow();
+    }
+
+    /**
+     * Writes a text field, quoting it if it contains a separator, quote or line break.
+     *
+     * @param value the field value (null is written as an empty field)
+     * @return this writer
+     */
+    public CsvWriter field(String value) {
+        try {
+            separator();
+            if (value == null) {
+                return this;
+            }
+            if (needsQuoting(value)) {
+                out.write('"');
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == '"') {
+                        out.write('"');
+                    }
+                    out.write(c);
+                }
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a date field in ISO format (yyyy-MM-dd).
+     *
+     * @param date the date
+     * @return this writer
+     */
+    public CsvWriter field(LocalDate date) {
+        return field(date == null ? null : date.toString());
+    }
+
+    /**
+     * Writes an amount given in cents with exactly two decimals.
+     *
+     * @param amountCents the amount in cents
+     * @return this writer
+     */
+    public CsvWriter amount(long amountCents) {
+        try {
+            separator();
+            long cents = Math.abs(amountCents);
+            if (amountCents < 0) {
+                out.write('-');
+            }
+            out.write(Long.toString(cents / 100));
+            out.write('.');
+            long fraction = cents % 100;
+            out.write((char) ('0' + fraction / 10));
+            out.write((char) ('0' + fraction % 10));
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Terminates the current row.
+     *
+     * @return this writer
+     */
+    public CsvWriter endRow() {
+        try {
+            out.write("\r\n");
+            firstField = true;
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes buffered rows to the underlying stream.
+     */
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void separator() throws IOException {
+        if (!firstField) {
+            out.write(',');
+        }
+        firstField = false;
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
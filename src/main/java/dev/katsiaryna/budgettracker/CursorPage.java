@@ -0,0 +1,108 @@
+package dev.katsiaryna.budgettracker;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset-paginated transaction listing.
+ * <p>
+ * Listings are ordered by (date, id) descending. The {@code nextCursor} token encodes the
+ * (date, id) of the last item on the page and is passed back to fetch the following page,
+ * so every page is a bounded index range scan regardless of how deep the client has scrolled.
+ *
+ * @param <T> the type of the listed items
+ */
+public class CursorPage<T> {
+
+    /** Lower date bound used when the client does not filter by date */
+    public static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+
+    /** Upper date bound used when the client does not filter by date */
+    public static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    /**
+     * Constructs a page with its items and the cursor of the next page.
+     *
+     * @param items      the items on this page
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /** @return the items on this page */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /** @return the cursor of the next page, or null if there are no more items */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}.
+     * The extra row only signals that another page exists and is not returned.
+     *
+     * @param rows    the fetched rows, in listing order
+     * @param size    the requested page size
+     * @param dateOf  extracts the date of a row
+     * @param idOf    extracts the ID of a row
+     * @param <T>     the type of the rows
+     * @return the page, with a next cursor if more rows are available
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, LocalDate> dateOf, ToLongFunction<T> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new CursorPage<>(items, encodeCursor(dateOf.apply(last), idOf.applyAsLong(last)));
+    }
+
+    /**
+     * Encodes the position of a listed item into an opaque cursor token.
+     *
+     * @param date the date of the item
+     * @param id   the ID of the item
+     * @return URL-safe cursor token
+     */
+    public static String encodeCursor(LocalDate date, long id) {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token produced by {@link #encodeCursor(LocalDate, long)}.
+     *
+     * @param token the cursor token
+     * @return the decoded position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static Cursor decodeCursor(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Position of an item in a (date, id) descending listing.
+     *
+     * @param date the date of the item
+     * @param id   the ID of the item
+     */
+    public record Cursor(LocalDate date, long id) {
+    }
+}
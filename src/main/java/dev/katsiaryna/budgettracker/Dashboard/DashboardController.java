@@ -0,0 +1,51 @@
+package dev.katsiaryna.budgettracker.Dashboard;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * REST controller returning all home dashboard widgets in one response,
+ * so the page needs a single round trip instead of one request per widget.
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param dashboardService the service assembling the dashboard
+     */
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Returns summary, latest transactions, charts, category totals, top spendings,
+     * budgets (with and without spending) and goals of a user.
+     *
+     * @param userId  the ID of the user
+     * @param from    start date (yyyy-MM-dd)
+     * @param to      end date (yyyy-MM-dd)
+     * @param groupBy chart grouping: "day", "week", "month", "quarter", "year" or "fiscal-month"
+     * @return the dashboard widgets, or 400 if a date is invalid or the range has too many chart periods
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<Map<String, Object>> getDashboard(
+            @PathVariable Long userId,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "month") String groupBy) {
+        try {
+            return ResponseEntity.ok(dashboardService.getDashboard(userId, LocalDate.parse(from), LocalDate.parse(to), groupBy));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package dev.katsiaryna.budgettracker.Dashboard;
+
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsService;
+import dev.katsiaryna.budgettracker.Money;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes dashboard changes to the users' open Server-Sent Events streams.
+ * <p>
+ * Income, outcome and budget services report their changes here; they are sent after commit, and
+ * only if the user has a stream open. Every stream has a bounded queue drained by its own virtual
+ * thread, so a write never waits for a client, and an idle stream holds no platform thread: the
+ * request thread is released once the stream is opened, and the virtual thread is parked on the
+ * queue. A comment is sent after {@code dashboard.stream.heartbeat} without events, so proxies keep the
+ * connection open and closed clients are noticed. A stream whose queue overflows is closed and left to
+ * reconnect. Streams end after {@code dashboard.stream.timeout}; browsers reconnect automatically.
+ * A user may have at most {@code dashboard.stream.max-per-user} streams open at a time, so a client
+ * opening streams in a loop cannot start an unbounded number of threads.
+ * <p>
+ * Events:
+ * <ul>
+ *   <li>{@code income}, {@code outcome}: a saved or deleted transaction ({@link TransactionEvent})</li>
+ *   <li>{@code import}: transactions were imported in bulk ({@link ImportEvent})</li>
+ *   <li>{@code totals}: the new summary totals after a transaction change, read when the event is sent</li>
+ *   <li>{@code budget}: a saved or deleted budget ({@link BudgetEvent})</li>
+ *   <li>{@code budget-warning}: spending in a budget's current period reached 90% of its limit ({@link BudgetWarningEvent})</li>
+ * </ul>
+ */
+@Component
+public class DashboardEvents {
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AnalyticsService analyticsService;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int queueSize;
+    private final int maxPerUser;
+
+    /**
+     * Creates the publisher.
+     *
+     * @param analyticsService service reading the totals (lazy, as it depends on the publishing services)
+     * @param timeout          time after which a stream is closed
+     * @param heartbeat        time without events after which a comment is sent
+     * @param queueSize        number of events queued per stream before a slow client is dropped
+     * @param maxPerUser       number of streams a user may have open at a time
+     */
+    public DashboardEvents(@Lazy AnalyticsService analyticsService,
+                           @Value("${dashboard.stream.timeout:30m}") Duration timeout,
+                           @Value("${dashboard.stream.heartbeat:25s}") Duration heartbeat,
+                           @Value("${dashboard.stream.queue-size:64}") int queueSize,
+                           @Value("${dashboard.stream.max-per-user:5}") int maxPerUser) {
+        this.analyticsService = analyticsService;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.queueSize = queueSize;
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * Opens a stream of a user's dashboard events, unless the user already has the maximum number open.
+     *
+     * @param userId the user ID
+     * @return the emitter the events are sent to, or null if the user has too many streams open
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(queueSize));
+        boolean[] added = new boolean[1];
+        subscribers.compute(userId, (id, streams) -> {
+            Set<Subscriber> open = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            added[0] = open.size() < maxPerUser && open.add(subscriber);
+            return open.isEmpty() ? null : open;
+        });
+        if (!added[0]) {
+            return null;
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.thread = Thread.ofVirtual().name("dashboard-stream-" + userId).start(subscriber::run);
+        return emitter;
+    }
+
+    /**
+     * Publishes an added or updated income or outcome, followed by the new totals.
+     *
+     * @param userId      the user ID
+     * @param kind        "income" or "outcome"
+     * @param id          the transaction ID
+     * @param date        the date of the transaction
+     * @param categoryId  the category ID
+     * @param amountCents the amount in cents (outcomes negative, as stored)
+     */
+    public void transactionSaved(Long userId, String kind, long id, LocalDate date, Long categoryId, long amountCents) {
+        publishAfterCommit(userId, kind, new TransactionEvent("saved", id, date, categoryId, Money.toDecimal(amountCents)));
+        publishAfterCommit(userId, "totals", () -> analyticsService.getSummary(userId));
+    }
+
+    /**
+     * Publishes a deleted income or outcome, followed by the new totals.
+     *
+     * @param userId the user ID
+     * @param kind   "income" or "outcome"
+     * @param id     the transaction ID
+     */
+    public void transactionDeleted(Long userId, String kind, long id) {
+        publishAfterCommit(userId, kind, new TransactionEvent("deleted", id, null, null, null));
+        publishAfterCommit(userId, "totals", () -> analyticsService.getSummary(userId));
+    }
+
+    /**
+     * Publishes that transactions were imported, followed by the new totals.
+     *
+     * @param userId   the user ID
+     * @param kind     "income" or "outcome"
+     * @param imported the number of imported transactions
+     */
+    public void transactionsImported(Long userId, String kind, int imported) {
+        publishAfterCommit(userId, "import", new ImportEvent(kind, imported));
+        publishAfterCommit(userId, "totals", () -> analyticsService.getSummary(userId));
+    }
+
+    /**
+     * Publishes a saved or deleted budget.
+     *
+     * @param userId   the user ID
+     * @param action   "saved" or "deleted"
+     * @param budgetId the budget ID
+     */
+    public void budgetChanged(Long userId, String action, Long budgetId) {
+        publishAfterCommit(userId, "budget", new BudgetEvent(action, budgetId));
+    }
+
+    /**
+     * Publishes that spending in a budget's current period reached 90% of its limit.
+     *
+     * @param userId      the user ID
+     * @param warning     the budget, its period and amounts
+     */
+    public void budgetWarning(Long userId, BudgetWarningEvent warning) {
+        publishAfterCommit(userId, "budget-warning", warning);
+    }
+
+    /**
+     * Tells whether a user has a stream open, so publishers can skip work needed only for events.
+     *
+     * @param userId the user ID
+     * @return true if at least one stream is open
+     */
+    public boolean hasSubscribers(Long userId) {
+        Set<Subscriber> streams = subscribers.get(userId);
+        return streams != null && !streams.isEmpty();
+    }
+
+    /**
+     * Closes all streams on shutdown, so open connections do not delay it. The sending threads are
+     * stopped directly, as the container may not report the completion of every emitter anymore.
+     */
+    @PreDestroy
+    public void closeAll() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }));
+    }
+
+    private void publishAfterCommit(Long userId, String name, Object data) {
+        publishAfterCommit(userId, name, () -> data);
+    }
+
+    /**
+     * Queues an event for every stream of the user once the current transaction commits.
+     * The data is read by each stream's thread when the event is sent.
+     */
+    private void publishAfterCommit(Long userId, String name, Supplier<?> data) {
+        if (!hasSubscribers(userId)) {
+            return;
+        }
+        Runnable publish = () -> {
+            Set<Subscriber> streams = subscribers.get(userId);
+            if (streams != null) {
+                streams.forEach(subscriber -> subscriber.offer(new Event(name, data)));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    /**
+     * An event waiting to be sent.
+     */
+    private record Event(String name, Supplier<?> data) {
+    }
+
+    /**
+     * One open stream and the virtual thread sending its events.
+     */
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private volatile Thread thread;
+
+        private Subscriber(Long userId, SseEmitter emitter, BlockingQueue<Event> queue) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private void offer(Event event) {
+            if (!queue.offer(event)) {
+                emitter.complete(); // too slow: drop the stream, the browser reconnects
+            }
+        }
+
+        private void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Event event = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(event.name()).data(event.data().get()));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Stream closed
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            subscribers.computeIfPresent(userId, (id, streams) -> {
+                streams.remove(this);
+                return streams.isEmpty() ? null : streams;
+            });
+            Thread sender = thread;
+            if (sender != null && sender != Thread.currentThread()) {
+                sender.interrupt();
+            }
+        }
+    }
+
+    /**
+     * A saved or deleted income or outcome; date, category and amount are null for deletions.
+     *
+     * @param action     "saved" or "deleted"
+     * @param id         the transaction ID
+     * @param date       the date of the transaction
+     * @param categoryId the category ID
+     * @param amount     the amount (outcomes negative)
+     */
+    public record TransactionEvent(String action, long id, LocalDate date, Long categoryId, BigDecimal amount) {
+    }
+
+    /**
+     * Transactions imported in bulk.
+     *
+     * @param kind     "income" or "outcome"
+     * @param imported the number of imported transactions
+     */
+    public record ImportEvent(String kind, int imported) {
+    }
+
+    /**
+     * A saved or deleted budget.
+     *
+     * @param action   "saved" or "deleted"
+     * @param budgetId the budget ID
+     */
+    public record BudgetEvent(String action, Long budgetId) {
+    }
+
+    /**
+     * A budget whose spending in its current period reached 90% of the limit.
+     *
+     * @param budgetId    the budget ID
+     * @param category    the category name
+     * @param periodStart the first day of the period
+     * @param periodEnd   the last day of the period
+     * @param spent       the amount spent in the period
+     * @param limit       the limit of the budget
+     */
+    public record BudgetWarningEvent(Long budgetId, String category, LocalDate periodStart, LocalDate periodEnd,
+                                     BigDecimal spent, BigDecimal limit) {
+    }
+}
@@ -0,0 +1,92 @@
+package dev.katsiaryna.budgettracker.Dashboard;
+
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsService;
+import dev.katsiaryna.budgettracker.Budget.BudgetService;
+import dev.katsiaryna.budgettracker.Goal.GoalService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service assembling every widget of the home dashboard in a single call.
+ * <p>
+ * The widgets are independent of each other, so each one is computed on its own virtual thread
+ * and the results are joined once all of them are done. Date range widgets share one read of the
+ * daily rollup through {@link AnalyticsService#getRangeAnalytics}, and cached sections are served
+ * from the per-user analytics cache.
+ */
+@Service
+public class DashboardService {
+
+    /** Number of latest transactions of each kind shown on the dashboard */
+    private static final int LATEST_LIMIT = 5;
+
+    private final AnalyticsService analyticsService;
+    private final BudgetService budgetService;
+    private final GoalService goalService;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param analyticsService the analytics service
+     * @param budgetService    the budget service
+     * @param goalService      the goal service
+     */
+    public DashboardService(AnalyticsService analyticsService, BudgetService budgetService, GoalService goalService) {
+        this.analyticsService = analyticsService;
+        this.budgetService = budgetService;
+        this.goalService = goalService;
+    }
+
+    /**
+     * Computes all dashboard widgets of a user for the selected date range.
+     *
+     * @param userId  the user's ID
+     * @param from    start date (inclusive)
+     * @param to      end date (inclusive)
+     * @param groupBy chart grouping: "day", "week", "month", "quarter", "year" or "fiscal-month"
+     * @return map of widget name to widget data
+     */
+    public Map<String, Object> getDashboard(Long userId, LocalDate from, LocalDate to, String groupBy) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> summary = executor.submit(() -> analyticsService.getSummary(userId));
+            Future<?> latest = executor.submit(() -> analyticsService.getLatestTransactions(userId, LATEST_LIMIT));
+            Future<Map<String, Object>> range = executor.submit(() -> analyticsService.getRangeAnalytics(userId, from, to, groupBy));
+            Future<?> budgetsWithSpent = executor.submit(() -> budgetService.getBudgetsWithSpent(userId, to));
+            Future<?> budgets = executor.submit(() -> budgetService.getBudgetsByUser(userId));
+            Future<?> goals = executor.submit(() -> goalService.getGoalsByUser(userId));
+
+            Map<String, Object> dashboard = new LinkedHashMap<>();
+            dashboard.put("summary", join(summary));
+            dashboard.put("latest", join(latest));
+            dashboard.putAll(join(range));
+            dashboard.put("budgetsWithSpent", join(budgetsWithSpent));
+            dashboard.put("budgets", join(budgets));
+            dashboard.put("goals", join(goals));
+            return dashboard;
+        }
+    }
+
+    /**
+     * Waits for a widget and rethrows its failure unchanged.
+     */
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to load dashboard", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard loading was interrupted", e);
+        }
+    }
+}
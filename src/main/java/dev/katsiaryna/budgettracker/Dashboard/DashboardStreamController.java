@@ -0,0 +1,56 @@
+package dev.katsiaryna.budgettracker.Dashboard;
+
+import dev.katsiaryna.budgettracker.User.UserPrincipal;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming dashboard changes as Server-Sent Events, so open pages
+ * (in any tab or device) update without polling. See {@link DashboardEvents} for the events.
+ */
+@RestController
+@RequestMapping("/api/v1/stream")
+public class DashboardStreamController {
+
+    private final DashboardEvents dashboardEvents;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param dashboardEvents the publisher of dashboard changes
+     */
+    public DashboardStreamController(DashboardEvents dashboardEvents) {
+        this.dashboardEvents = dashboardEvents;
+    }
+
+    /**
+     * Opens a stream of the logged-in user's dashboard changes. The request thread is released right away;
+     * events are sent from a virtual thread.
+     *
+     * @param userId    the ID of the user
+     * @param principal the logged-in user
+     * @return the event stream, 403 for another user's stream, or 429 if the user has too many streams open
+     */
+    @GetMapping(value = "/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@PathVariable Long userId,
+                                             @AuthenticationPrincipal UserPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!principal.getId().equals(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        SseEmitter emitter = dashboardEvents.subscribe(userId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -0,0 +1,153 @@
+package dev.katsiaryna.budgettracker.Database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Connection pools of the SQLite database.
+ * <p>
+ * SQLite allows a single writer at a time, so all writes go through a pool with exactly one
+ * connection and queue in the pool instead of failing with {@code SQLITE_BUSY}. The database runs
+ * in WAL mode, where readers never block the writer (and vice versa), so read-only transactions
+ * ({@code @Transactional(readOnly = true)}, including the default Spring Data finders) are served
+ * by a separate pool of read-only connections.
+ * <p>
+ * The application uses the {@link Primary} data source, which picks the pool lazily on the
+ * first statement of a transaction, depending on its read-only flag, and logs slow statements.
+ * <p>
+ * The pools also bound how many requests use the database at once: with virtual threads
+ * ({@code spring.threads.virtual.enabled}) there is no request thread limit any more, so requests
+ * wait for a pooled connection for at most {@code database.connection-timeout} and then fail.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    /** Memory-mapped I/O size per connection in bytes */
+    @Value("${database.mmap-size:268435456}")
+    private long mmapSize;
+
+    /** Page cache size per connection; negative values are KiB, positive values are pages */
+    @Value("${database.cache-size:-16000}")
+    private int cacheSize;
+
+    /** How long a connection waits for a lock held by another process, in milliseconds */
+    @Value("${database.busy-timeout:5000}")
+    private int busyTimeout;
+
+    @Value("${database.reader-pool-size:4}")
+    private int readerPoolSize;
+
+    /** How long a transaction waits for a free pooled connection before it fails */
+    @Value("${database.connection-timeout:30s}")
+    private Duration connectionTimeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /** Statements running at least this long are logged with their bind parameters */
+    @Value("${database.slow-query-threshold:200ms}")
+    private Duration slowQueryThreshold;
+
+    /**
+     * Single-connection pool for all read-write transactions.
+     * It is created first and switches the database file to WAL mode, which is persistent.
+     */
+    @Bean
+    public HikariDataSource writerDataSource() {
+        SQLiteConfig sqlite = sqliteConfig();
+        sqlite.setJournalMode(SQLiteConfig.JournalMode.WAL);
+
+        HikariConfig hikari = hikariConfig("writer", sqlite);
+        hikari.setMaximumPoolSize(1);
+        return new HikariDataSource(hikari);
+    }
+
+    /**
+     * Pool of read-only connections for read-only transactions.
+     */
+    @Bean
+    @DependsOn("writerDataSource")
+    public HikariDataSource readerDataSource() {
+        SQLiteConfig sqlite = sqliteConfig();
+        sqlite.setReadOnly(true);
+
+        HikariConfig hikari = hikariConfig("reader", sqlite);
+        hikari.setMaximumPoolSize(readerPoolSize());
+        hikari.setReadOnly(true);
+        return new HikariDataSource(hikari);
+    }
+
+    /**
+     * Data source used by JPA, JDBC and SQL initialization, routing to the writer or reader pool.
+     * Statements slower than {@code database.slow-query-threshold} are logged by {@link SlowQueryDataSource}.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writerDataSource") DataSource writerDataSource,
+                                 @Qualifier("readerDataSource") DataSource readerDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writerDataSource);
+        dataSource.setReadOnlyDataSource(readerDataSource);
+        return new SlowQueryDataSource(dataSource, slowQueryThreshold);
+    }
+
+    /**
+     * Size of the reader pool. The SQLite driver holds a monitor while a statement runs, which pins a
+     * virtual thread to its carrier thread. With virtual threads, the readers are therefore kept
+     * below the number of carrier threads, so queries running at once (or waiting for a lock)
+     * can never occupy all carriers and stall requests that do not need the database.
+     */
+    private int readerPoolSize() {
+        if (!virtualThreads) {
+            return readerPoolSize;
+        }
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        int limit = Math.max(1, carriers - 1);
+        if (readerPoolSize > limit) {
+            log.info("Limiting the reader pool to {} connections for {} virtual thread carriers", limit, carriers);
+            return limit;
+        }
+        return readerPoolSize;
+    }
+
+    /**
+     * Pragmas shared by both pools, applied by the driver to every new connection.
+     */
+    private SQLiteConfig sqliteConfig() {
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL); // durable enough with WAL, no fsync per commit
+        sqlite.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(mmapSize));
+        sqlite.setCacheSize(cacheSize);
+        sqlite.setBusyTimeout(busyTimeout);
+        return sqlite;
+    }
+
+    private HikariConfig hikariConfig(String poolName, SQLiteConfig sqlite) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(poolName);
+        hikari.setJdbcUrl(url);
+        hikari.setDriverClassName("org.sqlite.JDBC");
+        hikari.setDataSourceProperties(sqlite.toProperties());
+        hikari.setMinimumIdle(1);
+        hikari.setConnectionTimeout(connectionTimeout.toMillis());
+        return hikari;
+    }
+}
@@ -0,0 +1,73 @@
+package dev.katsiaryna.budgettracker.Database;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup check that the indexes created by the Flyway migrations exist with the expected columns.
+ * <p>
+ * Without them every per-user query scans whole tables, which works but gets slow unnoticed as data
+ * grows, so the application refuses to start instead. JDBC templates are initialized after Flyway,
+ * so the check always sees the migrated schema.
+ */
+@Component
+public class SchemaIndexCheck implements InitializingBean {
+
+    /** Expected indexes: name, table and columns in index order */
+    private static final List<ExpectedIndex> EXPECTED_INDEXES = List.of(
+            new ExpectedIndex("idx_incomes_user_date", "incomes", List.of("user_id", "date")),
+            new ExpectedIndex("idx_outcomes_user_date", "outcomes", List.of("user_id", "date")),
+            new ExpectedIndex("idx_incomes_user_category_date", "incomes", List.of("user_id", "category_id", "date")),
+            new ExpectedIndex("idx_outcomes_user_category_date", "outcomes", List.of("user_id", "category_id", "date")),
+            new ExpectedIndex("idx_budgets_user_category", "budgets", List.of("user_id", "category_id")),
+            new ExpectedIndex("ux_daily_rollup_user_category_day", "daily_rollup", List.of("user_id", "category_id", "day")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param jdbcTemplate the JDBC template
+     */
+    public SchemaIndexCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Verifies all expected indexes.
+     *
+     * @throws IllegalStateException listing every missing or differently defined index
+     */
+    @Override
+    public void afterPropertiesSet() {
+        List<String> problems = new ArrayList<>();
+        for (ExpectedIndex index : EXPECTED_INDEXES) {
+            List<String> table = jdbcTemplate.queryForList(
+                    "SELECT tbl_name FROM sqlite_master WHERE type = 'index' AND name = ?", String.class, index.name());
+            if (table.isEmpty()) {
+                problems.add(index.name() + " is missing");
+                continue;
+            }
+            List<String> columns = jdbcTemplate.queryForList(
+                    "SELECT name FROM pragma_index_info(?) ORDER BY seqno", String.class, index.name());
+            if (!table.get(0).equalsIgnoreCase(index.table()) || !columns.equals(index.columns())) {
+                problems.add(index.name() + " is defined on " + table.get(0) + columns
+                        + " instead of " + index.table() + index.columns());
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Database indexes do not match the migrations: "
+                    + String.join(", ", problems));
+        }
+    }
+
+    /**
+     * An index the queries rely on.
+     */
+    private record ExpectedIndex(String name, String table, List<String> columns) {
+    }
+}
@@ -0,0 +1,143 @@
+package dev.katsiaryna.budgettracker.Database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data source logging every SQL statement that runs longer than a threshold, with the types of its bind parameters.
+ * <p>
+ * Statements are timed at the JDBC level, so queries issued by Hibernate, Spring Data and
+ * {@code JdbcTemplate} are all covered. Slow statements are logged at WARN by the logger
+ * {@code dev.katsiaryna.budgettracker.Database.SlowQueryDataSource}, with only the index and type
+ * of each bind parameter, since the values include password hashes and email addresses. Every
+ * statement, slow or not, is also logged at DEBUG with the parameter values, e.g. for single
+ * requests through {@code DebugLoggingFilter}; for batches the parameters of the last batch entry
+ * are shown. Timing costs two clock reads per statement.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryDataSource.class);
+
+    private final long thresholdNanos;
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target    the data source to obtain connections from
+     * @param threshold statements running at least this long are logged
+     */
+    public SlowQueryDataSource(DataSource target, Duration threshold) {
+        super(target);
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement statement && "prepareStatement".equals(method.getName())) {
+                        return wrap(statement, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement && "createStatement".equals(method.getName())) {
+                        return wrap(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private <S extends Statement> S wrap(S statement, Class<S> type, String sql) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                new TimingHandler(statement, sql)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Records the bind parameters of a statement and times its executions.
+     */
+    private class TimingHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private String sql;
+
+        TimingHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return SlowQueryDataSource.invoke(statement, method, args);
+            }
+
+            if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                sql = statementSql; // plain Statement.execute(sql)
+            }
+            long start = System.nanoTime();
+            try {
+                return SlowQueryDataSource.invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (elapsed >= thresholdNanos) {
+                    log.warn("Slow query ({} ms): {} {}", elapsed / 1_000_000, sql, describeParameterTypes());
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Query ({} ms): {} {}", elapsed / 1_000_000, sql, describeParameters());
+                }
+            }
+        }
+
+        private String describeParameters() {
+            List<String> values = new ArrayList<>();
+            parameters.forEach((index, value) -> values.add(index + "=" + value));
+            return values.toString();
+        }
+
+        private String describeParameterTypes() {
+            List<String> types = new ArrayList<>();
+            parameters.forEach((index, value) ->
+                    types.add(index + ":" + (value == null ? "null" : value.getClass().getSimpleName())));
+            return types.toString();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dev.katsiaryna.budgettracker.Database;
+
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * SQLite dialect that validates the Flyway schema by storage class instead of declared type name.
+ * <p>
+ * SQLite stores every integer as up to 8 bytes regardless of the declared type, and a rowid alias
+ * primary key has to be declared exactly {@code INTEGER}. The migrations therefore declare ids and
+ * cents as {@code integer}, which Hibernate maps to {@code bigint} for {@code Long} fields; both
+ * are treated as the same type during {@code ddl-auto=validate}.
+ */
+public class SqliteSchemaDialect extends SQLiteDialect {
+
+    @Override
+    public boolean equivalentTypes(int typeCode1, int typeCode2) {
+        return super.equivalentTypes(typeCode1, typeCode2)
+                || SqlTypes.isIntegral(typeCode1) && SqlTypes.isIntegral(typeCode2);
+    }
+}
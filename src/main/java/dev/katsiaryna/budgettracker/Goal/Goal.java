@@ -1,6 +1,10 @@
 package dev.katsiaryna.budgettracker.Goal;
 
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.katsiaryna.budgettracker.Money;
 import dev.katsiaryna.budgettracker.User.User;
 import jakarta.persistence.*;
 
@@ -23,8 +27,19 @@ public class Goal {
 
     private String type; // Expected values: "Savings", "Debt", "Mortgage"
     private String name;
-    private Double targetAmount;
-    private Double currentAmount;
+
+    // Amounts in cents, exposed as decimal "targetAmount" and "currentAmount" in JSON
+    @Column(name = "target_cents")
+    @JsonProperty("targetAmount")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private Long targetCents;
+    @Column(name = "current_cents")
+    @JsonProperty("currentAmount")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private Long currentCents;
+
     private LocalDate startDate;
     private LocalDate endDate;
     private String goalCategory;
@@ -35,22 +50,22 @@ public class Goal {
     /**
      * Constructor with all properties.
      *
-     * @param user           the owner of the goal
-     * @param type           type of goal (e.g. Savings, Debt, Mortgage)
-     * @param name           name/title of the goal
-     * @param targetAmount   amount intended to be reached
-     * @param currentAmount  amount currently saved or paid
-     * @param startDate      when the goal starts
-     * @param endDate        when the goal is expected to be completed
-     * @param goalCategory   a category label (e.g. "University", "Vacation")
+     * @param user         the owner of the goal
+     * @param type         type of goal (e.g. Savings, Debt, Mortgage)
+     * @param name         name/title of the goal
+     * @param targetCents  amount intended to be reached, in cents
+     * @param currentCents amount currently saved or paid, in cents
+     * @param startDate    when the goal starts
+     * @param endDate      when the goal is expected to be completed
+     * @param goalCategory a category label (e.g. "University", "Vacation")
      */
-    public Goal(User user, String type, String name, Double targetAmount, Double currentAmount,
+    public Goal(User user, String type, String name, Long targetCents, Long currentCents,
                 LocalDate startDate, LocalDate endDate, String goalCategory) {
         this.user = user;
         this.type = type;
         this.name = name;
-        this.targetAmount = targetAmount;
-        this.currentAmount = currentAmount;
+        this.targetCents = targetCents;
+        this.currentCents = currentCents;
         this.startDate = startDate;
         this.endDate = endDate;
         this.goalCategory = goalCategory;
@@ -77,14 +92,14 @@ public class Goal {
         return name;
     }
 
-    /** @return target amount to reach */
-    public Double getTargetAmount() {
-        return targetAmount;
+    /** @return target amount to reach, in cents */
+    public Long getTargetCents() {
+        return targetCents;
     }
 
-    /** @return current amount saved or paid */
-    public Double getCurrentAmount() {
-        return currentAmount;
+    /** @return current amount saved or paid, in cents */
+    public Long getCurrentCents() {
+        return currentCents;
     }
 
     /** @return start date of the goal */
@@ -138,18 +153,18 @@ public class Goal {
 
     /**
      *
-     * @param targetAmount
+     * @param targetCents
      */
-    public void setTargetAmount(Double targetAmount) {
-        this.targetAmount = targetAmount;
+    public void setTargetCents(Long targetCents) {
+        this.targetCents = targetCents;
     }
 
     /**
      *
-     * @param currentAmount
+     * @param currentCents
      */
-    public void setCurrentAmount(Double currentAmount) {
-        this.currentAmount = currentAmount;
+    public void setCurrentCents(Long currentCents) {
+        this.currentCents = currentCents;
     }
 
     /**
@@ -1,9 +1,11 @@
 package dev.katsiaryna.budgettracker.Goal;
 
 
+import dev.katsiaryna.budgettracker.Money;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -64,11 +66,17 @@ public class GoalController {
      *
      * @param id            the ID of the goal to update
      * @param currentAmount the new current amount value
-     * @return the updated goal if found, or 404 if not
+     * @return the updated goal if found, 404 if not, or 400 if the amount has more than two decimals
      */
     @PutMapping("/progress/{id}")
-    public ResponseEntity<Goal> updateProgress(@PathVariable Long id, @RequestBody Double currentAmount) {
-        return goalService.updateProgress(id, currentAmount)
+    public ResponseEntity<Goal> updateProgress(@PathVariable Long id, @RequestBody BigDecimal currentAmount) {
+        long currentCents;
+        try {
+            currentCents = Money.toCents(currentAmount);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return goalService.updateProgress(id, currentCents)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -19,8 +19,8 @@ public class GoalService {
     /**
      * Constructor for injecting dependencies.
      *
-     * @param goalRepository  the repository for managing Goal entities
-     * @param userRepository  the repository for managing User entities
+     * @param goalRepository the repository for managing Goal entities
+     * @param userRepository the repository for managing User entities
      */
     public GoalService(GoalRepository goalRepository, UserRepository userRepository) {
         this.goalRepository = goalRepository;
@@ -59,15 +59,15 @@ public class GoalService {
     /**
      * Updates the current amount progress of a goal.
      *
-     * @param id         the ID of the goal to update
-     * @param newAmount  the new current amount value
+     * @param id       the ID of the goal to update
+     * @param newCents the new current amount value, in cents
      * @return an Optional containing the updated goal, or empty if not found
      */
-    public Optional<Goal> updateProgress(Long id, Double newAmount) {
+    public Optional<Goal> updateProgress(Long id, long newCents) {
         Optional<Goal> optionalGoal = goalRepository.findById(id);
         if (optionalGoal.isPresent()) {
             Goal goal = optionalGoal.get();
-            goal.setCurrentAmount(newAmount);
+            goal.setCurrentCents(newCents);
             goalRepository.save(goal);
             return Optional.of(goal);
     }
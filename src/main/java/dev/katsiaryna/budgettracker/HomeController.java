@@ -1,8 +1,6 @@
 package dev.katsiaryna.budgettracker;
 
-import dev.katsiaryna.budgettracker.User.User;
-import dev.katsiaryna.budgettracker.User.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import dev.katsiaryna.budgettracker.User.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
@@ -19,9 +17,6 @@ import java.time.format.DateTimeFormatter;
 @Controller
 public class HomeController {
 
-    @Autowired
-    private UserRepository userRepository;
-
     /**
      * Landing page mapping ("/").
      * @return index view.
@@ -69,16 +64,12 @@ public class HomeController {
     public String showHomePage(Model model) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
-        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getPrincipal())) {
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
             return "redirect:/login";
         }
 
-        String username = auth.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        model.addAttribute("username", username);
-        model.addAttribute("userId", user.getId());
+        model.addAttribute("username", principal.getUsername());
+        model.addAttribute("userId", principal.getId());
 
         // Format and display current timestamp
         String formattedDateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
@@ -0,0 +1,21 @@
+package dev.katsiaryna.budgettracker.Import;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were stored and why the others were not.
+ *
+ * @param imported number of rows that were stored
+ * @param errors   one entry per rejected row
+ */
+public record ImportResult(int imported, List<RowError> errors) {
+
+    /**
+     * A row that could not be imported.
+     *
+     * @param row     the 1-based position of the row in the input (header excluded)
+     * @param message why the row was rejected
+     */
+    public record RowError(int row, String message) {
+    }
+}
@@ -0,0 +1,16 @@
+package dev.katsiaryna.budgettracker.Import;
+
+/**
+ * One transaction of a bulk import, as received in a JSON array or a CSV row.
+ * <p>
+ * Values are kept as text so that a malformed date or amount is reported as an
+ * error of that row instead of rejecting the whole request.
+ *
+ * @param date        the transaction date (yyyy-MM-dd)
+ * @param category    the category name, used when no category ID is given
+ * @param categoryId  the category ID (optional)
+ * @param amount      the amount; outcomes may be given with or without a minus sign
+ * @param description the description (optional)
+ */
+public record ImportRow(String date, String category, Long categoryId, String amount, String description) {
+}
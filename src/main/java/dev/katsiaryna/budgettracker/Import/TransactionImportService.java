@@ -0,0 +1,335 @@
+package dev.katsiaryna.budgettracker.Import;
+
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsCache;
+import dev.katsiaryna.budgettracker.Analytics.DailyRollupService;
+import dev.katsiaryna.budgettracker.Analytics.TransactionColumnStore;
+import dev.katsiaryna.budgettracker.Budget.BudgetPeriodSpendService;
+import dev.katsiaryna.budgettracker.Category.Category;
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
+import dev.katsiaryna.budgettracker.CsvReader;
+import dev.katsiaryna.budgettracker.Dashboard.DashboardEvents;
+import dev.katsiaryna.budgettracker.Income.Income;
+import dev.katsiaryna.budgettracker.Income.IncomeRepository;
+import dev.katsiaryna.budgettracker.Money;
+import dev.katsiaryna.budgettracker.Outcome.Outcome;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeRepository;
+import dev.katsiaryna.budgettracker.User.User;
+import dev.katsiaryna.budgettracker.User.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Service importing many incomes or outcomes in one call, e.g. a year of bank statements.
+ * <p>
+ * The user is loaded once up front and categories are resolved from the in-memory catalog, rows are validated individually and
+ * the valid ones are stored in chunks of {@value #CHUNK_SIZE}, each in its own transaction.
+ * Income and outcome IDs are assigned in memory by Hibernate's increment generator, so each
+ * chunk is sent as JDBC batch inserts, and the daily rollup (and, for outcomes, the budget period counters)
+ * receives one update per category and day of a chunk.
+ */
+@Service
+public class TransactionImportService {
+
+    /** Number of rows stored per transaction */
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final IncomeRepository incomeRepository;
+    private final OutcomeRepository outcomeRepository;
+    private final DailyRollupService dailyRollupService;
+    private final AnalyticsCache analyticsCache;
+    private final TransactionColumnStore transactionColumnStore;
+    private final BudgetPeriodSpendService budgetPeriodSpendService;
+    private final DashboardEvents dashboardEvents;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor for dependency injection.
+     */
+    public TransactionImportService(
+            UserRepository userRepository,
+            CategoryCatalog categoryCatalog,
+            IncomeRepository incomeRepository,
+            OutcomeRepository outcomeRepository,
+            DailyRollupService dailyRollupService,
+            AnalyticsCache analyticsCache,
+            TransactionColumnStore transactionColumnStore,
+            BudgetPeriodSpendService budgetPeriodSpendService,
+            DashboardEvents dashboardEvents,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager
+    ) {
+        this.userRepository = userRepository;
+        this.categoryCatalog = categoryCatalog;
+        this.incomeRepository = incomeRepository;
+        this.outcomeRepository = outcomeRepository;
+        this.dailyRollupService = dailyRollupService;
+        this.analyticsCache = analyticsCache;
+        this.transactionColumnStore = transactionColumnStore;
+        this.budgetPeriodSpendService = budgetPeriodSpendService;
+        this.dashboardEvents = dashboardEvents;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Imports incomes for a user. Amounts must be positive.
+     *
+     * @param userId the user ID
+     * @param rows   the rows to import
+     * @return number of imported rows and the errors of rejected rows
+     */
+    public ImportResult importIncomes(Long userId, List<ImportRow> rows) {
+        return importRows(userId, rows, false);
+    }
+
+    /**
+     * Imports outcomes for a user. Amounts must not be zero and are stored as negative values,
+     * whatever their sign in the input.
+     *
+     * @param userId the user ID
+     * @param rows   the rows to import
+     * @return number of imported rows and the errors of rejected rows
+     */
+    public ImportResult importOutcomes(Long userId, List<ImportRow> rows) {
+        return importRows(userId, rows, true);
+    }
+
+    /**
+     * Reads import rows from CSV with a header line. The columns Date, Category and Amount are
+     * required and Description is optional, in any order, so files produced by the export
+     * endpoints can be imported again.
+     *
+     * @param inputStream the CSV content
+     * @return the parsed rows (blank lines are skipped)
+     * @throws IllegalArgumentException if the header is missing a required column
+     */
+    public List<ImportRow> parseCsv(InputStream inputStream) {
+        CsvReader csv = new CsvReader(inputStream);
+        List<String> header = csv.readRow();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("date", "category", "amount")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the " + required + " column");
+            }
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        for (List<String> fields = csv.readRow(); fields != null; fields = csv.readRow()) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            rows.add(new ImportRow(
+                    column(fields, columns.get("date")),
+                    column(fields, columns.get("category")),
+                    null,
+                    column(fields, columns.get("amount")),
+                    column(fields, columns.get("description"))));
+        }
+        return rows;
+    }
+
+    private static String column(List<String> fields, Integer index) {
+        return index != null && index < fields.size() ? fields.get(index) : null;
+    }
+
+    /**
+     * Validates all rows, then stores the valid ones chunk by chunk.
+     * A chunk that fails to commit is reported as an error for each of its rows.
+     */
+    private ImportResult importRows(Long userId, List<ImportRow> rows, boolean outcomes) {
+        if (userId == null) {
+            throw new RuntimeException("User ID cannot be null");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Categories categories = Categories.of(categoryCatalog.getAll());
+
+        List<ImportResult.RowError> errors = new ArrayList<>();
+        List<ValidRow> valid = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                valid.add(validate(i + 1, rows.get(i), outcomes, categories));
+            } catch (IllegalArgumentException e) {
+                errors.add(new ImportResult.RowError(i + 1, e.getMessage()));
+            }
+        }
+
+        int imported = 0;
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            List<ValidRow> chunk = valid.subList(from, Math.min(from + CHUNK_SIZE, valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> storeChunk(user, chunk, outcomes));
+                imported += chunk.size();
+            } catch (RuntimeException e) {
+                for (ValidRow row : chunk) {
+                    errors.add(new ImportResult.RowError(row.row(), "Import failed: " + e.getMessage()));
+                }
+            } finally {
+                entityManager.clear(); // do not keep entities of a failed chunk managed
+            }
+        }
+
+        if (imported > 0) {
+            analyticsCache.evictUser(userId);
+            transactionColumnStore.evictUser(userId);
+            dashboardEvents.transactionsImported(userId, outcomes ? "outcome" : "income", imported);
+        }
+        errors.sort(Comparator.comparingInt(ImportResult.RowError::row));
+        return new ImportResult(imported, errors);
+    }
+
+    private void storeChunk(User user, List<ValidRow> chunk, boolean outcomes) {
+        if (outcomes) {
+            outcomeRepository.saveAll(chunk.stream()
+                    .map(r -> new Outcome(user, r.category(), r.amountCents(), r.description(), r.date()))
+                    .toList());
+        } else {
+            incomeRepository.saveAll(chunk.stream()
+                    .map(r -> new Income(user, r.category(), r.amountCents(), r.description(), r.date()))
+                    .toList());
+        }
+        // Send the inserts as JDBC batches now and detach them, so the native rollup upserts
+        // below do not dirty-check the whole chunk before each statement
+        entityManager.flush();
+        entityManager.clear();
+
+        // One rollup update per category and day instead of one per row
+        Map<RollupKey, long[]> totals = new HashMap<>();
+        for (ValidRow r : chunk) {
+            long[] total = totals.computeIfAbsent(new RollupKey(r.category().getCategory_id(), r.date()), k -> new long[2]);
+            total[0] += r.amountCents();
+            total[1]++;
+        }
+        totals.forEach((key, total) -> dailyRollupService.addTotals(user.getId(), key.categoryId(), key.day(),
+                outcomes ? 0 : total[0], outcomes ? total[0] : 0, total[1]));
+        if (outcomes) {
+            totals.forEach((key, total) -> budgetPeriodSpendService.addOutcomes(user.getId(), key.categoryId(),
+                    key.day(), total[0], total[1]));
+        }
+    }
+
+    /**
+     * Checks a single row and resolves its category.
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    private ValidRow validate(int rowNumber, ImportRow row, boolean outcomes, Categories categories) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row is empty");
+        }
+
+        if (row.date() == null || row.date().isBlank()) {
+            throw new IllegalArgumentException("Date is required");
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(row.date().trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + row.date());
+        }
+
+        Category category;
+        if (row.categoryId() != null) {
+            category = categories.byId().get(row.categoryId());
+            if (category == null) {
+                throw new IllegalArgumentException("Category not found: " + row.categoryId());
+            }
+        } else if (row.category() != null && !row.category().isBlank()) {
+            category = categories.byName(row.category().trim());
+        } else {
+            throw new IllegalArgumentException("Category is required");
+        }
+
+        long amountCents = Money.parseCents(row.amount());
+        if (outcomes) {
+            if (amountCents == 0) {
+                throw new IllegalArgumentException("Amount must not be zero");
+            }
+            amountCents = -Math.abs(amountCents);
+        } else if (amountCents <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+
+        String description = row.description() == null ? "" : row.description();
+        return new ValidRow(rowNumber, date, category, amountCents, description);
+    }
+
+    /**
+     * A validated row ready to be stored.
+     */
+    private record ValidRow(int row, LocalDate date, Category category, long amountCents, String description) {
+    }
+
+    /**
+     * Categories of one import, looked up by ID or by name.
+     * <p>
+     * Names are matched exactly first. Category names are unique only case-sensitively, so a name
+     * that matches no category exactly falls back to a case-insensitive match only if that match is unique.
+     */
+    private record Categories(Map<Long, Category> byId, Map<String, Category> byExactName,
+                              Map<String, Category> byFoldedName, Set<String> ambiguousFoldedNames) {
+
+        static Categories of(List<Category> categories) {
+            Map<Long, Category> byId = new HashMap<>();
+            Map<String, Category> byExactName = new HashMap<>();
+            Map<String, Category> byFoldedName = new HashMap<>();
+            Set<String> ambiguousFoldedNames = new HashSet<>();
+            for (Category category : categories) {
+                byId.put(category.getCategory_id(), category);
+                String name = category.getCategory();
+                if (name == null) {
+                    continue;
+                }
+                byExactName.put(name, category);
+                String folded = name.toLowerCase(Locale.ROOT);
+                if (byFoldedName.putIfAbsent(folded, category) != null) {
+                    ambiguousFoldedNames.add(folded);
+                }
+            }
+            return new Categories(byId, byExactName, byFoldedName, ambiguousFoldedNames);
+        }
+
+        /**
+         * Resolves a category name.
+         *
+         * @throws IllegalArgumentException if no category or several categories match the name
+         */
+        Category byName(String name) {
+            Category category = byExactName.get(name);
+            if (category != null) {
+                return category;
+            }
+            String folded = name.toLowerCase(Locale.ROOT);
+            if (ambiguousFoldedNames.contains(folded)) {
+                throw new IllegalArgumentException("Category name is ambiguous, use the exact case: " + name);
+            }
+            category = byFoldedName.get(folded);
+            if (category == null) {
+                throw new IllegalArgumentException("Category not found: " + name);
+            }
+            return category;
+        }
+    }
+
+    /**
+     * Category and day of a daily rollup row.
+     */
+    private record RollupKey(Long categoryId, LocalDate day) {
+    }
+}
@@ -1,6 +1,10 @@
 package dev.katsiaryna.budgettracker.Income;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import dev.katsiaryna.budgettracker.Category.Category;
+import dev.katsiaryna.budgettracker.Money;
 import dev.katsiaryna.budgettracker.User.User;
 import jakarta.persistence.Entity;
 import jakarta.persistence.*;
@@ -16,7 +20,7 @@ public class Income {
 
     /** Unique identifier for the income entry */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "increment") // MAX(id) + 1 kept in memory, so inserts can be JDBC-batched
     private Long incomeId;
 
     /** The user who owns this income */
@@ -29,9 +33,12 @@ public class Income {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    /** The income amount */
-    @Column(nullable = false)
-    private Double amount;
+    /** The income amount in cents (exposed as a decimal "amount" in JSON) */
+    @Column(name = "amount_cents", nullable = false)
+    @JsonProperty("amount")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private long amountCents;
 
     /** A short description or label for the income */
     @Column(nullable = false)
@@ -51,16 +58,16 @@ public class Income {
     /**
      * Parameterized constructor to initialize an income entry.
      *
-     * @param user the user who received the income
-     * @param category the category of the income
-     * @param amount the income amount
+     * @param user        the user who received the income
+     * @param category    the category of the income
+     * @param amountCents the income amount in cents
      * @param description short description of the income
-     * @param date the date the income was received
+     * @param date        the date the income was received
      */
-    public Income(User user, Category category, Double amount, String description, LocalDate date) {
+    public Income(User user, Category category, long amountCents, String description, LocalDate date) {
         this.user = user;
         this.category = category;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.description = description;
         this.date = date;
     }
@@ -81,9 +88,9 @@ public class Income {
         return category;
     }
 
-    /** @return the amount of income */
-    public Double getAmount() {
-        return amount;
+    /** @return the amount of income in cents */
+    public long getAmountCents() {
+        return amountCents;
     }
 
     /** @return the description of the income */
@@ -112,9 +119,9 @@ public class Income {
         this.category = category;
     }
 
-    /** @param amount the amount to assign */
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    /** @param amountCents the amount in cents to assign */
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 
     /** @param description the description to assign */
@@ -137,7 +144,7 @@ public class Income {
                 "incomeId=" + incomeId +
                 ", user=" + user +
                 ", category=" + category.getCategory() +
-                ", amount=" + amount +
+                ", amount=" + Money.toDecimal(amountCents) +
                 ", description='" + description + '\'' +
                 ", date=" + date +
                 '}';
@@ -1,14 +1,20 @@
 package dev.katsiaryna.budgettracker.Income;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import dev.katsiaryna.budgettracker.Category.Category;
-import dev.katsiaryna.budgettracker.Category.CategoryRepository;
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
+import dev.katsiaryna.budgettracker.CsvWriter;
+import dev.katsiaryna.budgettracker.CursorPage;
+import dev.katsiaryna.budgettracker.Import.ImportRow;
+import dev.katsiaryna.budgettracker.Import.TransactionImportService;
 
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
@@ -18,15 +24,21 @@ import java.util.List;
 @RequestMapping("/api/v1/incomes")
 public class IncomeController {
 
+    /** Largest page a client may request from the listing endpoint */
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final IncomeService incomeService;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final TransactionImportService transactionImportService;
 
     /**
      * Constructor for injecting service and repository dependencies.
      */
-    public IncomeController(IncomeService incomeService, CategoryRepository categoryRepository) {
+    public IncomeController(IncomeService incomeService, CategoryCatalog categoryCatalog,
+                            TransactionImportService transactionImportService) {
         this.incomeService = incomeService;
-        this.categoryRepository = categoryRepository;
+        this.categoryCatalog = categoryCatalog;
+        this.transactionImportService = transactionImportService;
     }
 
     /**
@@ -35,15 +47,15 @@ public class IncomeController {
     @PostMapping
     public ResponseEntity<String> addIncome(@RequestBody IncomeRequest request) {
         try {
-            // Fetch category from DB
-            Category category = categoryRepository.findById(request.getCategoryId())
+            // Resolve category from the in-memory catalog
+            Category category = categoryCatalog.findById(request.getCategoryId())
                     .orElseThrow(() -> new RuntimeException("Category not found"));
 
             // Call service to add income
             incomeService.addIncome(
                     request.getUserId(),
                     category.getCategory_id(),
-                    request.getAmount(),
+                    request.getAmountCents(),
                     request.getDescription(),
                     request.getDate()
             );
@@ -66,7 +78,7 @@ public class IncomeController {
             incomeService.updateIncome(
                     id,
                     request.getCategoryId(),
-                    request.getAmount(),
+                    request.getAmountCents(),
                     request.getDescription(),
                     request.getDate()
             );
@@ -101,14 +113,33 @@ public class IncomeController {
     }
 
     /**
-     * Retrieves all incomes for a given user.
+     * Retrieves one page of incomes for a given user, newest first.
      *
-     * @param userId the user ID
-     * @return list of incomes
+     * @param userId     the user ID
+     * @param cursor     the {@code nextCursor} of the previous page; omit for the first page
+     * @param size       the page size (default 20, at most 100)
+     * @param from       optional start date (inclusive)
+     * @param to         optional end date (inclusive)
+     * @param categoryId optional category filter
+     * @return page of incomes with the cursor of the next page, or 400 for a malformed cursor or date
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Income>> getIncomesByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(incomeService.getIncomesByUser(userId));
+    public ResponseEntity<CursorPage<IncomeListItem>> getIncomesByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long categoryId
+    ) {
+        try {
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            LocalDate start = from != null ? LocalDate.parse(from) : null;
+            LocalDate end = to != null ? LocalDate.parse(to) : null;
+            return ResponseEntity.ok(incomeService.getIncomePage(userId, cursor, pageSize, start, end, categoryId));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -127,6 +158,41 @@ public class IncomeController {
         }
     }
 
+    /**
+     * Imports many incomes at once from a JSON array.
+     * Valid rows are stored even if others are rejected; rejected rows are listed in the result.
+     *
+     * @param userId the user ID
+     * @param rows   the incomes to import
+     * @return the number of imported rows and per-row errors
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importIncomes(@RequestParam Long userId, @RequestBody List<ImportRow> rows) {
+        try {
+            return ResponseEntity.ok(transactionImportService.importIncomes(userId, rows));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to import incomes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Imports many incomes at once from CSV with a Date, Category, Amount and Description header,
+     * the same layout as the export.
+     *
+     * @param userId  the user ID
+     * @param request the request whose body holds the CSV
+     * @return the number of imported rows and per-row errors
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importIncomesCsv(@RequestParam Long userId, HttpServletRequest request) {
+        try {
+            List<ImportRow> rows = transactionImportService.parseCsv(request.getInputStream());
+            return ResponseEntity.ok(transactionImportService.importIncomes(userId, rows));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to import incomes: " + e.getMessage());
+        }
+    }
+
     /**
      * Exports incomes to CSV for a given user and date range.
      *
@@ -143,25 +209,20 @@ public class IncomeController {
             @RequestParam String to,
             HttpServletResponse response
     ) throws IOException {
-        response.setContentType("text/csv");
+        response.setContentType("text/csv; charset=UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=incomes.csv");
 
-        List<Income> incomes = incomeService.getIncomesByUser(userId).stream()
-                .filter(i -> !i.getDate().isBefore(LocalDate.parse(from)) &&
-                        !i.getDate().isAfter(LocalDate.parse(to)))
-                .toList();
-
-        PrintWriter writer = response.getWriter();
-        writer.println("Date,Amount,Description,Category");
-
-        for (Income income : incomes) {
-            writer.printf("%s,%.2f,%s,%s%n",
-                    income.getDate(),
-                    income.getAmount(),
-                    income.getDescription(),
-                    income.getCategory().getCategory());
-        }
-        writer.flush();
+        CsvWriter csv = new CsvWriter(response.getOutputStream());
+        csv.row("Date", "Amount", "Description", "Category");
+
+        // Rows are filtered in SQL and streamed straight to the response
+        incomeService.forEachExportRow(userId, LocalDate.parse(from), LocalDate.parse(to), row -> csv
+                .field((LocalDate) row[0])
+                .amount((Long) row[1])
+                .field((String) row[2])
+                .field((String) row[3])
+                .endRow());
+        csv.flush();
     }
 
 
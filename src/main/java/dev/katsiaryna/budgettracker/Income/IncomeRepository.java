@@ -1,12 +1,17 @@
 package dev.katsiaryna.budgettracker.Income;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Income} entities.
@@ -23,21 +28,122 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
     List<Income> findByUserId(Long userId);
 
     /**
-     * Allows categories to be shown on the charts according to the dates
-     * @param userId
-     * @param start
-     * @param end
-     * @return
-     */
-    @Query(value = """
-    SELECT c.category AS category, SUM(i.amount) AS total
-    FROM incomes i
-    JOIN category c ON i.category_id = c.category_id
-    WHERE i.user_id = :userId AND i.date BETWEEN :start AND :end
-    GROUP BY c.category
-""", nativeQuery = true)
-    List<Object[]> sumByCategoryNameBetweenDates(@Param("userId") Long userId,
-                                                 @Param("start") LocalDate start,
-                                                 @Param("end") LocalDate end);
+     * Finds the most recent incomes of a user, newest first.
+     * Backed by the (user_id, date) index, so only the requested page of rows is read.
+     * Only the listed columns are selected, joined with the category name.
+     *
+     * @param userId   the ID of the user
+     * @param pageable the page to fetch (typically the first page of size N)
+     * @return the latest incomes as list items
+     */
+    @Query("""
+    SELECT new dev.katsiaryna.budgettracker.Income.IncomeListItem(
+        i.incomeId, i.date, i.amountCents, i.description, c.category_id, c.category)
+    FROM Income i JOIN i.category c
+    WHERE i.user.id = :userId
+    ORDER BY i.date DESC, i.incomeId DESC
+""")
+    List<IncomeListItem> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Returns one keyset page of a user's incomes, ordered by date and ID descending.
+     * Only rows positioned strictly before ({@code before}, {@code beforeId}) are returned,
+     * so each page continues where the previous one ended without an OFFSET scan.
+     *
+     * @param userId     the ID of the user
+     * @param from       the earliest date to include
+     * @param before     the latest date to include (the cursor date, or the upper date filter)
+     * @param beforeId   the ID bound applied to rows dated exactly {@code before}
+     * @param categoryId optional category filter, or null for all categories
+     * @param pageable   the page size
+     * @return the incomes on the page as list items
+     */
+    @Query("""
+    SELECT new dev.katsiaryna.budgettracker.Income.IncomeListItem(
+        i.incomeId, i.date, i.amountCents, i.description, c.category_id, c.category)
+    FROM Income i JOIN i.category c
+    WHERE i.user.id = :userId
+      AND i.date BETWEEN :from AND :before
+      AND (i.date < :before OR i.incomeId < :beforeId)
+      AND (:categoryId IS NULL OR c.category_id = :categoryId)
+    ORDER BY i.date DESC, i.incomeId DESC
+""")
+    List<IncomeListItem> findPageByUserId(@Param("userId") Long userId,
+                                         @Param("from") LocalDate from,
+                                         @Param("before") LocalDate before,
+                                         @Param("beforeId") Long beforeId,
+                                         @Param("categoryId") Long categoryId,
+                                         Pageable pageable);
+
+    /**
+     * Streams the CSV export columns of a user's incomes within a date range, ordered by date.
+     * Only scalar columns are selected, so no entities accumulate in the persistence context,
+     * and rows are fetched from the driver in small batches. Must be consumed inside a transaction.
+     *
+     * @param userId the ID of the user
+     * @param start  the first date (inclusive)
+     * @param end    the last date (inclusive)
+     * @return stream of Object arrays containing date, amount in cents, description and category name
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT i.date, i.amountCents, i.description, c.category
+    FROM Income i JOIN i.category c
+    WHERE i.user.id = :userId AND i.date BETWEEN :start AND :end
+    ORDER BY i.date, i.incomeId
+""")
+    Stream<Object[]> streamExportRows(@Param("userId") Long userId,
+                                      @Param("start") LocalDate start,
+                                      @Param("end") LocalDate end);
+
+    /**
+     * Streams the CSV export columns of all of a user's incomes, whatever their date, ordered by date.
+     * Same columns and fetch size as {@link #streamExportRows(Long, LocalDate, LocalDate)}.
+     * Must be consumed inside a transaction.
+     *
+     * @param userId the ID of the user
+     * @return stream of Object arrays containing date, amount in cents, description and category name
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT i.date, i.amountCents, i.description, c.category
+    FROM Income i JOIN i.category c
+    WHERE i.user.id = :userId
+    ORDER BY i.date, i.incomeId
+""")
+    Stream<Object[]> streamAllExportRows(@Param("userId") Long userId);
+
+    /**
+     * Streams the analytics columns of all of a user's incomes, ordered by date and ID.
+     * Only scalar columns are selected and rows are fetched in batches. Must be consumed inside a transaction.
+     *
+     * @param userId the ID of the user
+     * @return stream of Object arrays containing income ID, date, amount in cents and category ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT i.incomeId, i.date, i.amountCents, i.category.category_id
+    FROM Income i
+    WHERE i.user.id = :userId
+    ORDER BY i.date, i.incomeId
+""")
+    Stream<Object[]> streamColumnsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Counts a user's incomes.
+     *
+     * @param userId the ID of the user
+     * @return the number of incomes
+     */
+    long countByUserId(Long userId);
+
+    /**
+     * Sums all income amounts for a user directly in the database.
+     *
+     * @param userId the ID of the user
+     * @return total income amount in cents, or 0 if the user has no incomes
+     */
+    @Query("SELECT COALESCE(SUM(i.amountCents), 0) FROM Income i WHERE i.user.id = :userId")
+    long sumAmountByUserId(@Param("userId") Long userId);
 
 }
@@ -1,6 +1,8 @@
 package dev.katsiaryna.budgettracker.Income;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.katsiaryna.budgettracker.Money;
 
 import java.time.LocalDate;
 
@@ -21,9 +23,11 @@ public class IncomeRequest {
     private Long categoryId;
 
     /**
-     * The monetary amount of the income.
+     * The monetary amount of the income in cents, sent as a decimal "amount".
      */
-    private Double amount;
+    @JsonProperty("amount")
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private Long amountCents;
 
     /**
      * A textual description of the income (e.g., "salary", "bonus").
@@ -54,10 +58,10 @@ public class IncomeRequest {
 
     /**
      * Gets the amount of the income.
-     * @return income amount
+     * @return income amount in cents
      */
-    public Double getAmount() {
-        return amount;
+    public Long getAmountCents() {
+        return amountCents;
     }
 
     /**
@@ -95,10 +99,10 @@ public class IncomeRequest {
 
     /**
      * Sets the amount of the income.
-     * @param amount the amount value
+     * @param amountCents the amount value in cents
      */
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    public void setAmountCents(Long amountCents) {
+        this.amountCents = amountCents;
     }
 
     /**
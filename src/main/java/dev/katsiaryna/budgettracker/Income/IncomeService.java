@@ -1,15 +1,23 @@
 package dev.katsiaryna.budgettracker.Income;
 
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsCache;
+import dev.katsiaryna.budgettracker.Analytics.DailyRollupService;
+import dev.katsiaryna.budgettracker.Analytics.TransactionColumnStore;
+import dev.katsiaryna.budgettracker.Dashboard.DashboardEvents;
 import dev.katsiaryna.budgettracker.Category.Category;
-import dev.katsiaryna.budgettracker.Category.CategoryRepository;
+import dev.katsiaryna.budgettracker.CursorPage;
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
 import dev.katsiaryna.budgettracker.User.User;
 import dev.katsiaryna.budgettracker.User.UserRepository;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class responsible for handling business logic related to income operations.
@@ -19,19 +27,34 @@ public class IncomeService {
 
     private final IncomeRepository incomeRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final DailyRollupService dailyRollupService;
+    private final AnalyticsCache analyticsCache;
+    private final TransactionColumnStore transactionColumnStore;
+    private final DashboardEvents dashboardEvents;
 
     /**
      * Constructor for IncomeService.
      *
-     * @param incomeRepository   The income repository for database operations.
-     * @param userRepository     The user repository to fetch user data.
-     * @param categoryRepository The category repository to fetch category data.
+     * @param incomeRepository       The income repository for database operations.
+     * @param userRepository         The user repository to fetch user data.
+     * @param categoryCatalog        The in-memory catalog to resolve categories.
+     * @param dailyRollupService     The service maintaining the daily rollup totals.
+     * @param analyticsCache         The dashboard cache invalidated on every change.
+     * @param transactionColumnStore The in-memory analytics columns updated on every change.
+     * @param dashboardEvents        The publisher of changes to open dashboard streams.
      */
-    public IncomeService(IncomeRepository incomeRepository, UserRepository userRepository, CategoryRepository categoryRepository) {
+    public IncomeService(IncomeRepository incomeRepository, UserRepository userRepository,
+                         CategoryCatalog categoryCatalog, DailyRollupService dailyRollupService,
+                         AnalyticsCache analyticsCache, TransactionColumnStore transactionColumnStore,
+                         DashboardEvents dashboardEvents) {
         this.incomeRepository = incomeRepository;
         this.userRepository = userRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryCatalog = categoryCatalog;
+        this.dailyRollupService = dailyRollupService;
+        this.analyticsCache = analyticsCache;
+        this.transactionColumnStore = transactionColumnStore;
+        this.dashboardEvents = dashboardEvents;
     }
 
     /**
@@ -39,13 +62,13 @@ public class IncomeService {
      *
      * @param userId      The ID of the user.
      * @param categoryId  The ID of the category.
-     * @param amount      The amount of income (must be positive).
+     * @param amountCents The amount of income in cents (must be positive).
      * @param description The description of the income.
      * @param date        The date the income occurred.
      * @return The saved Income entity.
      */
     @Transactional
-    public Income addIncome(Long userId, Long categoryId, Double amount, String description, LocalDate date) {
+    public Income addIncome(Long userId, Long categoryId, long amountCents, String description, LocalDate date) {
         if (userId == null || categoryId == null) {
             throw new RuntimeException("User ID and Category ID cannot be null");
         }
@@ -54,17 +77,22 @@ public class IncomeService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Fetch category from DB
-        Category category = categoryRepository.findById(categoryId)
+        // Resolve category from the in-memory catalog
+        Category category = categoryCatalog.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
-        if (amount <= 0) {
+        if (amountCents <= 0) {
             throw new RuntimeException("Amount must be positive");
         }
 
         // Create and save the income entry
-        Income income = new Income(user, category, amount, description, date);
-        return incomeRepository.save(income);
+        Income income = new Income(user, category, amountCents, description, date);
+        Income saved = incomeRepository.save(income);
+        dailyRollupService.addIncome(userId, categoryId, date, amountCents);
+        analyticsCache.evictUser(userId);
+        transactionColumnStore.incomeSaved(userId, saved.getIncomeId(), date, categoryId, amountCents);
+        dashboardEvents.transactionSaved(userId, "income", saved.getIncomeId(), date, categoryId, amountCents);
+        return saved;
     }
 
     /**
@@ -72,27 +100,37 @@ public class IncomeService {
      *
      * @param incomeId    The ID of the income to update.
      * @param categoryId  The new category ID.
-     * @param amount      The new amount.
+     * @param amountCents The new amount in cents.
      * @param description The new description.
      * @param date        The new date.
      * @return The updated Income entity.
      */
     @Transactional
-    public Income updateIncome(Long incomeId, Long categoryId, Double amount, String description, LocalDate date) {
+    public Income updateIncome(Long incomeId, Long categoryId, long amountCents, String description, LocalDate date) {
         Income income = incomeRepository.findById(incomeId)
                 .orElseThrow(() -> new RuntimeException("Income not found"));
 
-        // Fetch the new category from the DB
-        Category category = categoryRepository.findById(categoryId)
+        // Resolve the new category from the in-memory catalog
+        Category category = categoryCatalog.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
+        // Move the old values out of the daily rollup before overwriting them
+        dailyRollupService.removeIncome(income.getUser().getId(), income.getCategory().getCategory_id(),
+                income.getDate(), income.getAmountCents());
+
         // Update fields
         income.setCategory(category);
-        income.setAmount(amount);
+        income.setAmountCents(amountCents);
         income.setDescription(description);
         income.setDate(date);
 
-        return incomeRepository.save(income);
+        Income saved = incomeRepository.save(income);
+        dailyRollupService.addIncome(saved.getUser().getId(), categoryId, date, amountCents);
+        analyticsCache.evictUser(saved.getUser().getId());
+        transactionColumnStore.incomeSaved(saved.getUser().getId(), saved.getIncomeId(), date, categoryId, amountCents);
+        dashboardEvents.transactionSaved(saved.getUser().getId(), "income", saved.getIncomeId(), date, categoryId,
+                amountCents);
+        return saved;
     }
 
     /**
@@ -124,15 +162,101 @@ public class IncomeService {
         return incomeRepository.findByUserId(userId);
     }
 
+    /**
+     * Retrieves one page of a user's incomes, newest first, using keyset pagination on (date, id).
+     *
+     * @param userId     the user ID
+     * @param cursor     the cursor returned with the previous page, or null for the first page
+     * @param size       the page size
+     * @param from       optional earliest date (inclusive)
+     * @param to         optional latest date (inclusive)
+     * @param categoryId optional category filter
+     * @return the page of incomes and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<IncomeListItem> getIncomePage(Long userId, String cursor, int size,
+                                        LocalDate from, LocalDate to, Long categoryId) {
+        LocalDate before = to != null ? to : CursorPage.MAX_DATE;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorPage.Cursor position = CursorPage.decodeCursor(cursor);
+            if (!position.date().isAfter(before)) {
+                before = position.date();
+                beforeId = position.id();
+            }
+        }
+
+        List<IncomeListItem> rows = incomeRepository.findPageByUserId(userId, from != null ? from : CursorPage.MIN_DATE,
+                before, beforeId, categoryId, PageRequest.of(0, size + 1));
+        return CursorPage.of(rows, size, IncomeListItem::date, IncomeListItem::incomeId);
+    }
+
+    /**
+     * Retrieves the most recent income entries for a specific user.
+     *
+     * @param userId The ID of the user.
+     * @param limit  The maximum number of entries to return.
+     * @return A list of at most {@code limit} incomes, newest first.
+     */
+    public List<IncomeListItem> getLatestIncomes(Long userId, int limit) {
+        return incomeRepository.findLatestByUserId(userId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Streams the export columns (date, amount in cents, description, category name) of a user's incomes
+     * within a date range to the given consumer, one row at a time.
+     * The transaction keeps the database cursor open while the rows are consumed.
+     *
+     * @param userId The ID of the user.
+     * @param start  The first date (inclusive).
+     * @param end    The last date (inclusive).
+     * @param action The consumer receiving each row.
+     */
+    @Transactional(readOnly = true)
+    public void forEachExportRow(Long userId, LocalDate start, LocalDate end, Consumer<Object[]> action) {
+        try (Stream<Object[]> rows = incomeRepository.streamExportRows(userId, start, end)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * Streams the export columns of all of a user's incomes, without any date bounds, to the given
+     * consumer, one row at a time.
+     *
+     * @param userId The ID of the user.
+     * @param action The consumer receiving each row.
+     */
+    @Transactional(readOnly = true)
+    public void forEachExportRow(Long userId, Consumer<Object[]> action) {
+        try (Stream<Object[]> rows = incomeRepository.streamAllExportRows(userId)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * Calculates the total income amount for a specific user.
+     *
+     * @param userId The ID of the user.
+     * @return The sum of all income amounts belonging to the user, in cents.
+     */
+    public long getTotalIncomeForUser(Long userId) {
+        return incomeRepository.sumAmountByUserId(userId);
+    }
+
     /**
      * Deletes an income entry by its ID.
      *
      * @param id The ID of the income to delete.
      */
+    @Transactional
     public void deleteIncome(Long id) {
-        if (!incomeRepository.existsById(id)) {
-            throw new RuntimeException("Income not found");
-        }
-        incomeRepository.deleteById(id);
+        Income income = incomeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Income not found"));
+        incomeRepository.delete(income);
+        dailyRollupService.removeIncome(income.getUser().getId(), income.getCategory().getCategory_id(),
+                income.getDate(), income.getAmountCents());
+        analyticsCache.evictUser(income.getUser().getId());
+        transactionColumnStore.incomeDeleted(income.getUser().getId(), income.getIncomeId());
+        dashboardEvents.transactionDeleted(income.getUser().getId(), "income", income.getIncomeId());
     }
 }
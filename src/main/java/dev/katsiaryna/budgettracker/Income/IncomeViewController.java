@@ -1,8 +1,8 @@
 package dev.katsiaryna.budgettracker.Income;
 
-import dev.katsiaryna.budgettracker.User.User;
-import dev.katsiaryna.budgettracker.User.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import dev.katsiaryna.budgettracker.User.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
@@ -15,8 +15,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class IncomeViewController {
 
-    @Autowired
-    private UserRepository userRepository;
+    private static final Logger log = LoggerFactory.getLogger(IncomeViewController.class);
 
     /**
      * Handles GET request to the income page.
@@ -32,11 +31,11 @@ public class IncomeViewController {
 
         // If user is not authenticated, redirect to login
         if (authentication == null) {
-            System.out.println("Authentication is null. Redirecting to login.");
+            log.debug("Authentication is null. Redirecting to login.");
             return "redirect:/login";
         }
-        if (!authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            System.out.println("User is not authenticated. Redirecting to login.");
+        if (!authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            log.debug("User is not authenticated. Redirecting to login.");
             return "redirect:/login";
         }
 
@@ -44,10 +43,8 @@ public class IncomeViewController {
         String username = authentication.getName();
         model.addAttribute("username", username);
 
-        // Look up the user entity and add their ID to the model
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        model.addAttribute("userId", user.getId());
+        // Add their ID to the model, taken from the principal without a database lookup
+        model.addAttribute("userId", principal.getId());
 
         // Return Thymeleaf view for income
         return "income/index";
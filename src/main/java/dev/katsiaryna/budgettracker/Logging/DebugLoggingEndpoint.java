@@ -0,0 +1,61 @@
+package dev.katsiaryna.budgettracker.Logging;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Actuator endpoint switching debug logging on and off for single users at runtime.
+ * <p>
+ * {@code GET /actuator/debuglogging} lists the users with debug logging,
+ * {@code POST /actuator/debuglogging/{userId}} with {@code {"enabled": true}} (or false) toggles
+ * a user. The setting is kept in memory and resets on restart.
+ */
+@Component
+@Endpoint(id = "debuglogging")
+public class DebugLoggingEndpoint {
+
+    private final Set<Long> users = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Lists the users whose requests are logged at DEBUG.
+     *
+     * @return map with the sorted user IDs under "users"
+     */
+    @ReadOperation
+    public Map<String, Set<Long>> users() {
+        return Map.of("users", new TreeSet<>(users));
+    }
+
+    /**
+     * Switches debug logging for a user on or off.
+     *
+     * @param userId  the user ID
+     * @param enabled whether the user's requests are logged at DEBUG
+     */
+    @WriteOperation
+    public void setEnabled(@Selector Long userId, boolean enabled) {
+        if (enabled) {
+            users.add(userId);
+        } else {
+            users.remove(userId);
+        }
+    }
+
+    /**
+     * Checks whether a user's requests are logged at DEBUG.
+     *
+     * @param userId the user ID
+     * @return true if debug logging is on for the user
+     */
+    public boolean isEnabled(Long userId) {
+        return !users.isEmpty() && users.contains(userId);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.katsiaryna.budgettracker.Logging;
+
+import dev.katsiaryna.budgettracker.User.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Puts the logged-in user's ID into the logging MDC and marks requests for debug logging.
+ * <p>
+ * A request is logged at DEBUG (see {@link DebugLoggingTurboFilter}) when it carries the header
+ * {@value #HEADER}{@code : true} and {@code debug-logging.header-enabled} is set (only in the
+ * {@code dev} profile by default, as any client could otherwise raise the log volume), or when debug
+ * logging is switched on for its user through {@link DebugLoggingEndpoint}. Runs after Spring
+ * Security, so the authenticated principal is available.
+ */
+@Component
+public class DebugLoggingFilter extends OncePerRequestFilter {
+
+    /** Request header enabling debug logging for a single request */
+    public static final String HEADER = "X-Debug-Logging";
+
+    private final DebugLoggingEndpoint debugLoggingEndpoint;
+    private final boolean headerEnabled;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param debugLoggingEndpoint the users with debug logging switched on
+     * @param headerEnabled        whether the {@value #HEADER} header is honoured
+     */
+    public DebugLoggingFilter(DebugLoggingEndpoint debugLoggingEndpoint,
+                              @Value("${debug-logging.header-enabled:false}") boolean headerEnabled) {
+        this.debugLoggingEndpoint = debugLoggingEndpoint;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId() : null;
+        boolean debug = (headerEnabled && "true".equalsIgnoreCase(request.getHeader(HEADER)))
+                || (userId != null && debugLoggingEndpoint.isEnabled(userId));
+
+        if (userId != null) {
+            MDC.put("userId", userId.toString());
+        }
+        if (debug) {
+            MDC.put(DebugLoggingTurboFilter.MDC_KEY, "true");
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove("userId");
+            MDC.remove(DebugLoggingTurboFilter.MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package dev.katsiaryna.budgettracker.Logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Logback filter enabling DEBUG output of selected loggers for single requests, whatever their level.
+ * <p>
+ * {@link DebugLoggingFilter} marks a request for debug logging in the MDC; while it is processed,
+ * DEBUG events of loggers whose names start with one of the configured prefixes are accepted.
+ * All other requests keep the configured levels, so production can run at INFO and still trace
+ * one user or one request without a restart. Registered in {@code logback-spring.xml}.
+ */
+public class DebugLoggingTurboFilter extends TurboFilter {
+
+    /** MDC key marking a request for debug logging */
+    public static final String MDC_KEY = "debugLogging";
+
+    private List<String> prefixes = List.of("dev.katsiaryna.budgettracker", "org.springframework.web");
+
+    /**
+     * Sets the logger name prefixes debug logging applies to.
+     *
+     * @param loggers comma-separated logger name prefixes
+     */
+    public void setLoggers(String loggers) {
+        this.prefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || !level.isGreaterOrEqual(Level.DEBUG) || MDC.get(MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
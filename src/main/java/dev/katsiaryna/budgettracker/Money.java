@@ -0,0 +1,113 @@
+package dev.katsiaryna.budgettracker;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Conversions between money amounts and the whole cents they are stored and summed in.
+ * <p>
+ * Entities, aggregates and the daily rollup keep amounts as {@code long} cents, so sums are exact
+ * and need no boxing. Amounts only become decimals at the edges: JSON fields holding cents are
+ * annotated with {@link CentsSerializer} and {@link CentsDeserializer}, so clients keep sending and
+ * receiving numbers such as {@code 12.34}, and CSV files are written by {@link CsvWriter#amount(long)}.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Converts a decimal amount to cents.
+     *
+     * @param amount the amount, with at most two decimal places
+     * @return the amount in cents
+     * @throws IllegalArgumentException if the amount is missing, has more than two decimal places or is too large
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount: " + amount.toPlainString()
+                    + " (at most two decimal places are allowed)");
+        }
+    }
+
+    /**
+     * Parses a decimal amount such as {@code "12.34"} to cents.
+     *
+     * @param text the amount as text
+     * @return the amount in cents
+     * @throws IllegalArgumentException if the text is not a valid amount
+     */
+    public static long parseCents(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        try {
+            return toCents(new BigDecimal(text.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + text);
+        }
+    }
+
+    /**
+     * Converts cents to a decimal amount with two decimal places.
+     *
+     * @param cents the amount in cents
+     * @return the decimal amount
+     */
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Writes a cents field as a decimal JSON number.
+     */
+    public static class CentsSerializer extends StdSerializer<Long> {
+
+        /**
+         * Creates the serializer.
+         */
+        public CentsSerializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(toDecimal(cents));
+        }
+    }
+
+    /**
+     * Reads a decimal JSON number (or numeric string) into a cents field.
+     * Amounts with more than two decimal places are rejected as invalid input.
+     */
+    public static class CentsDeserializer extends StdScalarDeserializer<Long> {
+
+        /**
+         * Creates the deserializer.
+         */
+        public CentsDeserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            try {
+                return parseCents(parser.getValueAsString());
+            } catch (IllegalArgumentException e) {
+                return (Long) context.handleWeirdStringValue(Long.class, parser.getText(), e.getMessage());
+            }
+        }
+    }
+}
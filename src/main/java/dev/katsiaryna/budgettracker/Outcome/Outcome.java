@@ -1,6 +1,10 @@
 package dev.katsiaryna.budgettracker.Outcome;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import dev.katsiaryna.budgettracker.Category.Category;
+import dev.katsiaryna.budgettracker.Money;
 import dev.katsiaryna.budgettracker.User.User;
 import jakarta.persistence.Entity;
 import jakarta.persistence.*;
@@ -16,7 +20,7 @@ public class Outcome {
 
     /** Unique identifier for the outcome entry */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "increment") // MAX(id) + 1 kept in memory, so inserts can be JDBC-batched
     private Long outcomeId;
 
     /** The user who owns this outcome */
@@ -29,9 +33,12 @@ public class Outcome {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    /** The amount spent */
-    @Column(nullable = false)
-    private Double amount;
+    /** The amount spent in cents, stored negative (exposed as a decimal "amount" in JSON) */
+    @Column(name = "amount_cents", nullable = false)
+    @JsonProperty("amount")
+    @JsonSerialize(using = Money.CentsSerializer.class)
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private long amountCents;
 
     /** Description of the outcome */
     @Column(nullable = false)
@@ -44,16 +51,16 @@ public class Outcome {
     /**
      * Parameterized constructor for creating an Outcome instance.
      *
-     * @param user The user who logged the outcome.
-     * @param category The category of the outcome.
-     * @param amount The amount spent.
+     * @param user        The user who logged the outcome.
+     * @param category    The category of the outcome.
+     * @param amountCents The amount spent in cents.
      * @param description Description of the outcome.
-     * @param date Date of the outcome.
+     * @param date        Date of the outcome.
      */
-    public Outcome(User user, Category category, Double amount, String description, LocalDate date) {
+    public Outcome(User user, Category category, long amountCents, String description, LocalDate date) {
         this.user = user;
         this.category = category;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.description = description;
         this.date = date;
     }
@@ -88,10 +95,10 @@ public class Outcome {
     }
 
     /**
-     * @return the amount of the outcome
+     * @return the amount of the outcome in cents
      */
-    public Double getAmount() {
-        return amount;
+    public long getAmountCents() {
+        return amountCents;
     }
 
     /**
@@ -124,10 +131,10 @@ public class Outcome {
     }
 
     /**
-     * @param amount Sets the amount of the outcome
+     * @param amountCents Sets the amount of the outcome in cents
      */
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 
     /**
@@ -152,7 +159,7 @@ public class Outcome {
                 "outcomeId=" + outcomeId +
                 ", user=" + user +
                 ", category=" + category.getCategory() +
-                ", amount=" + amount +
+                ", amount=" + Money.toDecimal(amountCents) +
                 ", description='" + description + '\'' +
                 ", date=" + date +
                 '}';
@@ -1,14 +1,20 @@
 package dev.katsiaryna.budgettracker.Outcome;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import dev.katsiaryna.budgettracker.Category.Category;
-import dev.katsiaryna.budgettracker.Category.CategoryRepository;
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
+import dev.katsiaryna.budgettracker.CsvWriter;
+import dev.katsiaryna.budgettracker.CursorPage;
+import dev.katsiaryna.budgettracker.Import.ImportRow;
+import dev.katsiaryna.budgettracker.Import.TransactionImportService;
 
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
@@ -18,18 +24,25 @@ import java.util.List;
 @RequestMapping("/api/v1/outcomes")
 public class OutcomeController {
 
+    /** Largest page a client may request from the listing endpoint */
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OutcomeService outcomeService;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final TransactionImportService transactionImportService;
 
     /**
      * Constructor to inject required services.
      *
-     * @param outcomeService      Service for outcome logic.
-     * @param categoryRepository  Repository to manage categories.
+     * @param outcomeService            Service for outcome logic.
+     * @param categoryCatalog           Catalog to resolve categories.
+     * @param transactionImportService  Service for bulk imports.
      */
-    public OutcomeController(OutcomeService outcomeService, CategoryRepository categoryRepository) {
+    public OutcomeController(OutcomeService outcomeService, CategoryCatalog categoryCatalog,
+                             TransactionImportService transactionImportService) {
         this.outcomeService = outcomeService;
-        this.categoryRepository = categoryRepository;
+        this.categoryCatalog = categoryCatalog;
+        this.transactionImportService = transactionImportService;
     }
 
     /**
@@ -41,15 +54,15 @@ public class OutcomeController {
     @PostMapping
     public ResponseEntity<String> addOutcome(@RequestBody OutcomeRequest request) {
        try{
-            // Fetch category from DB
-            Category category = categoryRepository.findById(request.getCategoryId())
+            // Resolve category from the in-memory catalog
+            Category category = categoryCatalog.findById(request.getCategoryId())
                     .orElseThrow(() -> new RuntimeException("Category not found"));
 
             // Call service to add outcome
             outcomeService.addOutcome(
                     request.getUserId(),
                     category.getCategory_id(),
-                    request.getAmount(),
+                    request.getAmountCents(),
                     request.getDescription(),
                     request.getDate()
             );
@@ -72,7 +85,7 @@ public class OutcomeController {
             outcomeService.updateOutcome(
                     id,
                     request.getCategoryId(),
-                    request.getAmount(),
+                    request.getAmountCents(),
                     request.getDescription(),
                     request.getDate()
             );
@@ -103,13 +116,32 @@ public class OutcomeController {
     }
 
     /**
-     * Returns all outcomes for a given user.
+     * Returns one page of outcomes for a given user, newest first.
      *
-     * @param userId ID of the user.
+     * @param userId     ID of the user.
+     * @param cursor     The nextCursor of the previous page; omit for the first page.
+     * @param size       Page size (default 20, at most 100).
+     * @param from       Optional start date (inclusive).
+     * @param to         Optional end date (inclusive).
+     * @param categoryId Optional category filter.
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Outcome>> getOutcomesByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(outcomeService.getOutcomesByUser(userId));
+    public ResponseEntity<CursorPage<OutcomeListItem>> getOutcomesByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long categoryId
+    ) {
+        try {
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            LocalDate start = from != null ? LocalDate.parse(from) : null;
+            LocalDate end = to != null ? LocalDate.parse(to) : null;
+            return ResponseEntity.ok(outcomeService.getOutcomePage(userId, cursor, pageSize, start, end, categoryId));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -128,6 +160,41 @@ public class OutcomeController {
         }
     }
 
+    /**
+     * Imports many outcomes at once from a JSON array.
+     * Valid rows are stored even if others are rejected; rejected rows are listed in the result.
+     *
+     * @param userId the user ID
+     * @param rows   the outcomes to import
+     * @return the number of imported rows and per-row errors
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importOutcomes(@RequestParam Long userId, @RequestBody List<ImportRow> rows) {
+        try {
+            return ResponseEntity.ok(transactionImportService.importOutcomes(userId, rows));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to import outcomes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Imports many outcomes at once from CSV with a Date, Category, Amount and Description header,
+     * the same layout as the export.
+     *
+     * @param userId  the user ID
+     * @param request the request whose body holds the CSV
+     * @return the number of imported rows and per-row errors
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importOutcomesCsv(@RequestParam Long userId, HttpServletRequest request) {
+        try {
+            List<ImportRow> rows = transactionImportService.parseCsv(request.getInputStream());
+            return ResponseEntity.ok(transactionImportService.importOutcomes(userId, rows));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to import outcomes: " + e.getMessage());
+        }
+    }
+
     /**
      * Exports outcomes to CSV file for a specific user within a given date range.
      *
@@ -143,25 +210,20 @@ public class OutcomeController {
             @RequestParam String to,
             HttpServletResponse response
     ) throws IOException {
-        response.setContentType("text/csv");
+        response.setContentType("text/csv; charset=UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=outcomes.csv");
 
-        List<Outcome> outcomes = outcomeService.getOutcomesByUser(userId).stream()
-                .filter(o -> !o.getDate().isBefore(LocalDate.parse(from)) &&
-                        !o.getDate().isAfter(LocalDate.parse(to)))
-                .toList();
-
-        PrintWriter writer = response.getWriter();
-        writer.println("Date,Amount,Description,Category");
-
-        for (Outcome outcome : outcomes) {
-            writer.printf("%s,%.2f,%s,%s%n",
-                    outcome.getDate(),
-                    outcome.getAmount(),
-                    outcome.getDescription(),
-                    outcome.getCategory().getCategory());
-        }
-        writer.flush();
+        CsvWriter csv = new CsvWriter(response.getOutputStream());
+        csv.row("Date", "Amount", "Description", "Category");
+
+        // Rows are filtered in SQL and streamed straight to the response
+        outcomeService.forEachExportRow(userId, LocalDate.parse(from), LocalDate.parse(to), row -> csv
+                .field((LocalDate) row[0])
+                .amount((Long) row[1])
+                .field((String) row[2])
+                .field((String) row[3])
+                .endRow());
+        csv.flush();
     }
 
 
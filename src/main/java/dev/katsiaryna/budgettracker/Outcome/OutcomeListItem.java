@@ -0,0 +1,27 @@
+package dev.katsiaryna.budgettracker.Outcome;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.katsiaryna.budgettracker.Money;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome as shown in listings, selected directly by the query instead of loading the entity
+ * with its user and category, so list responses contain only what the pages display.
+ *
+ * @param outcomeId    the ID of the outcome
+ * @param date         the date of the outcome
+ * @param amountCents  the amount in cents (negative, as stored), written as a decimal "amount" in JSON
+ * @param description  the description
+ * @param categoryId   the ID of the category
+ * @param categoryName the name of the category
+ */
+public record OutcomeListItem(
+        Long outcomeId,
+        LocalDate date,
+        @JsonProperty("amount") @JsonSerialize(using = Money.CentsSerializer.class) long amountCents,
+        String description,
+        Long categoryId,
+        String categoryName) {
+}
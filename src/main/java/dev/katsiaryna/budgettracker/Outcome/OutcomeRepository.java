@@ -2,13 +2,17 @@ package dev.katsiaryna.budgettracker.Outcome;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Outcome entity.
@@ -24,26 +28,161 @@ public interface OutcomeRepository extends JpaRepository<Outcome, Long> {
      */
     List<Outcome> findByUserId(Long userId);
 
+    /**
+     * Finds the most recent outcomes of a user, newest first.
+     * Backed by the (user_id, date) index, so only the requested page of rows is read.
+     * Only the listed columns are selected, joined with the category name.
+     *
+     * @param userId   ID of the user.
+     * @param pageable The page to fetch (typically the first page of size N).
+     * @return the latest outcomes as list items
+     */
+    @Query("""
+    SELECT new dev.katsiaryna.budgettracker.Outcome.OutcomeListItem(
+        o.outcomeId, o.date, o.amountCents, o.description, c.category_id, c.category)
+    FROM Outcome o JOIN o.category c
+    WHERE o.user.id = :userId
+    ORDER BY o.date DESC, o.outcomeId DESC
+""")
+    List<OutcomeListItem> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Returns one keyset page of a user's outcomes, ordered by date and ID descending.
+     * Only rows positioned strictly before ({@code before}, {@code beforeId}) are returned,
+     * so each page continues where the previous one ended without an OFFSET scan.
+     *
+     * @param userId     the ID of the user
+     * @param from       the earliest date to include
+     * @param before     the latest date to include (the cursor date, or the upper date filter)
+     * @param beforeId   the ID bound applied to rows dated exactly {@code before}
+     * @param categoryId optional category filter, or null for all categories
+     * @param pageable   the page size
+     * @return the outcomes on the page as list items
+     */
+    @Query("""
+    SELECT new dev.katsiaryna.budgettracker.Outcome.OutcomeListItem(
+        o.outcomeId, o.date, o.amountCents, o.description, c.category_id, c.category)
+    FROM Outcome o JOIN o.category c
+    WHERE o.user.id = :userId
+      AND o.date BETWEEN :from AND :before
+      AND (o.date < :before OR o.outcomeId < :beforeId)
+      AND (:categoryId IS NULL OR c.category_id = :categoryId)
+    ORDER BY o.date DESC, o.outcomeId DESC
+""")
+    List<OutcomeListItem> findPageByUserId(@Param("userId") Long userId,
+                                         @Param("from") LocalDate from,
+                                         @Param("before") LocalDate before,
+                                         @Param("beforeId") Long beforeId,
+                                         @Param("categoryId") Long categoryId,
+                                         Pageable pageable);
+
+    /**
+     * Streams the CSV export columns of a user's outcomes within a date range, ordered by date.
+     * Only scalar columns are selected, so no entities accumulate in the persistence context,
+     * and rows are fetched from the driver in small batches. Must be consumed inside a transaction.
+     *
+     * @param userId the ID of the user
+     * @param start  the first date (inclusive)
+     * @param end    the last date (inclusive)
+     * @return stream of Object arrays containing date, amount in cents, description and category name
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT o.date, o.amountCents, o.description, c.category
+    FROM Outcome o JOIN o.category c
+    WHERE o.user.id = :userId AND o.date BETWEEN :start AND :end
+    ORDER BY o.date, o.outcomeId
+""")
+    Stream<Object[]> streamExportRows(@Param("userId") Long userId,
+                                      @Param("start") LocalDate start,
+                                      @Param("end") LocalDate end);
+
+    /**
+     * Streams the CSV export columns of all of a user's outcomes, whatever their date, ordered by date.
+     * Same columns and fetch size as {@link #streamExportRows(Long, LocalDate, LocalDate)}.
+     * Must be consumed inside a transaction.
+     *
+     * @param userId the ID of the user
+     * @return stream of Object arrays containing date, amount in cents, description and category name
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT o.date, o.amountCents, o.description, c.category
+    FROM Outcome o JOIN o.category c
+    WHERE o.user.id = :userId
+    ORDER BY o.date, o.outcomeId
+""")
+    Stream<Object[]> streamAllExportRows(@Param("userId") Long userId);
+
+    /**
+     * Streams the analytics columns of all of a user's outcomes, ordered by date and ID.
+     * Only scalar columns are selected and rows are fetched in batches. Must be consumed inside a transaction.
+     *
+     * @param userId the ID of the user
+     * @return stream of Object arrays containing outcome ID, date, amount in cents and category ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT o.outcomeId, o.date, o.amountCents, o.category.category_id
+    FROM Outcome o
+    WHERE o.user.id = :userId
+    ORDER BY o.date, o.outcomeId
+""")
+    Stream<Object[]> streamColumnsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Counts a user's outcomes.
+     *
+     * @param userId the ID of the user
+     * @return the number of outcomes
+     */
+    long countByUserId(Long userId);
+
+    /**
+     * Sums all outcome amounts for a user directly in the database.
+     * Outcomes are stored as negative values, so the result is negative as well.
+     *
+     * @param userId ID of the user.
+     * @return Total outcome amount in cents, or 0 if the user has no outcomes.
+     */
+    @Query("SELECT COALESCE(SUM(o.amountCents), 0) FROM Outcome o WHERE o.user.id = :userId")
+    long sumAmountByUserId(@Param("userId") Long userId);
+
     /**
      * Sums the total spent amount for a given user and category.
      * The amount is returned as absolute value to ensure consistency.
      *
      * @param userId     ID of the user.
      * @param categoryId ID of the category.
-     * @return Total absolute spending amount.
+     * @return Total absolute spending amount in cents.
      */
-    @Query("SELECT COALESCE(SUM(ABS(o.amount)), 0) FROM Outcome o WHERE o.user.id = :userId AND o.category.category_id = :categoryId")
-    double sumByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+    @Query("SELECT COALESCE(SUM(ABS(o.amountCents)), 0) FROM Outcome o WHERE o.user.id = :userId AND o.category.category_id = :categoryId")
+    long sumByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    /**
+     * Sums the absolute spending of a user in a category per day, e.g. to rebuild budget period counters.
+     *
+     * @param userId     ID of the user.
+     * @param categoryId ID of the category.
+     * @return List of Object arrays containing the date, the spent amount in cents and the number of outcomes.
+     */
+    @Query("""
+    SELECT o.date, SUM(ABS(o.amountCents)), COUNT(o)
+    FROM Outcome o
+    WHERE o.user.id = :userId AND o.category.category_id = :categoryId
+    GROUP BY o.date
+""")
+    List<Object[]> sumByDayForUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
 
     /**
      * Returns the top spending categories for a user,
      * ordered by the highest total absolute amount.
      *
      * @param userId ID of the user.
-     * @return List of Object arrays containing category name and total spent amount.
+     * @return List of Object arrays containing category name and total spent amount in cents.
      */
     @Query(value = """
-    SELECT c.category, SUM(ABS(o.amount)) AS total 
+    SELECT c.category, SUM(ABS(o.amountCents)) AS total 
     FROM Outcome o 
     JOIN o.category c 
     WHERE o.user.id = :userId 
@@ -52,67 +191,6 @@ public interface OutcomeRepository extends JpaRepository<Outcome, Long> {
     """)
     List<Object[]> findTopCategoriesByAmount(@Param("userId") Long userId);
 
-    /**
-     * Finds the top spending categories for a user within a specific date range.
-     * @param userId
-     * @param start
-     * @param end
-     * @return
-     */
-    @Query(value = """
-    SELECT c.category_name AS category, SUM(o.amount) AS total 
-    FROM outcomes o
-    JOIN category c ON o.category_id = c.category_id
-    WHERE o.user_id = :userId AND o.date BETWEEN :start AND :end
-    GROUP BY c.category_name
-    ORDER BY total DESC
-    LIMIT 5
-""", nativeQuery = true)
-    List<Object[]> findTopSpendingCategoriesByUserAndDate(
-            @Param("userId") Long userId,
-            @Param("start") LocalDate start,
-            @Param("end") LocalDate end);
-
-
-    /**
-     * Finds the total amount spent on a specific category for a user within a specific date range.
-     * @param userId
-     * @param categoryId
-     * @param start
-     * @param end
-     * @return
-     */
-    @Query(value = """
-    SELECT COALESCE(SUM(ABS(o.amount)), 0)
-    FROM outcomes o
-    WHERE o.user_id = :userId AND o.category_id = :categoryId
-      AND o.date BETWEEN :start AND :end
-""", nativeQuery = true)
-    double sumByUserAndCategoryBetweenDates(
-            @Param("userId") Long userId,
-            @Param("categoryId") Long categoryId,
-            @Param("start") LocalDate start,
-            @Param("end") LocalDate end
-    );
-
-    /**
-     *
-     * @param userId
-     * @param start
-     * @param end
-     * @return
-     */
-    @Query(value = """
-    SELECT c.category_name AS category, SUM(o.amount) AS total
-    FROM outcomes o
-    JOIN category c ON o.category_id = c.category_id
-    WHERE o.user_id = :userId AND o.date BETWEEN :start AND :end
-    GROUP BY c.category_name
-""", nativeQuery = true)
-    List<Object[]> sumByCategoryNameBetweenDates(@Param("userId") Long userId,
-                                                 @Param("start") LocalDate start,
-                                                 @Param("end") LocalDate end);
-
 
 
 }
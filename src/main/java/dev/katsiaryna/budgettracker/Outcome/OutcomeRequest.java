@@ -1,5 +1,9 @@
 package dev.katsiaryna.budgettracker.Outcome;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import dev.katsiaryna.budgettracker.Money;
+
 import java.time.LocalDate;
 
 /**
@@ -9,7 +13,9 @@ public class OutcomeRequest {
 
     private Long userId;
     private Long categoryId;
-    private Double amount;
+    @JsonProperty("amount")
+    @JsonDeserialize(using = Money.CentsDeserializer.class)
+    private Long amountCents;
     private String description;
     private LocalDate date;
 
@@ -35,10 +41,10 @@ public class OutcomeRequest {
     /**
      * Gets the amount of the outcome.
      *
-     * @return amount - outcome amount (should be a positive number, stored as negative in DB)
+     * @return amountCents - outcome amount in cents (should be a positive number, stored as negative in DB)
      */
-    public Double getAmount() {
-        return amount;
+    public Long getAmountCents() {
+        return amountCents;
     }
 
     /**
@@ -81,10 +87,10 @@ public class OutcomeRequest {
     /**
      * Sets the amount of the outcome.
      *
-     * @param amount outcome amount
+     * @param amountCents outcome amount in cents
      */
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    public void setAmountCents(Long amountCents) {
+        this.amountCents = amountCents;
     }
 
     /**
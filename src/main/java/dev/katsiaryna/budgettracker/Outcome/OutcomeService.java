@@ -1,10 +1,16 @@
 package dev.katsiaryna.budgettracker.Outcome;
 
+import dev.katsiaryna.budgettracker.Analytics.AnalyticsCache;
+import dev.katsiaryna.budgettracker.Analytics.DailyRollupService;
+import dev.katsiaryna.budgettracker.Analytics.TransactionColumnStore;
+import dev.katsiaryna.budgettracker.Budget.BudgetPeriodSpendService;
+import dev.katsiaryna.budgettracker.Dashboard.DashboardEvents;
 import dev.katsiaryna.budgettracker.Category.Category;
-import dev.katsiaryna.budgettracker.Category.CategoryRepository;
+import dev.katsiaryna.budgettracker.CursorPage;
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
 import dev.katsiaryna.budgettracker.User.User;
 import dev.katsiaryna.budgettracker.User.UserRepository;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -14,7 +20,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for handling business logic related to Outcome (expenses).
@@ -24,7 +32,12 @@ public class OutcomeService {
 
     private final OutcomeRepository outcomeRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final DailyRollupService dailyRollupService;
+    private final AnalyticsCache analyticsCache;
+    private final TransactionColumnStore transactionColumnStore;
+    private final BudgetPeriodSpendService budgetPeriodSpendService;
+    private final DashboardEvents dashboardEvents;
 
     /**
      * Constructor for dependency injection.
@@ -32,11 +45,21 @@ public class OutcomeService {
     public OutcomeService(
             OutcomeRepository outcomeRepository,
             UserRepository userRepository,
-            CategoryRepository categoryRepository
+            CategoryCatalog categoryCatalog,
+            DailyRollupService dailyRollupService,
+            AnalyticsCache analyticsCache,
+            TransactionColumnStore transactionColumnStore,
+            BudgetPeriodSpendService budgetPeriodSpendService,
+            DashboardEvents dashboardEvents
     ) {
         this.outcomeRepository = outcomeRepository;
         this.userRepository = userRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryCatalog = categoryCatalog;
+        this.dailyRollupService = dailyRollupService;
+        this.analyticsCache = analyticsCache;
+        this.transactionColumnStore = transactionColumnStore;
+        this.budgetPeriodSpendService = budgetPeriodSpendService;
+        this.dashboardEvents = dashboardEvents;
     }
 
     /**
@@ -45,13 +68,13 @@ public class OutcomeService {
      *
      * @param userId      the user ID
      * @param categoryId  the category ID
-     * @param amount      the amount (positive, will be saved as negative)
+     * @param amountCents the amount in cents (positive, will be saved as negative)
      * @param description the description of the expense
      * @param date        the date of the transaction
      * @return the saved Outcome entity
      */
     @Transactional
-    public Outcome addOutcome(Long userId, Long categoryId, Double amount, String description, LocalDate date) {
+    public Outcome addOutcome(Long userId, Long categoryId, long amountCents, String description, LocalDate date) {
         if (userId == null || categoryId == null) {
             throw new RuntimeException("User ID and Category ID cannot be null");
         }
@@ -60,16 +83,22 @@ public class OutcomeService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Fetch category from DB
-        Category category = categoryRepository.findById(categoryId)
+        // Resolve category from the in-memory catalog
+        Category category = categoryCatalog.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
         // Automatically convert to negative
-        amount = Math.abs(amount) * -1;
+        amountCents = -Math.abs(amountCents);
 
         // Create and save the outcome entry
-        Outcome outcome = new Outcome(user, category, amount, description, date);
-        return outcomeRepository.save(outcome);
+        Outcome outcome = new Outcome(user, category, amountCents, description, date);
+        Outcome saved = outcomeRepository.save(outcome);
+        dailyRollupService.addOutcome(userId, categoryId, date, amountCents);
+        budgetPeriodSpendService.addOutcome(userId, categoryId, date, amountCents);
+        analyticsCache.evictUser(userId);
+        transactionColumnStore.outcomeSaved(userId, saved.getOutcomeId(), date, categoryId, amountCents);
+        dashboardEvents.transactionSaved(userId, "outcome", saved.getOutcomeId(), date, categoryId, amountCents);
+        return saved;
     }
 
     /**
@@ -77,27 +106,41 @@ public class OutcomeService {
      *
      * @param outcomeId   ID of the outcome to update
      * @param categoryId  new category ID
-     * @param amount      new amount (positive, will be saved as negative)
+     * @param amountCents new amount in cents (positive, will be saved as negative)
      * @param description new description
      * @param date        new date
      * @return updated Outcome
      */
     @Transactional
-    public Outcome updateOutcome(Long outcomeId, Long categoryId, Double amount, String description, LocalDate date) {
+    public Outcome updateOutcome(Long outcomeId, Long categoryId, long amountCents, String description, LocalDate date) {
         Outcome outcome = outcomeRepository.findById(outcomeId)
                 .orElseThrow(() -> new RuntimeException("Outcome not found"));
 
-        // Fetch the new category from the DB
-        Category category = categoryRepository.findById(categoryId)
+        // Resolve the new category from the in-memory catalog
+        Category category = categoryCatalog.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
+        // Move the old values out of the daily rollup and budget periods before overwriting them
+        dailyRollupService.removeOutcome(outcome.getUser().getId(), outcome.getCategory().getCategory_id(),
+                outcome.getDate(), outcome.getAmountCents());
+        budgetPeriodSpendService.removeOutcome(outcome.getUser().getId(), outcome.getCategory().getCategory_id(),
+                outcome.getDate(), outcome.getAmountCents());
+
         // Update fields
         outcome.setCategory(category);
-        outcome.setAmount(Math.abs(amount) * -1); // Always negative
+        outcome.setAmountCents(-Math.abs(amountCents)); // Always negative
         outcome.setDescription(description);
         outcome.setDate(date);
 
-        return outcomeRepository.save(outcome);
+        Outcome saved = outcomeRepository.save(outcome);
+        dailyRollupService.addOutcome(saved.getUser().getId(), categoryId, date, saved.getAmountCents());
+        budgetPeriodSpendService.addOutcome(saved.getUser().getId(), categoryId, date, saved.getAmountCents());
+        analyticsCache.evictUser(saved.getUser().getId());
+        transactionColumnStore.outcomeSaved(saved.getUser().getId(), saved.getOutcomeId(), date, categoryId,
+                saved.getAmountCents());
+        dashboardEvents.transactionSaved(saved.getUser().getId(), "outcome", saved.getOutcomeId(), date, categoryId,
+                saved.getAmountCents());
+        return saved;
     }
 
     /**
@@ -129,26 +172,114 @@ public class OutcomeService {
         return outcomeRepository.findByUserId(userId);
     }
 
+    /**
+     * Retrieves one page of a user's outcomes, newest first, using keyset pagination on (date, id).
+     *
+     * @param userId     the user ID
+     * @param cursor     the cursor returned with the previous page, or null for the first page
+     * @param size       the page size
+     * @param from       optional earliest date (inclusive)
+     * @param to         optional latest date (inclusive)
+     * @param categoryId optional category filter
+     * @return the page of outcomes and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<OutcomeListItem> getOutcomePage(Long userId, String cursor, int size,
+                                        LocalDate from, LocalDate to, Long categoryId) {
+        LocalDate before = to != null ? to : CursorPage.MAX_DATE;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorPage.Cursor position = CursorPage.decodeCursor(cursor);
+            if (!position.date().isAfter(before)) {
+                before = position.date();
+                beforeId = position.id();
+            }
+        }
+
+        List<OutcomeListItem> rows = outcomeRepository.findPageByUserId(userId, from != null ? from : CursorPage.MIN_DATE,
+                before, beforeId, categoryId, PageRequest.of(0, size + 1));
+        return CursorPage.of(rows, size, OutcomeListItem::date, OutcomeListItem::outcomeId);
+    }
+
+    /**
+     * Fetches the most recent outcomes for a specific user.
+     *
+     * @param userId the user ID
+     * @param limit  the maximum number of outcomes to return
+     * @return list of at most {@code limit} outcomes, newest first
+     */
+    public List<OutcomeListItem> getLatestOutcomes(Long userId, int limit) {
+        return outcomeRepository.findLatestByUserId(userId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Streams the export columns (date, amount in cents, description, category name) of a user's outcomes
+     * within a date range to the given consumer, one row at a time.
+     * The transaction keeps the database cursor open while the rows are consumed.
+     *
+     * @param userId the user ID
+     * @param start  the first date (inclusive)
+     * @param end    the last date (inclusive)
+     * @param action the consumer receiving each row
+     */
+    @Transactional(readOnly = true)
+    public void forEachExportRow(Long userId, LocalDate start, LocalDate end, Consumer<Object[]> action) {
+        try (Stream<Object[]> rows = outcomeRepository.streamExportRows(userId, start, end)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * Streams the export columns of all of a user's outcomes, without any date bounds, to the given
+     * consumer, one row at a time.
+     *
+     * @param userId the user ID
+     * @param action the consumer receiving each row
+     */
+    @Transactional(readOnly = true)
+    public void forEachExportRow(Long userId, Consumer<Object[]> action) {
+        try (Stream<Object[]> rows = outcomeRepository.streamAllExportRows(userId)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * Returns the total outcome amount for a user (negative, as outcomes are stored negative).
+     *
+     * @param userId the user ID
+     * @return the sum of all outcome amounts, in cents
+     */
+    public long getTotalOutcomeForUser(Long userId) {
+        return outcomeRepository.sumAmountByUserId(userId);
+    }
+
     /**
      * Deletes an outcome by its ID.
      *
      * @param id the outcome ID
      */
+    @Transactional
     public void deleteOutcome(Long id) {
-        if (!outcomeRepository.existsById(id)) {
-            throw new RuntimeException("Income not found");
-        }
-        outcomeRepository.deleteById(id);
+        Outcome outcome = outcomeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Outcome not found"));
+        outcomeRepository.delete(outcome);
+        dailyRollupService.removeOutcome(outcome.getUser().getId(), outcome.getCategory().getCategory_id(),
+                outcome.getDate(), outcome.getAmountCents());
+        budgetPeriodSpendService.removeOutcome(outcome.getUser().getId(), outcome.getCategory().getCategory_id(),
+                outcome.getDate(), outcome.getAmountCents());
+        analyticsCache.evictUser(outcome.getUser().getId());
+        transactionColumnStore.outcomeDeleted(outcome.getUser().getId(), outcome.getOutcomeId());
+        dashboardEvents.transactionDeleted(outcome.getUser().getId(), "outcome", outcome.getOutcomeId());
     }
 
     /**
-     * Returns the total amount spent by a user in a specific category.
+     * Returns the total amount spent by a user in a specific category, over all time.
      *
      * @param userId     the user ID
      * @param categoryId the category ID
-     * @return the total spent amount
+     * @return the total spent amount, in cents
      */
-    public double getTotalSpentByUserAndCategory(Long userId, Long categoryId) {
+    public long getTotalSpentByUserAndCategory(Long userId, Long categoryId) {
         return outcomeRepository.sumByUserIdAndCategoryId(userId, categoryId);
     }
 
@@ -157,16 +288,16 @@ public class OutcomeService {
      *
      * @param userId the user ID
      * @param topN   the number of top categories to return
-     * @return map of category name to total spending (in descending order)
+     * @return map of category name to total spending in cents (in descending order)
      */
-    public Map<String, Double> getTopSpendingCategories(Long userId, int topN) {
+    public Map<String, Long> getTopSpendingCategories(Long userId, int topN) {
         List<Object[]> rawResults = outcomeRepository.findTopCategoriesByAmount(userId);
 
         return rawResults.stream()
                 .limit(topN)
                 .collect(Collectors.toMap(
                         row -> (String) row[0],
-                        row -> ((Number) row[1]).doubleValue(),
+                        row -> ((Number) row[1]).longValue(),
                         (e1, e2) -> e1,
                         LinkedHashMap::new
                 ));
@@ -1,8 +1,8 @@
 package dev.katsiaryna.budgettracker.Outcome;
 
-import dev.katsiaryna.budgettracker.User.User;
-import dev.katsiaryna.budgettracker.User.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import dev.katsiaryna.budgettracker.User.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,8 +17,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class OutcomeViewController {
 
-    @Autowired
-    private UserRepository userRepository;
+    private static final Logger log = LoggerFactory.getLogger(OutcomeViewController.class);
 
     /**
      * Displays the outcome page for the currently authenticated user.
@@ -34,11 +33,11 @@ public class OutcomeViewController {
 
         // Ensure the user is authenticated before proceeding
         if (authentication == null) {
-            System.out.println("Authentication is null. Redirecting to login.");
+            log.debug("Authentication is null. Redirecting to login.");
             return "redirect:/login";
         }
-        if (!authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            System.out.println("User is not authenticated. Redirecting to login.");
+        if (!authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            log.debug("User is not authenticated. Redirecting to login.");
             return "redirect:/login";
         }
 
@@ -46,10 +45,8 @@ public class OutcomeViewController {
         String username = authentication.getName();
         model.addAttribute("username", username);
 
-        // Retrieve user ID from database and pass it to the view
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        model.addAttribute("userId", user.getId());
+        // The principal carries the user ID, so no database lookup is needed
+        model.addAttribute("userId", principal.getId());
 
         // Render the outcome/index.html page
         return "outcome/index";
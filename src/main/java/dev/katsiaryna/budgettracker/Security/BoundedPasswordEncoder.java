@@ -0,0 +1,108 @@
+package dev.katsiaryna.budgettracker.Security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password encoder running every hash computation of its delegate on a bounded executor.
+ * <p>
+ * BCrypt is deliberately slow, so a burst of logins or registrations hashing on request threads
+ * saturates every CPU and slows down all other requests. Here at most {@code threads} hashes run
+ * at a time and at most {@code queueCapacity} more wait; beyond that a {@link LoginThrottledException}
+ * is thrown immediately instead of queueing without limit. Admission is counted by permits released
+ * when a hash completes, so a hash requested just as a thread finishes is never rejected. Queue size
+ * and active threads are published to Micrometer as {@code executor.*{name="password-hash"}},
+ * rejected logins as the {@code auth.login} timer with {@code outcome=throttled}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+
+    /**
+     * Creates the encoder and its executor.
+     *
+     * @param delegate      the encoder doing the actual hashing
+     * @param threads       number of hashes computed in parallel
+     * @param queueCapacity number of hashes allowed to wait for a thread, 0 to reject whenever all threads are busy
+     * @param meterRegistry registry the executor metrics are published to
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(threads + queueCapacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> { // bounded by the permits
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hash");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // only parses the hash, no need to offload
+    }
+
+    /**
+     * Runs a hash computation on the executor and waits for its result.
+     *
+     * @throws LoginThrottledException if all threads are busy and the queue is full
+     */
+    private <T> T run(Callable<T> task) {
+        if (!permits.tryAcquire()) {
+            throw new LoginThrottledException("Too many concurrent logins, please retry shortly");
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    permits.release();
+                }
+            }).get();
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw new IllegalStateException("Password hashing has been shut down", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing was interrupted", e);
+        }
+    }
+
+    /**
+     * Stops the executor threads on shutdown.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
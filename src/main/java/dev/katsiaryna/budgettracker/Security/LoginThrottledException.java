@@ -0,0 +1,32 @@
+package dev.katsiaryna.budgettracker.Security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Thrown when a password cannot be hashed or verified because the hashing executor is saturated.
+ * <p>
+ * It extends {@link InternalAuthenticationServiceException}, so Spring Security reports it at once
+ * instead of trying further authentication providers, which would only add more hashing load.
+ * Login endpoints answer it with 429 Too Many Requests.
+ */
+public class LoginThrottledException extends InternalAuthenticationServiceException {
+
+    /**
+     * Creates the exception.
+     *
+     * @param message the detail message
+     */
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates the exception.
+     *
+     * @param message the detail message
+     * @param cause   the rejection by the executor
+     */
+    public LoginThrottledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,37 @@
+package dev.katsiaryna.budgettracker.Security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Password encoder shared by authentication and user management.
+ * <p>
+ * Kept apart from {@link SecurityConfig}, which depends on the user service, so the user service
+ * can use the same encoder without a circular dependency.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * BCrypt encoder with a configurable cost, hashing on a bounded executor.
+     * Raising {@code security.bcrypt.strength} rehashes each stored password with the new cost
+     * on the user's next successful login.
+     *
+     * @param strength      BCrypt cost (log2 of the number of rounds, 4 to 31)
+     * @param threads       number of hashes computed in parallel; 0 uses one per CPU
+     * @param queueCapacity number of hashes allowed to wait before logins are rejected
+     * @param meterRegistry registry the executor metrics are published to
+     * @return the password encoder
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                                                 @Value("${security.password-hash.threads:0}") int threads,
+                                                 @Value("${security.password-hash.queue-capacity:64}") int queueCapacity,
+                                                 MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, meterRegistry);
+    }
+}
@@ -1,6 +1,8 @@
 package dev.katsiaryna.budgettracker.Security;
 
 import dev.katsiaryna.budgettracker.User.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,10 +15,11 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 
 /**
  * Security configuration class for defining Spring Security behavior.
@@ -25,13 +28,19 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final UserService userService;
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Constructor for injecting the custom UserService.
+     * Constructor for injecting the custom UserService and the shared password encoder.
      * @param userService the application's user service for authentication
+     * @param passwordEncoder the encoder from {@link PasswordEncoderConfig}
+     * @param meterRegistry the registry login latencies are published to
      */
-    public SecurityConfig(UserService userService) {
+    public SecurityConfig(UserService userService, PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
         this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -49,17 +58,19 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/api/v1/auth/register", "/api/v1/auth/login", "/api/v1/auth/logout").permitAll()
                         .requestMatchers("/home", "/income").authenticated() // Secure these pages
+                        .requestMatchers("/api/v1/stream/**").authenticated()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // metrics, prometheus, loggers, debuglogging
                         .anyRequest().permitAll()
                 )
                 .sessionManagement(session -> session
                         .sessionFixation().migrateSession()
                         .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED) // Ensures session is created when needed
                 )
-                .authenticationProvider(authenticationProvider())
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/home", true)
-                        .failureUrl("/login?error=true")
+                        .failureHandler(loginFailureHandler())
                         .permitAll()
                 )
                 .logout(logout -> logout
@@ -74,7 +85,12 @@ public class SecurityConfig {
     }
 
     /**
-     * Defines the authentication provider using the custom UserService and a BCrypt password encoder.
+     * Defines the authentication provider using the custom UserService and the BCrypt password encoder.
+     * Passwords hashed with a lower cost than configured are rehashed after a successful login,
+     * and the latency of every attempt is recorded.
+     * <p>
+     * As a bean it backs the global AuthenticationManager, which form login delegates to. It is not
+     * registered on the filter chain as well, or every failed login would be checked a second time.
      *
      * @return an AuthenticationProvider using DAO authentication
      */
@@ -82,18 +98,25 @@ public class SecurityConfig {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService); // Ensures Spring uses our user service
-        provider.setPasswordEncoder(passwordEncoder());
-        return provider;
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userService::rehashPassword);
+        return new TimedAuthenticationProvider(provider, meterRegistry);
     }
 
     /**
-     * Defines the password encoder as BCrypt.
-     *
-     * @return a PasswordEncoder instance
+     * Redirects failed form logins back to the login page, except for logins rejected because
+     * the password hashing executor is saturated, which are answered with 429.
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    private AuthenticationFailureHandler loginFailureHandler() {
+        AuthenticationFailureHandler redirect = new SimpleUrlAuthenticationFailureHandler("/login?error=true");
+        return (request, response, exception) -> {
+            if (exception instanceof LoginThrottledException) {
+                response.setHeader("Retry-After", "1");
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), exception.getMessage());
+            } else {
+                redirect.onAuthenticationFailure(request, response, exception);
+            }
+        };
     }
 
     /**
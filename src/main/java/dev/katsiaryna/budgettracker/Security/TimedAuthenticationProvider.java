@@ -0,0 +1,55 @@
+package dev.katsiaryna.budgettracker.Security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Authentication provider recording the latency of every login attempt of its delegate.
+ * <p>
+ * Published as the timer {@code auth.login}, tagged with the outcome (success, failure or
+ * throttled), including the 50th, 95th and 99th percentiles.
+ */
+public class TimedAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates the provider.
+     *
+     * @param delegate      the provider doing the actual authentication
+     * @param meterRegistry registry the timer is published to
+     */
+    public TimedAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            outcome = "success";
+            return result;
+        } catch (LoginThrottledException e) {
+            outcome = "throttled";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("auth.login")
+                    .description("Duration of login attempts, including the wait for a password hashing thread")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
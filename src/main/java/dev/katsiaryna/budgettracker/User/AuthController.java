@@ -3,6 +3,9 @@ package dev.katsiaryna.budgettracker.User;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import dev.katsiaryna.budgettracker.Security.LoginThrottledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +24,8 @@ import java.util.Optional;
 @RequestMapping("/api/v1/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final UserService userService; //Making sure that it works like a pipeline (controller -> service -> repository)
     private final AuthenticationManager authenticationManager;
 
@@ -48,16 +53,18 @@ public class AuthController {
             @RequestParam(required = false) String email,
             @RequestParam(required = false) String dob
     ) {
-        System.out.println("Received registration request for user" + username); //Add debugging logs for each essential step to better analyze at what point our program could stop working properly using the console
+        log.debug("Received registration request for user {}", username); //Add debugging logs for each essential step to better analyze at what point our program could stop working properly
          try { //try-catch block that checks if the user already exists. If yes, it will redirect us to the login page
             userService.registerUser(username, password, email, dob);
-            System.out.println("User registered successfully");
+            log.info("User {} registered successfully", username);
 
             return ResponseEntity.ok()
                     .header("HX-Redirect", "/login")
                     .body("User registered successfully. Redirecting to login"); //Redirect to a login page
+         } catch (LoginThrottledException e) { //Password hashing is saturated, the client should retry later
+            return throttled(e);
          } catch (Exception e) { //If the user doesn't exist, the system returns an error (most probably runtime error, nut we try to catch all possible errors)
-            System.err.println("Registration failed " + e.getMessage()); //Returns the error message, according to the exception type
+            log.warn("Registration failed for user {}: {}", username, e.getMessage()); //Returns the error message, according to the exception type
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body("Registration failed: " + e.getMessage()); //Return an error message
@@ -84,21 +91,31 @@ public class AuthController {
             // Store authentication in session explicitly
             request.getSession().setAttribute("SPRING_SECURITY_CONTEXT", SecurityContextHolder.getContext());
 
-            System.out.println("Authenticated User: " + authentication.getName());
-            System.out.println("Authorities: " + authentication.getAuthorities());
+            log.debug("Authenticated user {} with authorities {}", authentication.getName(), authentication.getAuthorities());
 
             return ResponseEntity.ok()
                     .header("HX-Redirect", "/home")
                     .body("Login successful!");
 
+        } catch (LoginThrottledException e) {
+            return throttled(e);
         } catch (Exception e) {
-            System.out.println("Login failed: " + e.getMessage());
+            log.info("Login failed for user {}: {}", username, e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid username or password");
         }
     }
 
 
+    /**
+     * Builds the 429 response for requests rejected because password hashing is saturated.
+     */
+    private static ResponseEntity<String> throttled(LoginThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(e.getMessage());
+    }
+
     /**
      * Allows password reset using a fixed global matriculation number.
      *
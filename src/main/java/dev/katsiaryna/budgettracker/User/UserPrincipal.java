@@ -0,0 +1,109 @@
+package dev.katsiaryna.budgettracker.User;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated user as kept in the security context and session.
+ * <p>
+ * Carries the user ID next to the username, so pages and endpoints acting on the logged-in
+ * user read it from the principal instead of looking the user up by name on every request.
+ * Every authentication receives its own copy, because Spring Security erases the password
+ * of the principal once the login has succeeded.
+ */
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List.of(
+            new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    private final Long id;
+    private final String username;
+    private final boolean admin;
+    private String password;
+
+    /**
+     * Creates the principal of a stored user without administrator rights.
+     *
+     * @param user the user entity
+     */
+    public UserPrincipal(User user) {
+        this(user, false);
+    }
+
+    /**
+     * Creates the principal of a stored user.
+     *
+     * @param user  the user entity
+     * @param admin whether the user is granted {@code ROLE_ADMIN}, e.g. for the actuator endpoints
+     */
+    public UserPrincipal(User user, boolean admin) {
+        this(user.getId(), user.getUsername(), user.getPassword(), admin);
+    }
+
+    private UserPrincipal(Long id, String username, String password, boolean admin) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.admin = admin;
+    }
+
+    /**
+     * Returns an independent copy, whose credentials can be erased without affecting this one.
+     *
+     * @return a copy of this principal
+     */
+    public UserPrincipal copy() {
+        return new UserPrincipal(id, username, password, admin);
+    }
+
+    /**
+     * Gets the user's ID.
+     *
+     * @return the user ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return admin ? ADMIN_AUTHORITIES : USER_AUTHORITIES;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof UserPrincipal principal && username.equals(principal.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{id=" + id + ", username='" + username + "'}";
+    }
+}
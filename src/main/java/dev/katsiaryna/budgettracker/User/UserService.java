@@ -1,6 +1,13 @@
 package dev.katsiaryna.budgettracker.User;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,44 +18,80 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * UserService provides business logic for user registration, authentication, and account updates.
  * Implements {@link UserDetailsService} to integrate with Spring Security.
+ * <p>
+ * Loaded principals are cached by username (bounded in size, expiring after a fixed time), so
+ * authentications do not query the database; the entry of a user is dropped whenever their
+ * username or password changes. Hit and miss counts are published as {@code cache.gets{cache="users"}}.
+ * Users listed in {@code security.admin-usernames} additionally receive {@code ROLE_ADMIN}.
  */
 @Service //This means that this class is a service, so it is the business logic of the app
 public class UserService implements UserDetailsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository; //final means that once we create it, we cannot change it anymore
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordEncoder passwordEncoder;
+    private final Cache<String, UserPrincipal> principals;
+    private final Set<String> adminUsernames;
 
     @Autowired
     @Lazy
     private AuthenticationManager authenticationManager;
 
-    public UserService(UserRepository userRepository) {
+    /**
+     * Creates the service and the principal cache.
+     *
+     * @param userRepository  the user repository
+     * @param passwordEncoder the shared password encoder
+     * @param maxSize         maximum number of cached principals
+     * @param ttl             time after which a cached principal expires
+     * @param meterRegistry   registry the cache hit/miss metrics are published to
+     * @param adminUsernames  usernames granted {@code ROLE_ADMIN}
+     */
+    public UserService(UserRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       @Value("${user.cache.max-size:10000}") long maxSize,
+                       @Value("${user.cache.ttl:10m}") Duration ttl,
+                       MeterRegistry meterRegistry,
+                       @Value("${security.admin-usernames:}") Set<String> adminUsernames) {
         this.userRepository = userRepository;
+        this.adminUsernames = adminUsernames;
+        this.passwordEncoder = passwordEncoder;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "users");
     }
 
     /**
-     * Loads a user by username for authentication purposes.
+     * Loads a user by username for authentication purposes, from the cache if possible.
      *
      * @param username the username
-     * @return the UserDetails used by Spring Security
+     * @return a fresh copy of the user's principal, carrying the user ID
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .map(user -> org.springframework.security.core.userdetails.User
-                        .withUsername(user.getUsername())
-                        .password(user.getPassword())
-                        .roles("USER") // Ensures a role is assigned
-                        .build())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        UserPrincipal principal = principals.get(username, name -> userRepository.findByUsername(name)
+                .map(this::principalOf)
+                .orElse(null)); // unknown usernames are not cached
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return principal.copy(); // the authentication erases the password of the copy it receives
     }
 
     /**
@@ -62,7 +105,7 @@ public class UserService implements UserDetailsService {
      */
     @Transactional //Ensures the db transaction commits
     public User registerUser(String username, String password, String email, String dob) {
-        System.out.println("Checking if user exists in DB: " + username);
+        log.debug("Checking if user exists in DB: {}", username);
         if (userRepository.findByUsername(username).isPresent()) { //Check if user already exists
             throw new RuntimeException("User with username " + username + " already exists"); //If it does, the system returns an error
         }
@@ -83,9 +126,9 @@ public class UserService implements UserDetailsService {
         user.setPassword(encodedPassword);
         user.setEmail(email);
 
-        System.out.println("Saving user to the Database: " + username);
+        log.debug("Saving user to the Database: {}", username);
         user=userRepository.save(user); //Save user
-        System.out.println("User saved successfully with ID");
+        log.debug("User saved successfully with ID {}", user.getId());
         return user; //Saving the user
     }
 
@@ -97,20 +140,20 @@ public class UserService implements UserDetailsService {
      * @return Optional of User if authentication succeeds, otherwise empty
      */
     public Optional<User> authenticateUser(String username, String password) { //Check if the user exists (if the username and password match)
-        System.out.println("Authenticating user:" +username);
+        log.debug("Authenticating user: {}", username);
 
         Optional<User> user = userRepository.findByUsername(username); //Checks if the user exists (if the username and password match
         if (user.isEmpty()) { //If it does not exist, the system returns an error
-            System.out.println("User not found: " + username);
+            log.debug("User not found: {}", username);
             return Optional.empty(); //Returns empty to allow AuthController to handle errors properly
         }
 
         if (!passwordEncoder.matches(password, user.get().getPassword())) { //If the password does not match, the system returns an error
-            System.out.println("Incorrect password for user: " + username);
+            log.debug("Incorrect password for user: {}", username);
             return Optional.empty(); //Returns empty to allow AuthController to handle errors properly
         }
 
-        System.out.println("User authenticated successfully: " + username);
+        log.debug("User authenticated successfully: {}", username);
         return user;
     }
 
@@ -125,7 +168,7 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("User with this email not found.");
         }
 
-        System.out.println("Sending password reset email to: " + email);
+        log.info("Sending password reset email to: {}", email);
     }
 
     /**
@@ -138,10 +181,12 @@ public class UserService implements UserDetailsService {
     @Transactional
     public Optional<User> updateUser(Long id, User updatedData) {
         return userRepository.findById(id).map(existing -> {
+            evictPrincipal(existing.getUsername());
             existing.setUsername(updatedData.getUsername());
             existing.setPassword(passwordEncoder.encode(updatedData.getPassword()));
             existing.setEmail(updatedData.getEmail());
             User saved = userRepository.save(existing);
+            evictPrincipal(saved.getUsername());
 
             // Re-authenticate to update session
             Authentication newAuth = authenticationManager.authenticate(
@@ -165,6 +210,47 @@ public class UserService implements UserDetailsService {
     public void updatePassword(User user, String newPassword) {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        evictPrincipal(user.getUsername());
+    }
+
+    /**
+     * Stores a password hash computed by Spring Security after a successful login, when the
+     * stored hash was created with a lower cost than currently configured.
+     *
+     * @param user               the authenticated user
+     * @param newEncodedPassword the password hashed with the current cost
+     * @return the principal with the new hash
+     */
+    @Transactional
+    public UserDetails rehashPassword(UserDetails user, String newEncodedPassword) {
+        return userRepository.findByUsername(user.getUsername())
+                .map(existing -> {
+                    existing.setPassword(newEncodedPassword);
+                    User saved = userRepository.save(existing);
+                    evictPrincipal(saved.getUsername());
+                    return (UserDetails) principalOf(saved);
+                })
+                .orElse(user);
+    }
+
+    private UserPrincipal principalOf(User user) {
+        return new UserPrincipal(user, adminUsernames.contains(user.getUsername()));
+    }
+
+    /**
+     * Drops the cached principal of a username, immediately and again after the current
+     * transaction commits, so a login running concurrently cannot cache the old password.
+     */
+    private void evictPrincipal(String username) {
+        principals.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(username);
+                }
+            });
+        }
     }
 
     /**
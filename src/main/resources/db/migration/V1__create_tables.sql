@@ -0,0 +1,23 @@
+-- Tables as created by Hibernate from the entity mappings, so an empty database can be migrated
+-- before the first start. IF NOT EXISTS keeps the migration a no-op on existing databases, which
+-- are baselined at version 0. Hibernate only validates the schema (ddl-auto=validate), so every
+-- later table or column change needs its own migration.
+
+CREATE TABLE IF NOT EXISTS users (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    username TEXT NOT NULL UNIQUE,
+    password TEXT NOT NULL,
+    email TEXT UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS category (category_id integer, category_name varchar(255) not null unique, description varchar(255), primary key (category_id));
+
+CREATE TABLE IF NOT EXISTS incomes (income_id integer, amount float not null, date date not null, description varchar(255) not null, category_id bigint not null, user_id bigint not null, primary key (income_id));
+
+CREATE TABLE IF NOT EXISTS outcomes (outcome_id integer, amount float not null, date date not null, description varchar(255) not null, category_id bigint not null, user_id bigint not null, primary key (outcome_id));
+
+CREATE TABLE IF NOT EXISTS budgets (budget_id integer, limit_amount float, category_id bigint, user_id bigint, primary key (budget_id));
+
+CREATE TABLE IF NOT EXISTS goal (goal_id integer, current_amount float, end_date date, name varchar(255), start_date date, target_amount float, type varchar(255), user_id bigint, goal_category varchar(255), primary key (goal_id));
+
+CREATE TABLE IF NOT EXISTS daily_rollup (rollup_id integer, category_id bigint not null, day date not null, income_sum float not null, outcome_sum float not null, tx_count bigint not null, user_id bigint not null, primary key (rollup_id));
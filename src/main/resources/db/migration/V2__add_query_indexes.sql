@@ -0,0 +1,17 @@
+-- Secondary indexes that the SQLite schema updater does not create from entity mappings.
+-- IF NOT EXISTS because some of them were previously created by schema.sql.
+-- SchemaIndexCheck refuses to start the application if any of them is missing.
+
+-- Latest-transactions lookups, paging and exports: WHERE user_id = ? [AND date BETWEEN ? AND ?] ORDER BY date DESC
+CREATE INDEX IF NOT EXISTS idx_incomes_user_date ON incomes (user_id, date);
+CREATE INDEX IF NOT EXISTS idx_outcomes_user_date ON outcomes (user_id, date);
+
+-- Per-category sums and top spendings: WHERE user_id = ? AND category_id = ? AND date BETWEEN ? AND ?
+CREATE INDEX IF NOT EXISTS idx_incomes_user_category_date ON incomes (user_id, category_id, date);
+CREATE INDEX IF NOT EXISTS idx_outcomes_user_category_date ON outcomes (user_id, category_id, date);
+
+-- Budgets of a user and the budget of one category
+CREATE INDEX IF NOT EXISTS idx_budgets_user_category ON budgets (user_id, category_id);
+
+-- Key of the daily rollup upsert (ON CONFLICT target)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_daily_rollup_user_category_day ON daily_rollup (user_id, category_id, day);
@@ -0,0 +1,27 @@
+-- Amounts are stored as whole cents in INTEGER columns instead of REAL, so sums are exact.
+-- Existing values are rounded to the nearest cent; the REAL columns are dropped afterwards.
+
+ALTER TABLE incomes ADD COLUMN amount_cents integer not null default 0;
+UPDATE incomes SET amount_cents = CAST(ROUND(amount * 100) AS INTEGER);
+ALTER TABLE incomes DROP COLUMN amount;
+
+ALTER TABLE outcomes ADD COLUMN amount_cents integer not null default 0;
+UPDATE outcomes SET amount_cents = CAST(ROUND(amount * 100) AS INTEGER);
+ALTER TABLE outcomes DROP COLUMN amount;
+
+ALTER TABLE budgets ADD COLUMN limit_cents integer;
+UPDATE budgets SET limit_cents = CAST(ROUND(limit_amount * 100) AS INTEGER);
+ALTER TABLE budgets DROP COLUMN limit_amount;
+
+ALTER TABLE goal ADD COLUMN target_cents integer;
+ALTER TABLE goal ADD COLUMN current_cents integer;
+UPDATE goal SET target_cents = CAST(ROUND(target_amount * 100) AS INTEGER),
+                current_cents = CAST(ROUND(current_amount * 100) AS INTEGER);
+ALTER TABLE goal DROP COLUMN target_amount;
+ALTER TABLE goal DROP COLUMN current_amount;
+
+-- The rollup only holds derived totals: recreate it with cent columns and let
+-- DailyRollupService refill it from the converted transactions on startup.
+DROP TABLE daily_rollup;
+CREATE TABLE daily_rollup (rollup_id integer, category_id bigint not null, day date not null, income_cents bigint not null, outcome_cents bigint not null, tx_count bigint not null, user_id bigint not null, primary key (rollup_id));
+CREATE UNIQUE INDEX ux_daily_rollup_user_category_day ON daily_rollup (user_id, category_id, day);
@@ -0,0 +1,42 @@
+-- Per-user counter of income and outcome changes, bumped by triggers on every insert, update and delete,
+-- so changes made outside the application services (bulk imports, plain SQL) are counted as well.
+-- Analytics snapshot files record the counter they were built at and are discarded once it moved on.
+CREATE TABLE data_version (user_id INTEGER PRIMARY KEY, version INTEGER NOT NULL);
+
+CREATE TRIGGER trg_incomes_insert_version AFTER INSERT ON incomes
+BEGIN
+    INSERT INTO data_version (user_id, version) VALUES (NEW.user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = version + 1;
+END;
+
+CREATE TRIGGER trg_incomes_update_version AFTER UPDATE ON incomes
+BEGIN
+    INSERT INTO data_version (user_id, version) VALUES (NEW.user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = version + 1;
+    UPDATE data_version SET version = version + 1 WHERE user_id = OLD.user_id AND OLD.user_id <> NEW.user_id;
+END;
+
+CREATE TRIGGER trg_incomes_delete_version AFTER DELETE ON incomes
+BEGIN
+    INSERT INTO data_version (user_id, version) VALUES (OLD.user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = version + 1;
+END;
+
+CREATE TRIGGER trg_outcomes_insert_version AFTER INSERT ON outcomes
+BEGIN
+    INSERT INTO data_version (user_id, version) VALUES (NEW.user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = version + 1;
+END;
+
+CREATE TRIGGER trg_outcomes_update_version AFTER UPDATE ON outcomes
+BEGIN
+    INSERT INTO data_version (user_id, version) VALUES (NEW.user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = version + 1;
+    UPDATE data_version SET version = version + 1 WHERE user_id = OLD.user_id AND OLD.user_id <> NEW.user_id;
+END;
+
+CREATE TRIGGER trg_outcomes_delete_version AFTER DELETE ON outcomes
+BEGIN
+    INSERT INTO data_version (user_id, version) VALUES (OLD.user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = version + 1;
+END;
@@ -0,0 +1,11 @@
+-- Budget limits apply per period: calendar months (the default, also for existing budgets),
+-- ISO weeks, or one custom date range stored in period_start and period_end.
+ALTER TABLE budgets ADD COLUMN period varchar(16);
+ALTER TABLE budgets ADD COLUMN period_start date;
+ALTER TABLE budgets ADD COLUMN period_end date;
+UPDATE budgets SET period = 'MONTHLY';
+
+-- Amount spent per budget and period, kept up to date by BudgetPeriodSpendService on every outcome change.
+-- The counters only hold derived totals: BudgetPeriodSpendService fills the empty table from the outcomes on startup.
+CREATE TABLE budget_period_spend (spend_id integer, budget_id bigint not null, period_start date not null, spent_cents bigint not null, tx_count bigint not null, primary key (spend_id));
+CREATE UNIQUE INDEX ux_budget_period_spend_budget_period ON budget_period_spend (budget_id, period_start);
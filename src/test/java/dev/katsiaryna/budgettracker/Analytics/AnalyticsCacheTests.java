@@ -0,0 +1,64 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a user's write invalidates exactly that user's cached analytics results.
+ */
+class AnalyticsCacheTests {
+
+	private final AnalyticsCache cache = new AnalyticsCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+	@Test
+	void writeInvalidatesOnlyThatUsersResults() {
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<Integer> loader = loads::incrementAndGet;
+		int first = cache.get(1L, "summary", "2025", loader);
+		int otherEndpoint = cache.get(1L, "charts", "2025", loader);
+		int otherUser = cache.get(2L, "summary", "2025", loader);
+		assertThat(cache.<Integer>get(1L, "summary", "2025", loader)).isEqualTo(first);
+
+		cache.evictUser(1L);
+
+		assertThat(cache.<Integer>get(1L, "summary", "2025", loader)).isNotEqualTo(first);
+		assertThat(cache.<Integer>get(1L, "charts", "2025", loader)).isNotEqualTo(otherEndpoint);
+		assertThat(cache.<Integer>get(2L, "summary", "2025", loader)).isEqualTo(otherUser);
+		assertThat(loads).hasValue(5);
+	}
+
+	@Test
+	void resultComputedDuringAWriteIsNotServedAfterIt() {
+		String stale = cache.get(1L, "summary", "", () -> {
+			cache.evictUser(1L); // the write commits while the result is being computed
+			return "before write";
+		});
+
+		assertThat(stale).isEqualTo("before write");
+		assertThat(cache.get(1L, "summary", "", () -> "after write")).isEqualTo("after write");
+	}
+
+	@Test
+	void writeInsideATransactionInvalidatesAfterCommit() {
+		cache.get(1L, "summary", "", () -> "before write");
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			cache.evictUser(1L);
+			assertThat(cache.get(1L, "summary", "", () -> "after write")).isEqualTo("before write");
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(cache.get(1L, "summary", "", () -> "after write")).isEqualTo("after write");
+	}
+}
@@ -0,0 +1,52 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalyticsControllerTests {
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void chartWithTooManyBucketsIsBadRequest() throws Exception {
+		mockMvc.perform(get("/api/v1/analytics/chart")
+						.param("userId", "1").param("from", "1900-01-01").param("to", "2100-12-31").param("groupBy", "day"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void sameRangeGroupedByYearIsAnswered() throws Exception {
+		mockMvc.perform(get("/api/v1/analytics/chart")
+						.param("userId", "1").param("from", "1900-01-01").param("to", "2100-12-31").param("groupBy", "year"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.labels.length()").value(201))
+				.andExpect(jsonPath("$.labels[0]").value("1900"));
+	}
+
+	@Test
+	void unknownGroupingIsChartedByDay() throws Exception {
+		mockMvc.perform(get("/api/v1/analytics/chart")
+						.param("userId", "1").param("from", "2025-03-01").param("to", "2025-03-03").param("groupBy", "fortnight"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.labels[0]").value("2025-03-01"))
+				.andExpect(jsonPath("$.labels.length()").value(3));
+	}
+}
@@ -0,0 +1,125 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import dev.katsiaryna.budgettracker.Analytics.ChartBuckets.Grouping;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChartBucketsTests {
+
+	private static RangeTotals totals(DailyCategoryTotals... rows) {
+		return RangeTotals.of(List.of(rows));
+	}
+
+	private static DailyCategoryTotals day(String date, long incomeCents, long outcomeCents) {
+		return new DailyCategoryTotals(LocalDate.parse(date), "Dining", incomeCents, outcomeCents);
+	}
+
+	private static List<BigDecimal> decimals(String... values) {
+		return Arrays.stream(values).map(BigDecimal::new).toList();
+	}
+
+	@Test
+	void weekLabelsFollowIsoWeekYearAcrossYearEnds() {
+		ChartBuckets weeks = new ChartBuckets(Grouping.WEEK, 1);
+		for (LocalDate day = LocalDate.of(2015, 12, 1); day.isBefore(LocalDate.of(2031, 2, 1)); day = day.plusDays(1)) {
+			String iso = day.get(IsoFields.WEEK_BASED_YEAR) + "-W"
+					+ String.format("%02d", day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+			assertThat(weeks.label(weeks.index(day))).as(day.toString()).isEqualTo(iso);
+		}
+	}
+
+	@Test
+	void weekChartSpansYearEnd() {
+		Map<String, Object> chart = new ChartBuckets(Grouping.WEEK, 1).chart(
+				totals(day("2020-12-31", 1000, 0), day("2021-01-03", 500, -250), day("2021-01-04", 0, -100)),
+				LocalDate.of(2020, 12, 27), LocalDate.of(2021, 1, 11));
+
+		assertThat(chart.get("labels")).isEqualTo(List.of("2020-W52", "2020-W53", "2021-W01", "2021-W02"));
+		assertThat(chart.get("incomes")).isEqualTo(decimals("0.00", "15.00", "0.00", "0.00"));
+		assertThat(chart.get("outcomes")).isEqualTo(decimals("0.00", "-2.50", "-1.00", "0.00"));
+	}
+
+	@Test
+	void fiscalMonthsAreNamedAfterTheYearTheyEndIn() {
+		ChartBuckets april = new ChartBuckets(Grouping.FISCAL_MONTH, 4);
+		assertThat(april.label(april.index(LocalDate.of(2024, 3, 31)))).isEqualTo("FY2024-12");
+		assertThat(april.label(april.index(LocalDate.of(2024, 4, 1)))).isEqualTo("FY2025-01");
+		assertThat(april.label(april.index(LocalDate.of(2024, 12, 15)))).isEqualTo("FY2025-09");
+		assertThat(april.label(april.index(LocalDate.of(2025, 3, 1)))).isEqualTo("FY2025-12");
+
+		ChartBuckets january = new ChartBuckets(Grouping.FISCAL_MONTH, 1);
+		assertThat(january.label(january.index(LocalDate.of(2024, 1, 1)))).isEqualTo("FY2024-01");
+		assertThat(january.label(january.index(LocalDate.of(2024, 12, 31)))).isEqualTo("FY2024-12");
+
+		ChartBuckets december = new ChartBuckets(Grouping.FISCAL_MONTH, 12);
+		assertThat(december.label(december.index(LocalDate.of(2023, 12, 1)))).isEqualTo("FY2024-01");
+		assertThat(december.label(december.index(LocalDate.of(2024, 11, 30)))).isEqualTo("FY2024-12");
+	}
+
+	@Test
+	void invalidFiscalYearStartIsRejected() {
+		assertThatThrownBy(() -> new ChartBuckets(Grouping.FISCAL_MONTH, 0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ChartBuckets(Grouping.FISCAL_MONTH, 13)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void gapsAreZeroFilledAndRowsOutsideTheRangeIgnored() {
+		Map<String, Object> chart = new ChartBuckets(Grouping.MONTH, 1).chart(
+				totals(day("2023-12-31", 99_999, 0), day("2024-01-05", 1234, -500), day("2024-01-20", 100, 0),
+						day("2024-04-30", 0, -1), day("2024-05-01", 99_999, 0)),
+				LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30));
+
+		assertThat(chart.get("labels")).isEqualTo(List.of("2024-01", "2024-02", "2024-03", "2024-04"));
+		assertThat(chart.get("incomes")).isEqualTo(decimals("13.34", "0.00", "0.00", "0.00"));
+		assertThat(chart.get("outcomes")).isEqualTo(decimals("-5.00", "0.00", "0.00", "-0.01"));
+	}
+
+	@Test
+	void quarterAndYearLabels() {
+		Map<String, Object> quarters = new ChartBuckets(Grouping.QUARTER, 1)
+				.chart(totals(), LocalDate.of(2024, 11, 1), LocalDate.of(2025, 4, 1));
+		Map<String, Object> years = new ChartBuckets(Grouping.YEAR, 1)
+				.chart(totals(), LocalDate.of(2024, 11, 1), LocalDate.of(2025, 4, 1));
+
+		assertThat(quarters.get("labels")).isEqualTo(List.of("2024-Q4", "2025-Q1", "2025-Q2"));
+		assertThat(years.get("labels")).isEqualTo(List.of("2024", "2025"));
+	}
+
+	@Test
+	void emptyRangeHasNoBuckets() {
+		Map<String, Object> chart = new ChartBuckets(Grouping.DAY, 1)
+				.chart(totals(day("2024-01-01", 100, 0)), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1));
+
+		assertThat(chart.get("labels")).isEqualTo(List.of());
+	}
+
+	@Test
+	void unknownGroupingsFallBackToDay() {
+		assertThat(Grouping.of(null)).isEqualTo(Grouping.DAY);
+		assertThat(Grouping.of("fortnight")).isEqualTo(Grouping.DAY);
+		assertThat(Grouping.of("")).isEqualTo(Grouping.DAY);
+		assertThat(Grouping.of(" Fiscal-Month ")).isEqualTo(Grouping.FISCAL_MONTH);
+		assertThat(Grouping.of("week")).isEqualTo(Grouping.WEEK);
+	}
+
+	@Test
+	void rangesAboveMaxBucketsAreRejected() {
+		ChartBuckets days = new ChartBuckets(Grouping.DAY, 1);
+		LocalDate from = LocalDate.of(2000, 1, 1);
+
+		assertThat((List<?>) days.chart(totals(), from, from.plusDays(ChartBuckets.MAX_BUCKETS - 1)).get("labels"))
+				.hasSize(ChartBuckets.MAX_BUCKETS);
+		assertThatThrownBy(() -> days.chart(totals(), from, from.plusDays(ChartBuckets.MAX_BUCKETS)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("too many chart buckets");
+	}
+}
@@ -0,0 +1,193 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
+import dev.katsiaryna.budgettracker.Income.IncomeRepository;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes and reads column snapshot files, and checks that the store drops unreadable and stale ones.
+ */
+class ColumnSnapshotsTests {
+
+	private static final long USER_ID = 1L;
+	private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2100, 1, 1);
+
+	/** Offset of the first income's category ID in a snapshot: header, row count, ID, day and cents */
+	private static final int FIRST_CATEGORY_ID = 2 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES
+			+ Long.BYTES + Integer.BYTES + Long.BYTES;
+
+	@TempDir
+	private Path directory;
+
+	private final IncomeRepository incomeRepository = mock(IncomeRepository.class);
+	private final OutcomeRepository outcomeRepository = mock(OutcomeRepository.class);
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+	@Test
+	void snapshotRoundTrips() throws IOException {
+		ColumnSnapshots snapshots = new ColumnSnapshots(directory);
+		TransactionColumns columns = columns(builder -> {
+			builder.add(3L, LocalDate.of(2025, 1, 1), 10_000L, 1L);
+			builder.add(5L, LocalDate.of(2025, 1, 1), 250L, 4L);
+			builder.add(4L, LocalDate.of(2025, 2, 14), 1L, 1L);
+		}, builder -> builder.add(7L, LocalDate.of(2024, 12, 31), -4_200L, 9L));
+
+		snapshots.write(USER_ID, 42L, columns);
+
+		assertThat(snapshots.files()).containsExactly(directory.resolve("user-1.columns"));
+		ColumnSnapshots.Snapshot snapshot = snapshots.read(snapshots.files().get(0));
+		assertThat(snapshot.userId()).isEqualTo(USER_ID);
+		assertThat(snapshot.dataVersion()).isEqualTo(42L);
+		assertThat(days(snapshot.columns())).isEqualTo(days(columns)).hasSize(3);
+		assertThat(categories(snapshot.columns())).isEqualTo(categories(columns)).hasSize(3);
+	}
+
+	@Test
+	void emptyColumnsRoundTrip() throws IOException {
+		ColumnSnapshots snapshots = new ColumnSnapshots(directory);
+		snapshots.write(USER_ID, 0L, columns(builder -> { }, builder -> { }));
+
+		assertThat(days(snapshots.read(directory.resolve("user-1.columns")).columns())).isEmpty();
+	}
+
+	@Test
+	void invalidFilesAreRejected() throws IOException {
+		ColumnSnapshots snapshots = new ColumnSnapshots(directory);
+		snapshots.write(USER_ID, 1L, columns(builder -> builder.add(3L, LocalDate.of(2025, 1, 1), 100L, 2L),
+				builder -> builder.add(8L, LocalDate.of(2025, 1, 2), -50L, 2L)));
+		Path file = directory.resolve("user-1.columns");
+		byte[] valid = Files.readAllBytes(file);
+
+		assertRejected(file, withInt(valid, 0, 0x12345678), "Not a column snapshot");
+		assertRejected(file, withInt(valid, Integer.BYTES, 2), "Not a column snapshot");
+		assertRejected(file, Arrays.copyOf(valid, 10), "Not a column snapshot");
+		assertRejected(file, Arrays.copyOf(valid, valid.length - 3), "Corrupt column snapshot");
+		assertRejected(file, withInt(valid, FIRST_CATEGORY_ID, -1), "Corrupt column snapshot");
+	}
+
+	@Test
+	void storeDeletesUnreadableSnapshots() throws IOException {
+		Path corrupt = directory.resolve("user-2.columns");
+		Files.write(corrupt, new byte[] {1, 2, 3});
+
+		store().restoreAll();
+
+		assertThat(corrupt).doesNotExist();
+	}
+
+	@Test
+	void storeRestoresCurrentSnapshotsWithoutLoading() throws IOException {
+		TransactionColumns columns = columns(builder -> builder.add(3L, LocalDate.of(2025, 1, 1), 100L, 2L),
+				builder -> { });
+		new ColumnSnapshots(directory).write(USER_ID, 7L, columns);
+		dataVersion(7L);
+		TransactionColumnStore store = store();
+
+		store.restoreAll();
+
+		assertThat(days(store.range(USER_ID, FROM, TO))).isEqualTo(days(columns));
+		verify(incomeRepository, never()).streamColumnsByUserId(USER_ID);
+	}
+
+	@Test
+	void storeDiscardsStaleSnapshots() throws IOException {
+		ColumnSnapshots snapshots = new ColumnSnapshots(directory);
+		snapshots.write(USER_ID, 3L, columns(builder -> builder.add(3L, LocalDate.of(2025, 1, 1), 99_999L, 2L),
+				builder -> { }));
+		dataVersion(4L);
+		when(incomeRepository.countByUserId(USER_ID)).thenReturn(1L);
+		when(incomeRepository.streamColumnsByUserId(USER_ID))
+				.thenReturn(Stream.<Object[]>of(new Object[] {10L, LocalDate.of(2025, 2, 1), 500L, 2L}));
+		when(outcomeRepository.streamColumnsByUserId(USER_ID)).thenReturn(Stream.empty());
+		TransactionColumnStore store = store();
+
+		store.restoreAll();
+
+		assertThat(days(store.range(USER_ID, FROM, TO)))
+				.isEqualTo(Map.of(LocalDate.of(2025, 2, 1).toEpochDay(), List.of(500L, 0L)));
+		assertThat(snapshots.read(directory.resolve("user-1.columns")).dataVersion())
+				.as("snapshot rewritten at the current data version").isEqualTo(4L);
+	}
+
+	private TransactionColumnStore store() {
+		return new TransactionColumnStore(true, DataSize.ofMegabytes(1), incomeRepository, outcomeRepository,
+				mock(CategoryCatalog.class), mock(PlatformTransactionManager.class), jdbcTemplate,
+				true, directory, new SimpleMeterRegistry());
+	}
+
+	private void dataVersion(long version) {
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(USER_ID))).thenReturn(version);
+	}
+
+	private static void assertRejected(Path file, byte[] content, String message) throws IOException {
+		Files.write(file, content);
+		assertThatThrownBy(() -> new ColumnSnapshots(file.getParent()).read(file))
+				.isInstanceOf(IOException.class)
+				.hasMessageStartingWith(message);
+	}
+
+	private static byte[] withInt(byte[] bytes, int offset, int value) {
+		byte[] copy = bytes.clone();
+		ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+		return copy;
+	}
+
+	private static TransactionColumns columns(Consumer<TransactionColumns.Builder> incomes,
+											  Consumer<TransactionColumns.Builder> outcomes) {
+		TransactionColumns.Builder incomeBuilder = new TransactionColumns.Builder(4);
+		TransactionColumns.Builder outcomeBuilder = new TransactionColumns.Builder(4);
+		incomes.accept(incomeBuilder);
+		outcomes.accept(outcomeBuilder);
+		return new TransactionColumns(incomeBuilder.build(), outcomeBuilder.build());
+	}
+
+	private static Map<Long, List<Long>> days(TransactionColumns columns) {
+		return days(columns.range(FROM, TO, categoryId -> "category " + categoryId));
+	}
+
+	private static Map<Long, List<Long>> days(RangeTotals totals) {
+		assertThat(totals).isNotNull();
+		Map<Long, List<Long>> days = new TreeMap<>();
+		totals.forEachDay((epochDay, incomeCents, outcomeCents) -> {
+			List<Long> sum = days.getOrDefault(epochDay, List.of(0L, 0L));
+			days.put(epochDay, List.of(sum.get(0) + incomeCents, sum.get(1) + outcomeCents));
+		});
+		return days;
+	}
+
+	private static Map<String, List<Long>> categories(TransactionColumns columns) {
+		Map<String, List<Long>> categories = new TreeMap<>();
+		columns.range(FROM, TO, categoryId -> "category " + categoryId).sumByCategory()
+				.forEach((name, sum) -> categories.put(name, List.of(sum[0], sum[1])));
+		return categories;
+	}
+}
@@ -0,0 +1,99 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import dev.katsiaryna.budgettracker.Income.IncomeService;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that range totals scanned from the in-memory columns equal those read from the daily rollup,
+ * before and after incomes and outcomes are added, updated and deleted.
+ */
+@SpringBootTest(properties = "analytics.columnar.enabled=true")
+class ColumnarAnalyticsTests {
+
+	private static final long USER_ID = 1L;
+
+	/** Ranges covering the sample data, a single month, a single day and a range without data */
+	private static final List<LocalDate[]> RANGES = List.of(
+			new LocalDate[] {LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1)},
+			new LocalDate[] {LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)},
+			new LocalDate[] {LocalDate.of(2025, 3, 23), LocalDate.of(2025, 3, 23)},
+			new LocalDate[] {LocalDate.of(1990, 1, 1), LocalDate.of(1990, 12, 31)});
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@Autowired
+	private TransactionColumnStore transactionColumnStore;
+
+	@Autowired
+	private DailyRollupRepository dailyRollupRepository;
+
+	@Autowired
+	private IncomeService incomeService;
+
+	@Autowired
+	private OutcomeService outcomeService;
+
+	@Test
+	void columnTotalsMatchRollupTotals() {
+		assertMatchingTotals();
+
+		LocalDate day = LocalDate.of(2025, 3, 23);
+		long incomeId = incomeService.addIncome(USER_ID, 7L, 12_345, "bonus", day).getIncomeId();
+		long outcomeId = outcomeService.addOutcome(USER_ID, 5L, 999, "lunch", day).getOutcomeId();
+		long movedId = outcomeService.addOutcome(USER_ID, 5L, 150, "coffee", day).getOutcomeId();
+		assertMatchingTotals();
+
+		incomeService.updateIncome(incomeId, 5L, 20_000, "bonus", day.plusDays(3));
+		outcomeService.updateOutcome(movedId, 7L, 250, "coffee", LocalDate.of(2025, 4, 2));
+		assertMatchingTotals();
+
+		incomeService.deleteIncome(incomeId);
+		outcomeService.deleteOutcome(outcomeId);
+		assertMatchingTotals();
+	}
+
+	private void assertMatchingTotals() {
+		for (LocalDate[] range : RANGES) {
+			RangeTotals columns = transactionColumnStore.range(USER_ID, range[0], range[1]);
+			RangeTotals rollup = RangeTotals.of(
+					dailyRollupRepository.findTotalsByUserIdBetweenDates(USER_ID, range[0], range[1]));
+
+			assertThat(columns).as("columnar store loaded").isNotNull();
+			assertThat(byDay(columns)).as(range[0] + ".." + range[1]).isEqualTo(byDay(rollup));
+			assertThat(byCategory(columns)).as(range[0] + ".." + range[1]).isEqualTo(byCategory(rollup));
+		}
+	}
+
+	private static Map<Long, List<Long>> byDay(RangeTotals totals) {
+		Map<Long, long[]> sums = new TreeMap<>();
+		totals.forEachDay((epochDay, incomeCents, outcomeCents) -> {
+			long[] sum = sums.computeIfAbsent(epochDay, day -> new long[2]);
+			sum[0] += incomeCents;
+			sum[1] += outcomeCents;
+		});
+		return sums.entrySet().stream()
+				.collect(Collectors.toMap(Map.Entry::getKey, e -> List.of(e.getValue()[0], e.getValue()[1])));
+	}
+
+	private static Map<String, List<Long>> byCategory(RangeTotals totals) {
+		return totals.sumByCategory().entrySet().stream()
+				.collect(Collectors.toMap(Map.Entry::getKey, e -> List.of(e.getValue()[0], e.getValue()[1])));
+	}
+}
@@ -0,0 +1,58 @@
+package dev.katsiaryna.budgettracker.Analytics;
+
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
+import dev.katsiaryna.budgettracker.Income.IncomeRepository;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionColumnStoreTests {
+
+	private final IncomeRepository incomeRepository = mock(IncomeRepository.class);
+	private final OutcomeRepository outcomeRepository = mock(OutcomeRepository.class);
+
+	private TransactionColumnStore store(DataSize maxMemory) {
+		return new TransactionColumnStore(true, maxMemory, incomeRepository, outcomeRepository,
+				mock(CategoryCatalog.class), mock(PlatformTransactionManager.class), mock(JdbcTemplate.class),
+				false, Path.of("unused"), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void oversizeUsersAreNotCountedOnEveryRequest() {
+		when(incomeRepository.countByUserId(1L)).thenReturn(1_000_000L);
+		when(outcomeRepository.countByUserId(1L)).thenReturn(1_000_000L);
+		TransactionColumnStore store = store(DataSize.ofKilobytes(1));
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(store.range(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31))).isNull();
+		}
+
+		verify(incomeRepository, times(1)).countByUserId(1L);
+		verify(outcomeRepository, times(1)).countByUserId(1L);
+		verify(incomeRepository, never()).streamColumnsByUserId(anyLong());
+	}
+
+	@Test
+	void disabledStoreNeverLoads() {
+		TransactionColumnStore store = new TransactionColumnStore(false, DataSize.ofMegabytes(1), incomeRepository,
+				outcomeRepository, mock(CategoryCatalog.class), mock(PlatformTransactionManager.class),
+				mock(JdbcTemplate.class), false, Path.of("unused"), new SimpleMeterRegistry());
+
+		assertThat(store.range(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31))).isNull();
+		verify(incomeRepository, never()).countByUserId(anyLong());
+	}
+}
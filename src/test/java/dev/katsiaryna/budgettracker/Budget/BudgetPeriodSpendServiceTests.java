@@ -0,0 +1,137 @@
+package dev.katsiaryna.budgettracker.Budget;
+
+import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the incrementally maintained period counters always equal a rebuild from the outcomes,
+ * with outcomes added, moved and deleted across month, week and custom period boundaries.
+ */
+@SpringBootTest
+class BudgetPeriodSpendServiceTests {
+
+	private static final long USER_ID = 10L;
+	private static final long MONTHLY_CATEGORY = 4L;
+	private static final long WEEKLY_CATEGORY = 8L;
+	private static final long CUSTOM_CATEGORY = 11L;
+	private static final long CHANGED_CATEGORY = 10L;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private BudgetRepository budgetRepository;
+
+	@Autowired
+	private BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+
+	@Autowired
+	private BudgetPeriodSpendService budgetPeriodSpendService;
+
+	@Autowired
+	private OutcomeService outcomeService;
+
+	@BeforeEach
+	void createBudgets() {
+		budgetService.setCategoryLimit(USER_ID, MONTHLY_CATEGORY, 50_000L, BudgetPeriod.MONTHLY, null, null);
+		budgetService.setCategoryLimit(USER_ID, WEEKLY_CATEGORY, 10_000L, BudgetPeriod.WEEKLY, null, null);
+		budgetService.setCategoryLimit(USER_ID, CUSTOM_CATEGORY, 200_000L, BudgetPeriod.CUSTOM,
+				LocalDate.of(2025, 5, 10), LocalDate.of(2025, 5, 20));
+	}
+
+	@Test
+	void countersMatchRebuildAcrossPeriodBoundaries() {
+		// Month boundary
+		long lastOfJanuary = outcomeService.addOutcome(USER_ID, MONTHLY_CATEGORY, 1_000, "jan", LocalDate.of(2025, 1, 31)).getOutcomeId();
+		outcomeService.addOutcome(USER_ID, MONTHLY_CATEGORY, 2_500, "feb", LocalDate.of(2025, 2, 1));
+		// Week boundary: Sunday and the following Monday
+		long sunday = outcomeService.addOutcome(USER_ID, WEEKLY_CATEGORY, 700, "sun", LocalDate.of(2025, 3, 9)).getOutcomeId();
+		outcomeService.addOutcome(USER_ID, WEEKLY_CATEGORY, 300, "mon", LocalDate.of(2025, 3, 10));
+		// Custom period boundaries: the day before, first day, last day and the day after
+		outcomeService.addOutcome(USER_ID, CUSTOM_CATEGORY, 111, "before", LocalDate.of(2025, 5, 9));
+		long firstDay = outcomeService.addOutcome(USER_ID, CUSTOM_CATEGORY, 222, "first", LocalDate.of(2025, 5, 10)).getOutcomeId();
+		outcomeService.addOutcome(USER_ID, CUSTOM_CATEGORY, 333, "last", LocalDate.of(2025, 5, 20));
+		outcomeService.addOutcome(USER_ID, CUSTOM_CATEGORY, 444, "after", LocalDate.of(2025, 5, 21));
+
+		assertThat(counters(MONTHLY_CATEGORY)).isEqualTo(Map.of(
+				LocalDate.of(2025, 1, 1), List.of(1_000L, 1L), LocalDate.of(2025, 2, 1), List.of(2_500L, 1L)));
+		assertThat(counters(WEEKLY_CATEGORY)).isEqualTo(Map.of(
+				LocalDate.of(2025, 3, 3), List.of(700L, 1L), LocalDate.of(2025, 3, 10), List.of(300L, 1L)));
+		assertThat(counters(CUSTOM_CATEGORY)).isEqualTo(Map.of(LocalDate.of(2025, 5, 10), List.of(555L, 2L)));
+		assertCountersMatchRebuild(MONTHLY_CATEGORY, WEEKLY_CATEGORY, CUSTOM_CATEGORY);
+
+		// Move across boundaries, change amounts and move between categories
+		outcomeService.updateOutcome(lastOfJanuary, MONTHLY_CATEGORY, 1_200, "jan", LocalDate.of(2025, 2, 28));
+		outcomeService.updateOutcome(sunday, WEEKLY_CATEGORY, 900, "sun", LocalDate.of(2025, 3, 16));
+		outcomeService.updateOutcome(firstDay, MONTHLY_CATEGORY, 222, "moved", LocalDate.of(2025, 5, 10));
+
+		assertThat(counters(MONTHLY_CATEGORY)).isEqualTo(Map.of(
+				LocalDate.of(2025, 2, 1), List.of(3_700L, 2L), LocalDate.of(2025, 5, 1), List.of(222L, 1L)));
+		assertThat(counters(WEEKLY_CATEGORY)).isEqualTo(Map.of(LocalDate.of(2025, 3, 10), List.of(1_200L, 2L)));
+		assertThat(counters(CUSTOM_CATEGORY)).isEqualTo(Map.of(LocalDate.of(2025, 5, 10), List.of(333L, 1L)));
+		assertCountersMatchRebuild(MONTHLY_CATEGORY, WEEKLY_CATEGORY, CUSTOM_CATEGORY);
+
+		// Deleting the last outcome of a period drops its counter
+		outcomeService.deleteOutcome(firstDay);
+		outcomeService.deleteOutcome(sunday);
+
+		assertThat(counters(MONTHLY_CATEGORY)).doesNotContainKey(LocalDate.of(2025, 5, 1));
+		assertThat(counters(WEEKLY_CATEGORY)).isEqualTo(Map.of(LocalDate.of(2025, 3, 10), List.of(300L, 1L)));
+		assertCountersMatchRebuild(MONTHLY_CATEGORY, WEEKLY_CATEGORY, CUSTOM_CATEGORY);
+	}
+
+	@Test
+	void changingThePeriodRebuildsTheCounters() {
+		budgetService.setCategoryLimit(USER_ID, CHANGED_CATEGORY, 10_000L, BudgetPeriod.WEEKLY, null, null);
+		outcomeService.addOutcome(USER_ID, CHANGED_CATEGORY, 400, "tue", LocalDate.of(2025, 6, 3));
+		outcomeService.addOutcome(USER_ID, CHANGED_CATEGORY, 600, "mon", LocalDate.of(2025, 6, 30));
+		assertThat(counters(CHANGED_CATEGORY)).isEqualTo(Map.of(
+				LocalDate.of(2025, 6, 2), List.of(400L, 1L), LocalDate.of(2025, 6, 30), List.of(600L, 1L)));
+
+		budgetService.updateLimitAmount(budget(CHANGED_CATEGORY).getBudgetId(), 10_000L, BudgetPeriod.MONTHLY, null, null);
+
+		assertThat(counters(CHANGED_CATEGORY)).isEqualTo(Map.of(LocalDate.of(2025, 6, 1), List.of(1_000L, 2L)));
+		assertCountersMatchRebuild(CHANGED_CATEGORY);
+	}
+
+	/**
+	 * Compares the counters of the budgets of the given categories with the counters computed from scratch.
+	 */
+	private void assertCountersMatchRebuild(long... categoryIds) {
+		for (long categoryId : categoryIds) {
+			Map<LocalDate, List<Long>> incremental = counters(categoryId);
+			budgetPeriodSpendService.rebuild(budget(categoryId));
+			assertThat(incremental).as("category " + categoryId).isEqualTo(counters(categoryId));
+		}
+	}
+
+	private Budget budget(long categoryId) {
+		return budgetRepository.findByUserIdAndCategoryId(USER_ID, categoryId).get(0);
+	}
+
+	private Map<LocalDate, List<Long>> counters(long categoryId) {
+		Long budgetId = budget(categoryId).getBudgetId();
+		return budgetPeriodSpendRepository.findAll().stream()
+				.filter(row -> row.getBudgetId().equals(budgetId))
+				.collect(Collectors.toMap(BudgetPeriodSpend::getPeriodStart,
+						row -> List.of(row.getSpentCents(), row.getTxCount())));
+	}
+}
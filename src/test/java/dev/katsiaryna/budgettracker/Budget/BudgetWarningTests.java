@@ -0,0 +1,86 @@
+package dev.katsiaryna.budgettracker.Budget;
+
+import dev.katsiaryna.budgettracker.Dashboard.DashboardEvents;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that a budget warning is published exactly when an outcome takes the current period to 90% of the limit.
+ */
+@SpringBootTest
+class BudgetWarningTests {
+
+	private static final long USER_ID = 10L;
+	private static final long CATEGORY_ID = 6L;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@MockitoSpyBean
+	private DashboardEvents dashboardEvents;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private OutcomeService outcomeService;
+
+	@Test
+	void warningIsPublishedOnceWhenCrossingNinetyPercent() {
+		doReturn(true).when(dashboardEvents).hasSubscribers(USER_ID);
+		budgetService.setCategoryLimit(USER_ID, CATEGORY_ID, 10_000L, BudgetPeriod.MONTHLY, null, null);
+		LocalDate today = LocalDate.now();
+		LocalDate periodStart = today.withDayOfMonth(1);
+
+		// Spending in an earlier period does not count towards the current one
+		outcomeService.addOutcome(USER_ID, CATEGORY_ID, 9_500, "last month", periodStart.minusDays(1));
+		outcomeService.addOutcome(USER_ID, CATEGORY_ID, 5_000, "half", today);
+		outcomeService.addOutcome(USER_ID, CATEGORY_ID, 3_999, "just below", today);
+		verify(dashboardEvents, never()).budgetWarning(any(), any());
+
+		outcomeService.addOutcome(USER_ID, CATEGORY_ID, 1, "crossing", today);
+
+		ArgumentCaptor<DashboardEvents.BudgetWarningEvent> warning =
+				ArgumentCaptor.forClass(DashboardEvents.BudgetWarningEvent.class);
+		verify(dashboardEvents, times(1)).budgetWarning(eq(USER_ID), warning.capture());
+		assertThat(warning.getValue().category()).isEqualTo("Entertainment");
+		assertThat(warning.getValue().periodStart()).isEqualTo(periodStart);
+		assertThat(warning.getValue().periodEnd()).isEqualTo(periodStart.plusMonths(1).minusDays(1));
+		assertThat(warning.getValue().spent()).isEqualTo(new BigDecimal("90.00"));
+		assertThat(warning.getValue().limit()).isEqualTo(new BigDecimal("100.00"));
+
+		clearInvocations(dashboardEvents);
+		outcomeService.addOutcome(USER_ID, CATEGORY_ID, 500, "above", today);
+		verify(dashboardEvents, never()).budgetWarning(any(), any());
+	}
+
+	@Test
+	void noWarningIsComputedWithoutOpenStreams() {
+		budgetService.setCategoryLimit(USER_ID, 12L, 1_000L, BudgetPeriod.MONTHLY, null, null);
+
+		outcomeService.addOutcome(USER_ID, 12L, 2_000, "over", LocalDate.now());
+
+		verify(dashboardEvents, never()).budgetWarning(any(), any());
+	}
+}
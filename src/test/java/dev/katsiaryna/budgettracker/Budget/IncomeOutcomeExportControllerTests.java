@@ -0,0 +1,65 @@
+package dev.katsiaryna.budgettracker.Budget;
+
+import dev.katsiaryna.budgettracker.Income.IncomeService;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IncomeOutcomeExportControllerTests {
+
+	private static final long USER_ID = 10L;
+	private static final long CATEGORY_ID = 7L;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IncomeService incomeService;
+
+	@Autowired
+	private OutcomeService outcomeService;
+
+	@Test
+	void exportsIncomesOfEveryDate() throws Exception {
+		incomeService.addIncome(USER_ID, CATEGORY_ID, 1250, "old income", LocalDate.of(1850, 6, 1));
+		incomeService.addIncome(USER_ID, CATEGORY_ID, 990, "far future income", LocalDate.of(9999, 12, 31));
+
+		String csv = export("/api/v1/export/incomes/" + USER_ID);
+
+		assertThat(csv.lines().findFirst()).hasValue("Date,Category,Amount,Description");
+		assertThat(csv).contains("1850-06-01,Dining,12.50,old income", "9999-12-31,Dining,9.90,far future income");
+		assertThat(csv.indexOf("1850-06-01")).isLessThan(csv.indexOf("9999-12-31"));
+	}
+
+	@Test
+	void exportsOutcomesOfEveryDate() throws Exception {
+		outcomeService.addOutcome(USER_ID, CATEGORY_ID, 4200, "old outcome", LocalDate.of(1850, 6, 1));
+
+		assertThat(export("/api/v1/export/outcomes/" + USER_ID)).contains("1850-06-01,Dining,42.00,old outcome");
+	}
+
+	private String export(String path) throws Exception {
+		return mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+	}
+}
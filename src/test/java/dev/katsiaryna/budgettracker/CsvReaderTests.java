@@ -0,0 +1,55 @@
+package dev.katsiaryna.budgettracker;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks RFC 4180 quoting, line endings and the byte order mark in {@link CsvReader}.
+ */
+class CsvReaderTests {
+
+	@Test
+	void quotedFieldsMayContainSeparatorsQuotesAndLineBreaks() {
+		List<List<String>> rows = read("a,\"b, c\",\"say \"\"hi\"\"\"\n\"line one\nline two\",,\"\"\n");
+
+		assertThat(rows).containsExactly(
+				List.of("a", "b, c", "say \"hi\""),
+				List.of("line one\nline two", "", ""));
+	}
+
+	@Test
+	void acceptsCrLfAndLfLineEndingsAndAMissingFinalLineBreak() {
+		assertThat(read("a,b\r\nc,d\ne,f")).containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+		assertThat(read("\"x\r\ny\",z\r\n")).containsExactly(List.of("x\r\ny", "z"));
+	}
+
+	@Test
+	void skipsTheByteOrderMark() {
+		assertThat(read("\uFEFFDate,Amount\n")).containsExactly(List.of("Date", "Amount"));
+	}
+
+	@Test
+	void emptyInputHasNoRows() {
+		assertThat(read("")).isEmpty();
+	}
+
+	@Test
+	void unterminatedQuoteEndsTheLastField() {
+		assertThat(read("a,\"b\nc")).containsExactly(List.of("a", "b\nc"));
+	}
+
+	private static List<List<String>> read(String csv) {
+		CsvReader reader = new CsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+		List<List<String>> rows = new ArrayList<>();
+		for (List<String> row = reader.readRow(); row != null; row = reader.readRow()) {
+			rows.add(row);
+		}
+		return rows;
+	}
+}
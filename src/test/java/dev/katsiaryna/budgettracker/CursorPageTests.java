@@ -0,0 +1,60 @@
+package dev.katsiaryna.budgettracker;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPageTests {
+
+	private record Row(LocalDate date, long id) {
+	}
+
+	@Test
+	void cursorRoundTrips() {
+		String token = CursorPage.encodeCursor(LocalDate.of(2024, 12, 31), 9_000_000_001L);
+
+		assertThat(token).doesNotContain("=", "+", "/");
+		assertThat(CursorPage.decodeCursor(token))
+				.isEqualTo(new CursorPage.Cursor(LocalDate.of(2024, 12, 31), 9_000_000_001L));
+	}
+
+	@Test
+	void malformedCursorsAreRejected() {
+		String noSeparator = Base64.getUrlEncoder().encodeToString("2024-01-01".getBytes(StandardCharsets.UTF_8));
+		String badDate = Base64.getUrlEncoder().encodeToString("2024-13-01:5".getBytes(StandardCharsets.UTF_8));
+		String badId = Base64.getUrlEncoder().encodeToString("2024-01-01:x".getBytes(StandardCharsets.UTF_8));
+
+		for (String token : List.of("", "not a cursor!", noSeparator, badDate, badId)) {
+			assertThatThrownBy(() -> CursorPage.decodeCursor(token))
+					.as(token)
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Test
+	void lastPageHasNoCursor() {
+		List<Row> rows = List.of(new Row(LocalDate.of(2024, 1, 2), 2), new Row(LocalDate.of(2024, 1, 1), 1));
+
+		CursorPage<Row> page = CursorPage.of(rows, 2, Row::date, Row::id);
+
+		assertThat(page.getItems()).isEqualTo(rows);
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	void extraRowIsDroppedAndLastItemBecomesCursor() {
+		LocalDate day = LocalDate.of(2024, 1, 1);
+		List<Row> rows = List.of(new Row(day, 7), new Row(day, 5), new Row(day, 3));
+
+		CursorPage<Row> page = CursorPage.of(rows, 2, Row::date, Row::id);
+
+		assertThat(page.getItems()).containsExactly(new Row(day, 7), new Row(day, 5));
+		assertThat(CursorPage.decodeCursor(page.getNextCursor())).isEqualTo(new CursorPage.Cursor(day, 5));
+	}
+}
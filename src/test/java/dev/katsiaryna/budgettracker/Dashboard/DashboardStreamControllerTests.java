@@ -0,0 +1,78 @@
+package dev.katsiaryna.budgettracker.Dashboard;
+
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "dashboard.stream.max-per-user=2")
+@AutoConfigureMockMvc
+class DashboardStreamControllerTests {
+
+	/** The sample user "Test" */
+	private static final long USER_ID = 10L;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserDetailsService userDetailsService;
+
+	@Autowired
+	private DashboardEvents dashboardEvents;
+
+	@AfterEach
+	void closeStreams() {
+		dashboardEvents.closeAll();
+	}
+
+	private RequestPostProcessor loggedIn() {
+		return SecurityMockMvcRequestPostProcessors.user(userDetailsService.loadUserByUsername("Test"));
+	}
+
+	@Test
+	void anonymousClientsAreSentToLogin() throws Exception {
+		mockMvc.perform(get("/api/v1/stream/" + USER_ID)).andExpect(status().is3xxRedirection());
+		assertThat(dashboardEvents.hasSubscribers(USER_ID)).isFalse();
+	}
+
+	@Test
+	void otherUsersStreamsAreForbidden() throws Exception {
+		mockMvc.perform(get("/api/v1/stream/1").with(loggedIn())).andExpect(status().isForbidden());
+		assertThat(dashboardEvents.hasSubscribers(1L)).isFalse();
+	}
+
+	@Test
+	void ownStreamIsOpened() throws Exception {
+		mockMvc.perform(get("/api/v1/stream/" + USER_ID).with(loggedIn()))
+				.andExpect(request().asyncStarted());
+		assertThat(dashboardEvents.hasSubscribers(USER_ID)).isTrue();
+	}
+
+	@Test
+	void streamsPerUserAreCapped() throws Exception {
+		mockMvc.perform(get("/api/v1/stream/" + USER_ID).with(loggedIn())).andExpect(request().asyncStarted());
+		mockMvc.perform(get("/api/v1/stream/" + USER_ID).with(loggedIn())).andExpect(request().asyncStarted());
+
+		mockMvc.perform(get("/api/v1/stream/" + USER_ID).with(loggedIn())).andExpect(status().isTooManyRequests());
+		assertThat(dashboardEvents.subscribe(2L)).as("other users are not affected").isNotNull();
+	}
+}
@@ -0,0 +1,143 @@
+package dev.katsiaryna.budgettracker.Database;
+
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a copy of the committed pre-Flyway sample database, with a few REAL amounts added that
+ * are not exactly representable, and checks the V3 conversion to cents and the rollup rebuilt
+ * from the converted rows afterwards.
+ */
+@SpringBootTest
+class AmountsToCentsMigrationTests {
+
+	/** Expected cents per table and primary key, read from the REAL columns before migrating */
+	private static final Map<String, Map<Long, Long>> EXPECTED = new HashMap<>();
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws SQLException {
+		Path copy = TestDatabase.copy(TestDatabase.SAMPLE);
+		try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + copy);
+			 Statement statement = connection.createStatement()) {
+			// 0.29 * 100 is 28.999999999999996 as a double, so truncating instead of rounding would lose a cent
+			statement.executeUpdate("""
+					INSERT INTO incomes (amount, date, description, category_id, user_id) VALUES
+					(0.29, 1742684400000, 'binary fraction', 7, 10),
+					(19.999999999, 1742684400000, 'almost twenty', 7, 10),
+					(1234.56, 1742770800000, 'large', 5, 10)""");
+			statement.executeUpdate("""
+					INSERT INTO outcomes (amount, date, description, category_id, user_id) VALUES
+					(-0.29, 1742684400000, 'binary fraction', 7, 10),
+					(-0.1, 1742684400000, 'dime', 7, 10),
+					(-57.3, 1742770800000, 'groceries', 5, 10)""");
+			statement.executeUpdate("INSERT INTO budgets (limit_amount, category_id, user_id) VALUES (49.99, 7, 10)");
+			statement.executeUpdate("""
+					INSERT INTO goal (name, type, user_id, target_amount, current_amount)
+					VALUES ('rounding', 'Savings', 10, 0.07, 0.29)""");
+
+			expect(statement, "incomes", "SELECT income_id, amount FROM incomes");
+			expect(statement, "outcomes", "SELECT outcome_id, amount FROM outcomes");
+			expect(statement, "budgets", "SELECT budget_id, limit_amount FROM budgets");
+			expect(statement, "goal.target", "SELECT goal_id, target_amount FROM goal");
+			expect(statement, "goal.current", "SELECT goal_id, current_amount FROM goal");
+		}
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + copy);
+	}
+
+	private static void expect(Statement statement, String key, String sql) throws SQLException {
+		Map<Long, Long> cents = new HashMap<>();
+		try (ResultSet rows = statement.executeQuery(sql)) {
+			while (rows.next()) {
+				double amount = rows.getDouble(2);
+				boolean missing = rows.wasNull();
+				cents.put(rows.getLong(1), missing ? null
+						: BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact());
+			}
+		}
+		EXPECTED.put(key, cents);
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void amountsAreRoundedToTheNearestCent() {
+		assertThat(cents("SELECT income_id, amount_cents FROM incomes")).isEqualTo(EXPECTED.get("incomes"));
+		assertThat(cents("SELECT outcome_id, amount_cents FROM outcomes")).isEqualTo(EXPECTED.get("outcomes"));
+		assertThat(cents("SELECT budget_id, limit_cents FROM budgets")).isEqualTo(EXPECTED.get("budgets"));
+		assertThat(cents("SELECT goal_id, target_cents FROM goal")).isEqualTo(EXPECTED.get("goal.target"));
+		assertThat(cents("SELECT goal_id, current_cents FROM goal")).isEqualTo(EXPECTED.get("goal.current"));
+
+		assertThat(EXPECTED.get("incomes")).containsValues(29L, 2000L, 123456L);
+		assertThat(EXPECTED.get("outcomes")).containsValues(-29L, -10L, -5730L, -19264L);
+		assertThat(EXPECTED.get("budgets")).containsValue(4999L);
+	}
+
+	@Test
+	void outcomesStayNegative() {
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outcomes WHERE amount_cents >= 0", Integer.class))
+				.isZero();
+	}
+
+	@Test
+	void realColumnsAreDropped() {
+		for (String table : List.of("incomes", "outcomes", "budgets", "goal")) {
+			List<String> columns = jdbcTemplate.queryForList("SELECT name FROM pragma_table_info(?)", String.class, table);
+			assertThat(columns).as(table).doesNotContain("amount", "limit_amount", "target_amount", "current_amount");
+		}
+	}
+
+	@Test
+	void rollupIsRebuiltFromConvertedTransactions() {
+		String rollup = """
+				SELECT user_id || '/' || category_id, SUM(income_cents), SUM(outcome_cents), SUM(tx_count)
+				FROM daily_rollup GROUP BY user_id, category_id""";
+		String transactions = """
+				SELECT user_id || '/' || category_id, SUM(income_cents), SUM(outcome_cents), SUM(tx_count) FROM (
+				    SELECT user_id, category_id, amount_cents AS income_cents, 0 AS outcome_cents, 1 AS tx_count FROM incomes
+				    UNION ALL
+				    SELECT user_id, category_id, 0, amount_cents, 1 FROM outcomes)
+				GROUP BY user_id, category_id""";
+
+		Map<String, List<Long>> expected = totals(transactions);
+		assertThat(expected).containsKeys("10/7", "10/5");
+		assertThat(totals(rollup)).isEqualTo(expected);
+	}
+
+	private Map<Long, Long> cents(String sql) {
+		Map<Long, Long> cents = new HashMap<>();
+		jdbcTemplate.query(sql, (ResultSet row) -> {
+			long amount = row.getLong(2);
+			boolean missing = row.wasNull();
+			cents.put(row.getLong(1), missing ? null : amount);
+		});
+		return cents;
+	}
+
+	private Map<String, List<Long>> totals(String sql) {
+		Map<String, List<Long>> totals = new HashMap<>();
+		jdbcTemplate.query(sql, (ResultSet row) -> {
+			totals.put(row.getString(1), List.of(row.getLong(2), row.getLong(3), row.getLong(4)));
+		});
+		return totals;
+	}
+}
@@ -0,0 +1,42 @@
+package dev.katsiaryna.budgettracker.Database;
+
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the schema on an empty database from the migrations alone; the context only starts when
+ * Hibernate's {@code ddl-auto=validate} accepts every entity mapping against it.
+ */
+@SpringBootTest
+class SchemaMigrationTests {
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.empty(registry);
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void migrationsCreateValidatedSchemaOnEmptyDatabase() {
+		Integer failed = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM flyway_schema_history WHERE success = 0", Integer.class);
+		String latest = jdbcTemplate.queryForObject(
+				"SELECT version FROM flyway_schema_history WHERE version IS NOT NULL ORDER BY installed_rank DESC LIMIT 1",
+				String.class);
+
+		assertThat(failed).isZero();
+		assertThat(latest).isEqualTo("6");
+		assertThat(jdbcTemplate.queryForList("SELECT name FROM sqlite_master WHERE type = 'table'", String.class))
+				.contains("users", "category", "incomes", "outcomes", "budgets", "goal", "daily_rollup",
+						"data_version", "budget_period_spend");
+	}
+}
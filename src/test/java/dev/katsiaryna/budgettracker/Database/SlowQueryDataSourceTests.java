@@ -0,0 +1,98 @@
+package dev.katsiaryna.budgettracker.Database;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryDataSourceTests {
+
+	private static final String HASH = "$2a$10$abcdefghijklmnopqrstuv0123456789ABCDEFGHIJKLMNOPQRSTU";
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(SlowQueryDataSource.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+	private Level previousLevel;
+
+	@BeforeEach
+	void attachAppender() {
+		previousLevel = logger.getLevel();
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void detachAppender() {
+		logger.detachAppender(appender);
+		logger.setLevel(previousLevel);
+	}
+
+	@Test
+	void slowQueryWarningShowsParameterTypesOnly() throws Exception {
+		logger.setLevel(Level.WARN);
+
+		insertUser(Duration.ZERO);
+
+		List<ILoggingEvent> warnings = events(Level.WARN);
+		assertThat(warnings).hasSize(1);
+		String message = warnings.get(0).getFormattedMessage();
+		assertThat(message).contains("INSERT INTO users", "[1:String, 2:String, 3:null]");
+		assertThat(message).doesNotContain(HASH, "alice");
+		assertThat(events(Level.DEBUG)).isEmpty();
+	}
+
+	@Test
+	void debugLogShowsParameterValues() throws Exception {
+		logger.setLevel(Level.DEBUG);
+
+		insertUser(Duration.ZERO);
+
+		assertThat(events(Level.DEBUG)).singleElement()
+				.extracting(ILoggingEvent::getFormattedMessage).asString()
+				.contains("[1=alice, 2=" + HASH + ", 3=null]");
+	}
+
+	@Test
+	void fastQueriesAreNotWarnedAbout() throws Exception {
+		logger.setLevel(Level.WARN);
+
+		insertUser(Duration.ofHours(1));
+
+		assertThat(appender.list).isEmpty();
+	}
+
+	private void insertUser(Duration threshold) throws Exception {
+		SQLiteDataSource target = new SQLiteDataSource();
+		target.setUrl("jdbc:sqlite::memory:");
+		try (Connection connection = new SlowQueryDataSource(target, threshold).getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE users (username TEXT, password TEXT, email TEXT)");
+			}
+			appender.list.clear();
+			try (PreparedStatement statement = connection.prepareStatement(
+					"INSERT INTO users (username, password, email) VALUES (?, ?, ?)")) {
+				statement.setString(1, "alice");
+				statement.setString(2, HASH);
+				statement.setNull(3, Types.VARCHAR);
+				statement.executeUpdate();
+			}
+		}
+	}
+
+	private List<ILoggingEvent> events(Level level) {
+		return appender.list.stream().filter(event -> event.getLevel() == level).toList();
+	}
+}
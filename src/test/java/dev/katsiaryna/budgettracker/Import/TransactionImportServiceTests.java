@@ -0,0 +1,278 @@
+package dev.katsiaryna.budgettracker.Import;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.katsiaryna.budgettracker.Budget.Budget;
+import dev.katsiaryna.budgettracker.Budget.BudgetPeriod;
+import dev.katsiaryna.budgettracker.Budget.BudgetPeriodSpend;
+import dev.katsiaryna.budgettracker.Budget.BudgetPeriodSpendRepository;
+import dev.katsiaryna.budgettracker.Budget.BudgetPeriodSpendService;
+import dev.katsiaryna.budgettracker.Budget.BudgetRepository;
+import dev.katsiaryna.budgettracker.Budget.BudgetService;
+import dev.katsiaryna.budgettracker.Category.Category;
+import dev.katsiaryna.budgettracker.Category.CategoryCatalog;
+import dev.katsiaryna.budgettracker.Category.CategoryService;
+import dev.katsiaryna.budgettracker.TestDatabase;
+import dev.katsiaryna.budgettracker.User.User;
+import dev.katsiaryna.budgettracker.User.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports incomes and outcomes into an empty database: CSV parsing, per-row errors, chunk rollback
+ * and the daily rollup and budget period counters kept in step with the stored rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionImportServiceTests {
+
+	/** First day of the generated rows; they span the end of January and the start of February */
+	private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 27);
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.empty(registry);
+	}
+
+	@MockitoSpyBean
+	private BudgetPeriodSpendService budgetPeriodSpendService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TransactionImportService transactionImportService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryCatalog categoryCatalog;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private BudgetRepository budgetRepository;
+
+	@Autowired
+	private BudgetPeriodSpendRepository budgetPeriodSpendRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long userId;
+
+	@BeforeEach
+	void createUserAndCategories() {
+		userId = userRepository.save(new User("import-" + UUID.randomUUID(), "secret")).getId();
+		for (String name : List.of("Food", "food", "Rent", "Salary")) {
+			if (categoryCatalog.findByName(name).isEmpty()) {
+				categoryService.addCategory(name, null);
+			}
+		}
+	}
+
+	@Test
+	void parsesHeaderColumnsInAnyOrderWithBomAndQuotedFields() {
+		String csv = "\uFEFFamount,Description,CATEGORY,Date\r\n"
+				+ "12.50,\"lunch, with \"\"friends\"\"\",Food,2025-03-01\r\n"
+				+ "\r\n"
+				+ "-7,\"first line\nsecond line\",Rent,2025-03-02\r\n"
+				+ "3,,Salary,2025-03-03";
+
+		List<ImportRow> rows = transactionImportService.parseCsv(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(rows).containsExactly(
+				new ImportRow("2025-03-01", "Food", null, "12.50", "lunch, with \"friends\""),
+				new ImportRow("2025-03-02", "Rent", null, "-7", "first line\nsecond line"),
+				new ImportRow("2025-03-03", "Salary", null, "3", ""));
+	}
+
+	@Test
+	void headerWithoutRequiredColumnIsRejected() throws Exception {
+		mockMvc.perform(post("/api/v1/incomes/import").param("userId", String.valueOf(userId))
+						.contentType("text/csv").content("Date,Amount\n2025-03-01,5\n"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void csvImportStoresValidRowsAndReportsEachRejectedRow() throws Exception {
+		String csv = "Date,Category,Amount,Description\n"
+				+ "2025-03-01,Food,12.50,exact name\n"
+				+ "2025-03-01,food,3.00,other category differing only in case\n"
+				+ "2025-03-02,rent,700,unique case-insensitive match\n"
+				+ "2025-03-02,FOOD,1.00,ambiguous\n"
+				+ "2025-13-01,Food,1.00,bad date\n"
+				+ "2025-03-03,Fuel,1.00,unknown category\n"
+				+ "2025-03-03,Food,0,zero\n"
+				+ "2025-03-03,Food,1.005,too precise\n";
+
+		String body = mockMvc.perform(post("/api/v1/outcomes/import").param("userId", String.valueOf(userId))
+						.contentType("text/csv").content(csv))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		JsonNode result = objectMapper.readTree(body);
+		assertThat(result.get("imported").asInt()).isEqualTo(3);
+		Map<Integer, String> errors = new TreeMap<>();
+		result.get("errors").forEach(error -> errors.put(error.get("row").asInt(), error.get("message").asText()));
+		assertThat(errors).containsOnlyKeys(4, 5, 6, 7, 8);
+		assertThat(errors.get(4)).contains("ambiguous");
+		assertThat(errors.get(5)).isEqualTo("Invalid date: 2025-13-01");
+		assertThat(errors.get(6)).isEqualTo("Category not found: Fuel");
+		assertThat(errors.get(7)).isEqualTo("Amount must not be zero");
+		assertThat(errors.get(8)).startsWith("Invalid amount");
+
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT c.category_name || ' ' || o.amount_cents FROM outcomes o JOIN category c ON c.category_id = o.category_id"
+						+ " WHERE o.user_id = ? ORDER BY o.outcome_id", String.class, userId))
+				.containsExactly("Food -1250", "food -300", "Rent -70000");
+		assertRollupMatchesTransactions();
+	}
+
+	@Test
+	void zeroIncomeIsRejected() {
+		ImportResult result = transactionImportService.importIncomes(userId,
+				List.of(new ImportRow("2025-03-01", "Salary", null, "0.00", null)));
+
+		assertThat(result.imported()).isZero();
+		assertThat(result.errors()).containsExactly(new ImportResult.RowError(1, "Amount must be positive"));
+	}
+
+	@Test
+	void chunkedImportKeepsRollupAndBudgetCountersInStep() {
+		Budget budget = createMonthlyBudget("Rent");
+
+		ImportResult outcomes = transactionImportService.importOutcomes(userId, rows(1_234, "Rent", "Food"));
+		ImportResult incomes = transactionImportService.importIncomes(userId, rows(777, "Salary", "Food"));
+
+		assertThat(outcomes).isEqualTo(new ImportResult(1_234, List.of()));
+		assertThat(incomes).isEqualTo(new ImportResult(777, List.of()));
+		assertThat(count("outcomes")).isEqualTo(1_234);
+		assertThat(count("incomes")).isEqualTo(777);
+		assertRollupMatchesTransactions();
+		assertCountersMatchRebuild(budget);
+	}
+
+	@Test
+	void failedChunkIsRolledBackWithItsRollupAndBudgetCounters() {
+		Budget budget = createMonthlyBudget("Rent");
+		// Rows 701-800 fall on this day, in the second chunk of 500. The counter update of that
+		// day is applied before failing, so it has to be rolled back with the chunk.
+		LocalDate failingDay = FIRST_DAY.plusDays(7);
+		doAnswer(invocation -> {
+			invocation.callRealMethod();
+			if (failingDay.equals(invocation.getArgument(2))) {
+				throw new IllegalStateException("disk full");
+			}
+			return null;
+		}).when(budgetPeriodSpendService).addOutcomes(any(), any(), any(), anyLong(), anyLong());
+
+		ImportResult result = transactionImportService.importOutcomes(userId, rows(1_200, "Rent", "Food"));
+
+		assertThat(result.imported()).isEqualTo(700);
+		assertThat(result.errors()).extracting(ImportResult.RowError::row)
+				.containsExactlyElementsOf(IntStream.rangeClosed(501, 1_000).boxed().toList());
+		assertThat(result.errors()).extracting(ImportResult.RowError::message).containsOnly("Import failed: disk full");
+		assertThat(count("outcomes")).isEqualTo(700);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM outcomes WHERE user_id = ? AND description IN ('row 501', 'row 1000')",
+				Long.class, userId)).isZero();
+		assertRollupMatchesTransactions();
+		assertCountersMatchRebuild(budget);
+	}
+
+	/**
+	 * Rows of 1.00, 1.01, ... alternating between two categories, 100 rows per day from {@link #FIRST_DAY}.
+	 */
+	private static List<ImportRow> rows(int count, String category, String otherCategory) {
+		List<ImportRow> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			rows.add(new ImportRow(FIRST_DAY.plusDays(i / 100).toString(), i % 2 == 0 ? category : otherCategory,
+					null, String.format(Locale.ROOT, "1.%02d", i % 50), "row " + (i + 1)));
+		}
+		return rows;
+	}
+
+	private Budget createMonthlyBudget(String categoryName) {
+		Category category = categoryCatalog.findByName(categoryName).orElseThrow();
+		budgetService.setCategoryLimit(userId, category.getCategory_id(), 1_000_000L, BudgetPeriod.MONTHLY, null, null);
+		return budgetRepository.findByUserIdAndCategoryId(userId, category.getCategory_id()).get(0);
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id = ?", Long.class, userId);
+	}
+
+	/**
+	 * Compares the user's daily rollup rows with totals grouped from the stored incomes and outcomes.
+	 */
+	private void assertRollupMatchesTransactions() {
+		Set<List<Long>> rollup = new HashSet<>(jdbcTemplate.query(
+				"SELECT category_id, day, income_cents, outcome_cents, tx_count FROM daily_rollup WHERE user_id = ?",
+				(rs, i) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)), userId));
+		Set<List<Long>> transactions = new HashSet<>(jdbcTemplate.query("""
+				SELECT category_id, date, SUM(income), SUM(outcome), COUNT(*) FROM (
+				    SELECT category_id, date, amount_cents AS income, 0 AS outcome FROM incomes WHERE user_id = ?
+				    UNION ALL
+				    SELECT category_id, date, 0, amount_cents FROM outcomes WHERE user_id = ?)
+				GROUP BY category_id, date
+				""",
+				(rs, i) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+				userId, userId));
+		assertThat(rollup).isNotEmpty().isEqualTo(transactions);
+	}
+
+	/**
+	 * Compares the counters of a budget with the counters computed from scratch.
+	 */
+	private void assertCountersMatchRebuild(Budget budget) {
+		Map<LocalDate, List<Long>> incremental = counters(budget);
+		budgetPeriodSpendService.rebuild(budget);
+		assertThat(incremental).hasSize(2).isEqualTo(counters(budget));
+	}
+
+	private Map<LocalDate, List<Long>> counters(Budget budget) {
+		return budgetPeriodSpendRepository.findAll().stream()
+				.filter(row -> row.getBudgetId().equals(budget.getBudgetId()))
+				.collect(Collectors.toMap(BudgetPeriodSpend::getPeriodStart,
+						row -> List.of(row.getSpentCents(), row.getTxCount())));
+	}
+}
@@ -0,0 +1,114 @@
+package dev.katsiaryna.budgettracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.katsiaryna.budgettracker.Income.IncomeService;
+import dev.katsiaryna.budgettracker.Outcome.OutcomeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks the keyset-paginated {@code /user/{userId}} listings page by page.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class KeysetPagingTests {
+
+	private static final long USER_ID = 10L;
+	private static final long CATEGORY_ID = 7L;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private IncomeService incomeService;
+
+	@Autowired
+	private OutcomeService outcomeService;
+
+	@Test
+	void incomesOnTheSameDayArePagedByIdWithoutGapsOrDuplicates() throws Exception {
+		LocalDate day = LocalDate.of(2031, 3, 15);
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			expected.add(incomeService.addIncome(USER_ID, CATEGORY_ID, 100 + i, "same day " + i, day).getIncomeId());
+		}
+		incomeService.addIncome(USER_ID, CATEGORY_ID, 100, "next day", day.plusDays(1));
+		expected.sort(Comparator.reverseOrder());
+
+		assertThat(walk("/api/v1/incomes/user/" + USER_ID, "incomeId", day)).isEqualTo(expected);
+	}
+
+	@Test
+	void outcomesOnTheSameDayArePagedByIdWithoutGapsOrDuplicates() throws Exception {
+		LocalDate day = LocalDate.of(2031, 4, 20);
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			expected.add(outcomeService.addOutcome(USER_ID, CATEGORY_ID, 100 + i, "same day " + i, day).getOutcomeId());
+		}
+		outcomeService.addOutcome(USER_ID, CATEGORY_ID, 100, "previous day", day.minusDays(1));
+		expected.sort(Comparator.reverseOrder());
+
+		assertThat(walk("/api/v1/outcomes/user/" + USER_ID, "outcomeId", day)).isEqualTo(expected);
+	}
+
+	@Test
+	void malformedCursorsAreRejected() throws Exception {
+		String noSeparator = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("2024-01-01".getBytes(StandardCharsets.UTF_8));
+		for (String path : List.of("/api/v1/incomes/user/", "/api/v1/outcomes/user/")) {
+			for (String cursor : List.of("garbage!", noSeparator)) {
+				mockMvc.perform(get(path + USER_ID).param("cursor", cursor))
+						.andExpect(status().isBadRequest());
+			}
+		}
+	}
+
+	/**
+	 * Follows {@code nextCursor} with a page size of 2 and collects the IDs of every listed item.
+	 */
+	private List<Long> walk(String path, String idField, LocalDate day) throws Exception {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			var request = get(path).param("size", "2").param("from", day.toString()).param("to", day.toString());
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			String body = mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			JsonNode page = objectMapper.readTree(body);
+			for (JsonNode item : page.get("items")) {
+				assertThat(item.get("date").asText()).isEqualTo(day.toString());
+				ids.add(item.get(idField).asLong());
+			}
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+		} while (cursor != null);
+		return ids;
+	}
+}
@@ -0,0 +1,91 @@
+package dev.katsiaryna.budgettracker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private record Amount(
+			@JsonSerialize(using = Money.CentsSerializer.class)
+			@JsonDeserialize(using = Money.CentsDeserializer.class)
+			long amount) {
+	}
+
+	@Test
+	void toCentsIsExact() {
+		assertThat(Money.toCents(new BigDecimal("12.34"))).isEqualTo(1234);
+		assertThat(Money.toCents(new BigDecimal("-0.01"))).isEqualTo(-1);
+		assertThat(Money.toCents(new BigDecimal("7"))).isEqualTo(700);
+		assertThat(Money.toCents(new BigDecimal("1.50"))).isEqualTo(150);
+		assertThat(Money.toCents(new BigDecimal("0.290"))).isEqualTo(29);
+	}
+
+	@Test
+	void toCentsRejectsFractionsOfCentsAndOverflow() {
+		assertThatThrownBy(() -> Money.toCents(new BigDecimal("0.001"))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Money.toCents(new BigDecimal("92233720368547758.08")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Money.toCents(null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void parseCentsAcceptsTrimmedDecimals() {
+		assertThat(Money.parseCents(" 19.99 ")).isEqualTo(1999);
+		assertThat(Money.parseCents("-192.64")).isEqualTo(-19264);
+		assertThat(Money.parseCents("0.1")).isEqualTo(10);
+	}
+
+	@Test
+	void parseCentsRejectsInvalidText() {
+		for (String text : new String[] {null, "", "  ", "abc", "1,50", "12.345"}) {
+			assertThatThrownBy(() -> Money.parseCents(text)).as(String.valueOf(text))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Test
+	void toDecimalAlwaysHasTwoDecimalPlaces() {
+		assertThat(Money.toDecimal(1234)).isEqualTo(new BigDecimal("12.34"));
+		assertThat(Money.toDecimal(700).toPlainString()).isEqualTo("7.00");
+		assertThat(Money.toDecimal(-5).toPlainString()).isEqualTo("-0.05");
+	}
+
+	@Test
+	void jsonRoundTripKeepsCents() throws Exception {
+		for (long cents : new long[] {0, 1, -1, 10, 1999, -19264, Long.MAX_VALUE}) {
+			String json = objectMapper.writeValueAsString(new Amount(cents));
+			assertThat(objectMapper.readValue(json, Amount.class).amount()).as(json).isEqualTo(cents);
+		}
+	}
+
+	@Test
+	void serializerWritesDecimalNumbers() throws Exception {
+		assertThat(objectMapper.writeValueAsString(new Amount(1050))).isEqualTo("{\"amount\":10.50}");
+		assertThat(objectMapper.writeValueAsString(new Amount(-3))).isEqualTo("{\"amount\":-0.03}");
+	}
+
+	@Test
+	void deserializerReadsNumbersAndNumericStrings() throws Exception {
+		assertThat(objectMapper.readValue("{\"amount\":0.1}", Amount.class).amount()).isEqualTo(10);
+		assertThat(objectMapper.readValue("{\"amount\":12}", Amount.class).amount()).isEqualTo(1200);
+		assertThat(objectMapper.readValue("{\"amount\":\"12.34\"}", Amount.class).amount()).isEqualTo(1234);
+	}
+
+	@Test
+	void deserializerRejectsFractionsOfCents() {
+		assertThatThrownBy(() -> objectMapper.readValue("{\"amount\":12.345}", Amount.class))
+				.isInstanceOf(InvalidFormatException.class);
+		assertThatThrownBy(() -> objectMapper.readValue("{\"amount\":\"twelve\"}", Amount.class))
+				.isInstanceOf(InvalidFormatException.class);
+	}
+}
@@ -0,0 +1,85 @@
+package dev.katsiaryna.budgettracker.Security;
+
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "security.admin-usernames=Katsiaryna")
+@AutoConfigureMockMvc
+class ActuatorSecurityTests {
+
+	private static final String LOGGER = "dev.katsiaryna.budgettracker.Security.ActuatorSecurityTests";
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserDetailsService userDetailsService;
+
+	@Autowired
+	private LoggingSystem loggingSystem;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void anonymousRequestsCannotReachOtherEndpoints() throws Exception {
+		for (String path : List.of("/actuator/metrics", "/actuator/prometheus", "/actuator/loggers", "/actuator/debuglogging")) {
+			mockMvc.perform(get(path)).andExpect(status().is3xxRedirection());
+		}
+		mockMvc.perform(post("/actuator/loggers/" + LOGGER)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"configuredLevel\":\"TRACE\"}"))
+				.andExpect(status().is3xxRedirection());
+		mockMvc.perform(post("/actuator/debuglogging/1")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"enabled\":true}"))
+				.andExpect(status().is3xxRedirection());
+
+		assertThat(loggingSystem.getLoggerConfiguration(LOGGER).getConfiguredLevel()).isNotEqualTo(LogLevel.TRACE);
+	}
+
+	@Test
+	void regularUsersAreForbidden() throws Exception {
+		var regular = user(userDetailsService.loadUserByUsername("Test"));
+		for (String path : List.of("/actuator/metrics", "/actuator/prometheus", "/actuator/loggers", "/actuator/debuglogging")) {
+			mockMvc.perform(get(path).with(regular)).andExpect(status().isForbidden());
+		}
+		mockMvc.perform(post("/actuator/loggers/" + LOGGER).with(regular)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"configuredLevel\":\"TRACE\"}"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void configuredAdminsCanChangeLogLevels() throws Exception {
+		var admin = user(userDetailsService.loadUserByUsername("Katsiaryna"));
+		mockMvc.perform(get("/actuator/metrics").with(admin)).andExpect(status().isOk());
+		mockMvc.perform(post("/actuator/loggers/" + LOGGER).with(admin)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"configuredLevel\":\"DEBUG\"}"))
+				.andExpect(status().isNoContent());
+
+		assertThat(loggingSystem.getLoggerConfiguration(LOGGER).getConfiguredLevel()).isEqualTo(LogLevel.DEBUG);
+	}
+}
@@ -0,0 +1,80 @@
+package dev.katsiaryna.budgettracker.Security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that {@link BoundedPasswordEncoder} rejects hashes beyond its threads and queue instead of waiting.
+ */
+class BoundedPasswordEncoderTests {
+
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new SlowEncoder(), 1, 0, meterRegistry);
+
+	@AfterEach
+	void stop() {
+		release.countDown();
+		encoder.destroy();
+	}
+
+	@Test
+	void hashBeyondThreadsAndQueueIsThrottled() throws Exception {
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("secret", "hash:secret"));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> encoder.matches("secret", "hash:secret")).isInstanceOf(LoginThrottledException.class);
+		assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(LoginThrottledException.class);
+		assertThat(meterRegistry.get("executor.active").tag("name", "password-hash").gauge().value()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(encoder.encode("secret")).as("accepted as soon as the running hash completes").isEqualTo("hash:secret");
+	}
+
+	@Test
+	void delegateExceptionsArePassedOn() {
+		release.countDown();
+		assertThatThrownBy(() -> encoder.matches(null, "hash:secret")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	/**
+	 * Encoder blocking every hash until released.
+	 */
+	private class SlowEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			await();
+			return "hash:" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			if (rawPassword == null) {
+				throw new IllegalArgumentException("rawPassword cannot be null");
+			}
+			await();
+			return encodedPassword.equals("hash:" + rawPassword);
+		}
+
+		private void await() {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
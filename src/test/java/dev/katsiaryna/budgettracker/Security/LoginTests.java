@@ -0,0 +1,148 @@
+package dev.katsiaryna.budgettracker.Security;
+
+import dev.katsiaryna.budgettracker.TestDatabase;
+import dev.katsiaryna.budgettracker.User.User;
+import dev.katsiaryna.budgettracker.User.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Form logins through the bounded password encoder: throttling, rehashing of older hashes and the login timer.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoginTests {
+
+	private static final String PASSWORD = "correct horse";
+
+	/** Raw password whose check blocks the single hashing thread until released */
+	private static final String BLOCKING = "blocking";
+
+	private static final CountDownLatch blocked = new CountDownLatch(1);
+	private static final CountDownLatch release = new CountDownLatch(1);
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.copySample(registry);
+	}
+
+	@TestBean
+	private BoundedPasswordEncoder passwordEncoder;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserDetailsService userDetailsService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * One hashing thread and no queue, hashing with the configured BCrypt cost.
+	 */
+	static BoundedPasswordEncoder passwordEncoder() {
+		return new BoundedPasswordEncoder(new BlockingEncoder(), 1, 0, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void loginIsRejectedWith429WhileAllHashingThreadsAreBusy() throws Exception {
+		String username = createUser(new BCryptPasswordEncoder(10).encode(PASSWORD));
+		long throttled = logins("throttled");
+		CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> passwordEncoder.matches(BLOCKING, "-"));
+		try {
+			assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+			mockMvc.perform(post("/login").param("username", username).param("password", PASSWORD))
+					.andExpect(status().isTooManyRequests())
+					.andExpect(header().string("Retry-After", "1"));
+		} finally {
+			release.countDown();
+			busy.get(5, TimeUnit.SECONDS);
+		}
+		assertThat(logins("throttled")).isEqualTo(throttled + 1);
+	}
+
+	@Test
+	void loginRehashesLowerCostHashAndEvictsTheCachedPrincipal() throws Exception {
+		String username = createUser(new BCryptPasswordEncoder(4).encode(PASSWORD));
+		assertThat(userDetailsService.loadUserByUsername(username).getPassword()).startsWith("$2a$04$");
+		long succeeded = logins("success");
+		long failed = logins("failure");
+
+		mockMvc.perform(post("/login").param("username", username).param("password", "wrong"))
+				.andExpect(redirectedUrl("/login?error=true"));
+		mockMvc.perform(post("/login").param("username", username).param("password", PASSWORD))
+				.andExpect(redirectedUrl("/home"));
+
+		String stored = userRepository.findByUsername(username).orElseThrow().getPassword();
+		assertThat(stored).startsWith("$2a$10$");
+		assertThat(passwordEncoder.matches(PASSWORD, stored)).isTrue();
+		assertThat(userDetailsService.loadUserByUsername(username).getPassword()).isEqualTo(stored);
+		assertThat(logins("success")).isEqualTo(succeeded + 1);
+		assertThat(logins("failure")).isEqualTo(failed + 1);
+	}
+
+	private String createUser(String passwordHash) {
+		String username = "login-" + UUID.randomUUID();
+		userRepository.save(new User(username, passwordHash));
+		return username;
+	}
+
+	/**
+	 * Returns the number of login attempts recorded by the {@code auth.login} timer with an outcome.
+	 */
+	private long logins(String outcome) {
+		Timer timer = meterRegistry.find("auth.login").tag("outcome", outcome).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	/**
+	 * BCrypt with the default cost, except that checking {@link #BLOCKING} waits for the test.
+	 */
+	private static class BlockingEncoder extends BCryptPasswordEncoder {
+
+		BlockingEncoder() {
+			super(10);
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			if (!BLOCKING.contentEquals(rawPassword)) {
+				return super.matches(rawPassword, encodedPassword);
+			}
+			blocked.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package dev.katsiaryna.budgettracker;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Points a test context at a temporary copy of the committed sample database, so migrations and
+ * test writes never touch {@code db/budgettracker.db}.
+ */
+public final class TestDatabase {
+
+	/** The committed sample database, still at the pre-Flyway baseline */
+	public static final Path SAMPLE = Path.of("db", "budgettracker.db");
+
+	private TestDatabase() {
+	}
+
+	/**
+	 * Copies the sample database to a temporary file and registers it as the datasource URL.
+	 *
+	 * @param registry the dynamic property registry of the test class
+	 */
+	public static void copySample(DynamicPropertyRegistry registry) {
+		Path copy = copy(SAMPLE);
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + copy);
+	}
+
+	/**
+	 * Registers a new, empty temporary database as the datasource URL.
+	 *
+	 * @param registry the dynamic property registry of the test class
+	 */
+	public static void empty(DynamicPropertyRegistry registry) {
+		Path file = tempFile();
+		registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file);
+	}
+
+	/**
+	 * Copies a database file to a temporary file deleted on exit.
+	 *
+	 * @param source the database to copy
+	 * @return the copy
+	 */
+	public static Path copy(Path source) {
+		Path copy = tempFile();
+		try {
+			Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return copy;
+	}
+
+	private static Path tempFile() {
+		try {
+			Path dir = Files.createTempDirectory("budgettracker-test");
+			Path file = dir.resolve("budgettracker.db");
+			dir.toFile().deleteOnExit();
+			file.toFile().deleteOnExit();
+			for (String suffix : new String[] {"-wal", "-shm"}) {
+				dir.resolve("budgettracker.db" + suffix).toFile().deleteOnExit();
+			}
+			return file;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package dev.katsiaryna.budgettracker.User;
+
+import dev.katsiaryna.budgettracker.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+/**
+ * Checks that cached principals are dropped on credential changes and survive the credential
+ * erasure of the logins they serve.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserPrincipalCacheTests {
+
+	private static final String PASSWORD = "first password";
+	private static final String NEW_PASSWORD = "second password";
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		TestDatabase.empty(registry);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void updatePasswordEvictsTheCachedPrincipal() {
+		User user = register();
+		String cached = userService.loadUserByUsername(user.getUsername()).getPassword();
+
+		userService.updatePassword(user, NEW_PASSWORD);
+
+		String reloaded = userService.loadUserByUsername(user.getUsername()).getPassword();
+		assertThat(reloaded).isNotEqualTo(cached);
+		assertThat(passwordEncoder.matches(NEW_PASSWORD, reloaded)).isTrue();
+	}
+
+	@Test
+	void updateUserEvictsTheOldAndNewUsernames() {
+		User user = register();
+		String oldUsername = user.getUsername();
+		String newUsername = "renamed-" + UUID.randomUUID();
+		userService.loadUserByUsername(oldUsername);
+		assertThatThrownBy(() -> userService.loadUserByUsername(newUsername))
+				.isInstanceOf(UsernameNotFoundException.class);
+
+		User updatedData = new User(newUsername, NEW_PASSWORD);
+		updatedData.setEmail(user.getEmail());
+		userService.updateUser(user.getId(), updatedData);
+
+		assertThatThrownBy(() -> userService.loadUserByUsername(oldUsername))
+				.isInstanceOf(UsernameNotFoundException.class);
+		assertThat(passwordEncoder.matches(NEW_PASSWORD, userService.loadUserByUsername(newUsername).getPassword()))
+				.isTrue();
+		assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(newUsername);
+	}
+
+	@Test
+	void loginsBeforeAndAfterAPasswordChangeUseTheCurrentPassword() throws Exception {
+		User user = register();
+
+		login(user.getUsername(), PASSWORD).andExpect(redirectedUrl("/home"));
+		assertThat(userService.loadUserByUsername(user.getUsername()).getPassword())
+				.as("login erased only its own copy of the cached principal").isNotNull();
+		login(user.getUsername(), PASSWORD).andExpect(redirectedUrl("/home"));
+
+		userService.updatePassword(user, NEW_PASSWORD);
+
+		login(user.getUsername(), PASSWORD).andExpect(redirectedUrl("/login?error=true"));
+		login(user.getUsername(), NEW_PASSWORD).andExpect(redirectedUrl("/home"));
+		login(user.getUsername(), NEW_PASSWORD).andExpect(redirectedUrl("/home"));
+	}
+
+	private User register() {
+		return userService.registerUser("cached-" + UUID.randomUUID(), PASSWORD, null, null);
+	}
+
+	private ResultActions login(String username, String password) throws Exception {
+		return mockMvc.perform(post("/login").param("username", username).param("password", password));
+	}
+}